@@ -95,6 +95,107 @@ public interface IConfigLoader extends IRestartable
      */
     OptionalInt maxBlocksToMove();
 
+    /**
+     * Gets the minimum number of animated blocks a door needs to have for the goal positions of its blocks to be
+     * calculated in parallel.
+     *
+     * @return The minimum number of animated blocks required for parallel goal calculation. Values less than 1 mean
+     * that goal positions are never calculated in parallel.
+     */
+    int parallelAnimationThreshold();
+
+    /**
+     * Gets the distance (in blocks) from the region of an animation within which players receive every update of the
+     * positions of the animated blocks.
+     * <p>
+     * Players further away receive updates less frequently. See
+     * {@link nl.pim16aap2.bigdoors.moveblocks.AnimationDetailPolicy}.
+     *
+     * @return The distance within which players receive every position update. Values less than 1 mean that every
+     * player receives every update, regardless of their distance.
+     */
+    int animationDetailDistance();
+
+    /**
+     * Gets the minimum change required for an update of an animated block to be applied.
+     * <p>
+     * When the position (or velocity) of an animated block would change less than this value along every axis, the
+     * update is skipped. The skipped movement is included in the next update that is applied.
+     *
+     * @return The minimum change required for an update of an animated block to be applied. A value of 0 means that
+     * no updates are skipped.
+     */
+    double movementUpdateThreshold();
+
+    /**
+     * Checks if animated blocks should only exist on the clients.
+     * <p>
+     * Virtual animated blocks are never added to the world, so the server does not have to tick or track them. Instead,
+     * their packets are sent directly to the players near the animation.
+     *
+     * @return True if animated blocks should only exist on the clients.
+     */
+    boolean virtualAnimatedBlocks();
+
+    /**
+     * Checks if the fidelity of animations should be reduced automatically when the server is under load. See
+     * {@link nl.pim16aap2.bigdoors.moveblocks.AnimationGovernor}.
+     *
+     * @return True if the fidelity of animations should be reduced when the server is under load.
+     */
+    boolean animationGovernor();
+
+    /**
+     * Gets the total number of animated blocks that can be active across all animations before the fidelity of
+     * animations is reduced. Only used when {@link #animationGovernor()} is enabled.
+     *
+     * @return The total number of animated blocks that can be active at full fidelity. Values less than 1 mean that the
+     * number of animated blocks does not affect the fidelity.
+     */
+    int animatedBlockBudget();
+
+    /**
+     * Gets the maximum number of blocks that are replaced by animated blocks per tick when an animation starts.
+     * <p>
+     * When a door has more blocks than this, replacing its blocks is spread over multiple ticks, starting with the
+     * blocks closest to the players in the world. The animation starts once all blocks have been replaced.
+     *
+     * @return The maximum number of blocks that are replaced per tick. Values less than 1 mean that all blocks are
+     * replaced in a single tick.
+     */
+    int animationSpawnBudget();
+
+    /**
+     * Gets the distance (in blocks) from a perpetual mover (e.g. a windmill) within which a player has to be for its
+     * animation to run.
+     * <p>
+     * When there are no players within this distance, the animation is suspended. Once a player comes within range
+     * again, the animation resumes as if it had never been suspended. See
+     * {@link nl.pim16aap2.bigdoors.moveblocks.PerpetualMoverManager}.
+     *
+     * @return The distance within which a player has to be for the animation of a perpetual mover to run. Values less
+     * than 1 mean that the animations are never suspended.
+     */
+    int perpetualAnimationViewDistance();
+
+    /**
+     * Gets the maximum total number of blocks that can be animated concurrently across all animations.
+     * <p>
+     * Unlike {@link #animatedBlockBudget()}, this is a hard limit: animations that would exceed it are queued until
+     * enough other animations have finished. See {@link nl.pim16aap2.bigdoors.moveblocks.DoorActivityManager}.
+     *
+     * @return The maximum number of concurrently animated blocks. Values less than 1 mean that there is no limit.
+     */
+    int maxConcurrentAnimatedBlocks();
+
+    /**
+     * Gets the maximum number of animations that can wait for other animations to finish because of
+     * {@link #maxConcurrentAnimatedBlocks()}. When the queue is full, new animations are skipped instead if possible.
+     *
+     * @return The maximum number of queued animations.
+     */
+    int maxQueuedAnimations();
+
     /**
      * Checks if updates should be downloaded automatically.
      *
@@ -143,6 +244,19 @@ public interface IConfigLoader extends IRestartable
      */
     double getAnimationTime(DoorType type);
 
+    /**
+     * Checks if only the blocks on the edge of doors of a specific type should be animated.
+     * <p>
+     * When enabled, the blocks inside the door are not animated. Instead, they are removed when the animation starts
+     * and placed in their final positions when the animation ends. This greatly reduces the number of animated blocks
+     * for thick doors.
+     *
+     * @param type
+     *     The door type.
+     * @return True if only the blocks on the edge of the door should be animated.
+     */
+    boolean hollowAnimation(DoorType type);
+
     /**
      * The log level to use.
      *
@@ -1,6 +1,9 @@
 package nl.pim16aap2.bigdoors.api;
 
 import nl.pim16aap2.bigdoors.util.WorldTime;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+
+import java.util.List;
 
 /**
  * Represents a BigDoors world.
@@ -29,4 +32,13 @@ public interface IPWorld
      * @return Gets the time in this world.
      */
     WorldTime getTime();
+
+    /**
+     * Gets the positions of all players in this world.
+     * <p>
+     * This method should only be called on the main thread.
+     *
+     * @return The positions of all players in this world.
+     */
+    List<Vector3Dd> getPlayerPositions();
 }
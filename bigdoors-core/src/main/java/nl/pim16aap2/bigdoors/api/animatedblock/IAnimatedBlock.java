@@ -122,6 +122,23 @@ public interface IAnimatedBlock
      */
     void setVelocity(Vector3Dd vector);
 
+    /**
+     * Sets the velocity of the entity.
+     * <p>
+     * Implementations should override this method if they can avoid creating a new {@link Vector3Dd}.
+     *
+     * @param x
+     *     The new velocity of the entity along the x axis.
+     * @param y
+     *     The new velocity of the entity along the y axis.
+     * @param z
+     *     The new velocity of the entity along the z axis.
+     */
+    default void setVelocity(double x, double y, double z)
+    {
+        setVelocity(new Vector3Dd(x, y, z));
+    }
+
     /**
      * @return The starting position of this animated block.
      */
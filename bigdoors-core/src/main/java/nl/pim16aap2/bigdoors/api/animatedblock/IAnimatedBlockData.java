@@ -23,10 +23,23 @@ public interface IAnimatedBlockData
      *
      * @param rotDir
      *     The {@link RotateDirection} to rotate this block in.
-     * @return True if the block was rotated.
+     * @return True if the block was rotated. When the rotation does not change the block, false is returned.
      */
     boolean rotateBlock(RotateDirection rotDir);
 
+    /**
+     * Prepares the rotation of this block in a provided {@link RotateDirection}, so that a subsequent call to
+     * {@link #rotateBlock(RotateDirection)} with the same direction is as cheap as possible.
+     * <p>
+     * This does not modify this block or the world, so it can be called from any thread.
+     *
+     * @param rotDir
+     *     The {@link RotateDirection} this block will be rotated in.
+     */
+    default void prepareRotation(RotateDirection rotDir)
+    {
+    }
+
     /**
      * @param loc
      *     The position where the block will be placed.
@@ -39,6 +52,22 @@ public interface IAnimatedBlockData
      */
     void putBlock(Vector3Dd loc);
 
+    /**
+     * Checks if the block at the original location is still the block this block was created from.
+     * <p>
+     * Blocks may be created from a snapshot of the world that was taken several ticks before their original blocks are
+     * removed. Removing an original block that was changed in the meantime would delete the new block and place the
+     * old one again once the animation finishes, so this should be checked right before removing the original block.
+     * <p>
+     * This must be called on the main thread.
+     *
+     * @return True if the block at the original location has not changed since this block was created.
+     */
+    default boolean isOriginalBlockUnchanged()
+    {
+        return true;
+    }
+
     /**
      * Deletes the block at the original location.
      *
@@ -4,6 +4,8 @@ import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 
 /**
  * Represents a hook for {@link IAnimatedBlock}s.
+ * <p>
+ * Only the methods that are overridden by a hook are called.
  *
  * @author Pim
  */
@@ -43,6 +45,10 @@ public interface IAnimatedBlockHook
      * Fires after this animated block has been moved.
      * <p>
      * This may happen either because of a teleport or because of tick-based movement.
+     * <p>
+     * Hooks that do the same thing for every animated block should consider using
+     * {@link IAnimationHook#onBlocksMoved(nl.pim16aap2.bigdoors.moveblocks.AnimatedBlockPositions)} instead, which is
+     * called only once per step for all animated blocks.
      *
      * @param newPosition
      *     The position the animated block was moved to.
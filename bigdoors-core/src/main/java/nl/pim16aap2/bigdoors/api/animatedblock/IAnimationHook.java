@@ -2,12 +2,16 @@ package nl.pim16aap2.bigdoors.api.animatedblock;
 
 import nl.pim16aap2.bigdoors.api.factories.IAnimationHookFactory;
 import nl.pim16aap2.bigdoors.managers.AnimationHookManager;
+import nl.pim16aap2.bigdoors.moveblocks.AnimatedBlockPositions;
 
 /**
  * Represents a hook into an {@link IAnimation}.
  * <p>
  * To hook into an animation, this hook needs to be registered with {@link AnimationHookManager} via the use of an
  * {@link IAnimationHookFactory}.
+ * <p>
+ * Only the methods that are overridden by a hook are called. Hooks that do not override a method do not add any
+ * overhead to the corresponding phase of the animation.
  *
  * @param <T>
  *     The type of {@link IAnimatedBlock} used for the animation.
@@ -38,6 +42,24 @@ public interface IAnimationHook<T extends IAnimatedBlock>
     {
     }
 
+    /**
+     * Executed once every step after the animated blocks have been moved.
+     * <p>
+     * This is the batched alternative to {@link IAnimatedBlockHook#onMoved}. Instead of being called once for every
+     * animated block, it is called once per step with the positions of all animated blocks. Hooks that do the same
+     * thing for every animated block should prefer this method.
+     * <p>
+     * Note that this may never happen if the animation is skipped.
+     *
+     * @param positions
+     *     The positions of all animated blocks. The blocks are indexed in the same order as
+     *     {@link IAnimation#getAnimatedBlocks()}. The positions will be updated in the next step, so they should not be
+     *     stored.
+     */
+    default void onBlocksMoved(AnimatedBlockPositions positions)
+    {
+    }
+
     /**
      * Executed right before the animation starts.
      * <p>
@@ -0,0 +1,52 @@
+package nl.pim16aap2.bigdoors.api.animatedblock;
+
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+
+/**
+ * Represents a collection of block changes that are applied to the world at once.
+ * <p>
+ * Implementations may defer the changes until {@link #apply()} is called, so they can group them and update the
+ * lighting and the clients once for all changes. Changes that apply physics are always executed after all other
+ * changes in the batch.
+ * <p>
+ * Batches are not thread-safe and should only be used on the main thread.
+ *
+ * @author Pim
+ */
+public interface IBlockChangeBatch
+{
+    /**
+     * Places a block at the provided position.
+     *
+     * @param blockData
+     *     The block to place.
+     * @param position
+     *     The position where the block will be placed.
+     */
+    void putBlock(IAnimatedBlockData blockData, Vector3Di position);
+
+    /**
+     * Deletes the block at the original location of a block.
+     *
+     * @param blockData
+     *     The block whose original block to delete.
+     * @param applyPhysics
+     *     True to apply physics when removing this block. See {@link IAnimatedBlockData#deleteOriginalBlock(boolean)}.
+     */
+    void deleteOriginalBlock(IAnimatedBlockData blockData, boolean applyPhysics);
+
+    /**
+     * Applies all changes that have not been applied yet.
+     */
+    void apply();
+
+    /**
+     * Gets a batch that applies every change immediately using the {@link IAnimatedBlockData} itself.
+     *
+     * @return A batch that does not defer any changes.
+     */
+    static IBlockChangeBatch immediate()
+    {
+        return ImmediateBlockChangeBatch.INSTANCE;
+    }
+}
@@ -0,0 +1,34 @@
+package nl.pim16aap2.bigdoors.api.animatedblock;
+
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+
+/**
+ * Implementation of {@link IBlockChangeBatch} that applies every change immediately.
+ *
+ * @author Pim
+ */
+final class ImmediateBlockChangeBatch implements IBlockChangeBatch
+{
+    static final ImmediateBlockChangeBatch INSTANCE = new ImmediateBlockChangeBatch();
+
+    private ImmediateBlockChangeBatch()
+    {
+    }
+
+    @Override
+    public void putBlock(IAnimatedBlockData blockData, Vector3Di position)
+    {
+        blockData.putBlock(position);
+    }
+
+    @Override
+    public void deleteOriginalBlock(IAnimatedBlockData blockData, boolean applyPhysics)
+    {
+        blockData.deleteOriginalBlock(applyPhysics);
+    }
+
+    @Override
+    public void apply()
+    {
+    }
+}
@@ -1,11 +1,15 @@
 package nl.pim16aap2.bigdoors.api.factories;
 
 import nl.pim16aap2.bigdoors.api.IPLocation;
+import nl.pim16aap2.bigdoors.api.IPWorld;
 import nl.pim16aap2.bigdoors.api.animatedblock.AnimationContext;
 import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
 import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockData;
+import nl.pim16aap2.bigdoors.api.animatedblock.IBlockChangeBatch;
+import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -39,4 +43,66 @@ public interface IAnimatedBlockFactory
         IPLocation loc, float radius, float startAngle, boolean bottom, boolean onEdge, AnimationContext context,
         Vector3Dd finalPosition)
         throws Exception;
+
+    /**
+     * Creates a new {@link IAnimatedBlockData} for the block at the given location without creating an
+     * {@link IAnimatedBlock} for it.
+     * <p>
+     * This can be used to move blocks to their final positions directly when the animation is skipped.
+     *
+     * @param loc
+     *     The location of the block.
+     * @return The {@link IAnimatedBlockData} of the block at the location if the block can be animated.
+     */
+    Optional<IAnimatedBlockData> createBlockData(IPLocation loc)
+        throws Exception;
+
+    /**
+     * Captures the current state of the blocks in a region, so animated blocks in that region can be created without
+     * accessing the world.
+     * <p>
+     * This method must be called on the main thread. The returned factory only reads the captured state of the region,
+     * so it can be used to create the animated blocks in the region on any thread. The animated blocks still have to be
+     * spawned on the main thread.
+     *
+     * @param world
+     *     The world the region is in.
+     * @param region
+     *     The region to capture.
+     * @return A factory that creates animated blocks in the region from its captured state, or an empty optional if
+     * this factory does not support capturing regions. In that case, the animated blocks have to be created on the main
+     * thread using this factory.
+     */
+    default Optional<IAnimatedBlockFactory> captureRegion(IPWorld world, Cuboid region)
+    {
+        return Optional.empty();
+    }
+
+    /**
+     * Hands animated blocks created by this factory back to it once they are no longer used, so it can reuse them
+     * instead of creating new ones.
+     * <p>
+     * The animated blocks must have been killed already and must not be used by the caller after calling this method.
+     * This method must be called on the main thread.
+     *
+     * @param animatedBlocks
+     *     The animated blocks that are no longer used. By default, these are left to the garbage collector.
+     */
+    default void recycle(Collection<? extends IAnimatedBlock> animatedBlocks)
+    {
+    }
+
+    /**
+     * Creates a new batch of block changes for the {@link IAnimatedBlockData} created by this factory.
+     * <p>
+     * This method must be called on the main thread and the returned batch must only be used on the main thread.
+     *
+     * @param world
+     *     The world the blocks are in.
+     * @return A new batch of block changes. By default, this batch applies every change immediately.
+     */
+    default IBlockChangeBatch newBlockChangeBatch(IPWorld world)
+    {
+        return IBlockChangeBatch.immediate();
+    }
 }
@@ -22,6 +22,7 @@ import nl.pim16aap2.bigdoors.managers.LimitsManager;
 import nl.pim16aap2.bigdoors.moveblocks.AutoCloseScheduler;
 import nl.pim16aap2.bigdoors.moveblocks.BlockMover;
 import nl.pim16aap2.bigdoors.moveblocks.DoorActivityManager;
+import nl.pim16aap2.bigdoors.moveblocks.TrajectoryCache;
 import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.DoorOwner;
 import nl.pim16aap2.bigdoors.util.Limit;
@@ -129,6 +130,9 @@ public final class DoorBase extends DatabaseManager.FriendDoorAccessor implement
     @EqualsAndHashCode.Exclude
     private final Provider<BlockMover.Context> blockMoverContextProvider;
 
+    @EqualsAndHashCode.Exclude
+    private final TrajectoryCache trajectoryCache;
+
     @AssistedInject //
     DoorBase(@Assisted long doorUID, @Assisted String name, @Assisted Cuboid cuboid,
              @Assisted("rotationPoint") Vector3Di rotationPoint, @Assisted("powerBlock") Vector3Di powerBlock,
@@ -139,7 +143,7 @@ public final class DoorBase extends DatabaseManager.FriendDoorAccessor implement
              LimitsManager limitsManager, AutoCloseScheduler autoCloseScheduler, DoorOpeningHelper doorOpeningHelper,
              DoorToggleRequestBuilder doorToggleRequestBuilder, IPPlayerFactory playerFactory,
              IDoorEventCaller doorEventCaller, Provider<BlockMover.Context> blockMoverContextProvider,
-             IPExecutor executor)
+             TrajectoryCache trajectoryCache, IPExecutor executor)
     {
         this.doorUID = doorUID;
         this.name = name;
@@ -171,6 +175,7 @@ public final class DoorBase extends DatabaseManager.FriendDoorAccessor implement
         this.playerFactory = playerFactory;
         this.doorEventCaller = doorEventCaller;
         this.blockMoverContextProvider = blockMoverContextProvider;
+        this.trajectoryCache = trajectoryCache;
         this.executor = executor;
     }
 
@@ -200,6 +205,7 @@ public final class DoorBase extends DatabaseManager.FriendDoorAccessor implement
         playerFactory = other.playerFactory;
         doorEventCaller = other.doorEventCaller;
         blockMoverContextProvider = other.blockMoverContextProvider;
+        trajectoryCache = other.trajectoryCache;
         executor = other.executor;
     }
 
@@ -342,6 +348,8 @@ public final class DoorBase extends DatabaseManager.FriendDoorAccessor implement
         return doorOwners.containsKey(uuid);
     }
 
+    // The cuboid is part of the key of the cached trajectories, so there is no need to invalidate them here. This is
+    // also called after every toggle, which should not invalidate them either.
     @Override
     public void setCoordinates(Cuboid newCuboid)
     {
@@ -376,6 +384,7 @@ public final class DoorBase extends DatabaseManager.FriendDoorAccessor implement
     public synchronized void setRotationPoint(Vector3Di pos)
     {
         rotationPoint = pos;
+        trajectoryCache.invalidate(doorUID);
     }
 
     @Override
@@ -3,6 +3,7 @@ package nl.pim16aap2.bigdoors.doors;
 import lombok.extern.flogger.Flogger;
 import nl.pim16aap2.bigdoors.api.GlowingBlockSpawner;
 import nl.pim16aap2.bigdoors.api.IBlockAnalyzer;
+import nl.pim16aap2.bigdoors.api.IChunkManager;
 import nl.pim16aap2.bigdoors.api.IConfigLoader;
 import nl.pim16aap2.bigdoors.api.IMessageable;
 import nl.pim16aap2.bigdoors.api.IPExecutor;
@@ -27,6 +28,7 @@ import nl.pim16aap2.bigdoors.moveblocks.DoorActivityManager;
 import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.DoorToggleResult;
 import nl.pim16aap2.bigdoors.util.Util;
+import nl.pim16aap2.bigdoors.util.vector.Vector2Di;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
 import org.jetbrains.annotations.Nullable;
 
@@ -54,13 +56,15 @@ public final class DoorOpeningHelper
     private final IBigDoorsEventFactory bigDoorsEventFactory;
     private final IPExecutor executor;
     private final IDoorEventCaller doorEventCaller;
+    private final IChunkManager chunkManager;
 
     @Inject //
     DoorOpeningHelper(
         ILocalizer localizer, DoorActivityManager doorActivityManager, DoorTypeManager doorTypeManager,
         IConfigLoader config, IBlockAnalyzer blockAnalyzer, IPLocationFactory locationFactory,
         IProtectionCompatManager protectionCompatManager, GlowingBlockSpawner glowingBlockSpawner,
-        IBigDoorsEventFactory bigDoorsEventFactory, IPExecutor executor, IDoorEventCaller doorEventCaller)
+        IBigDoorsEventFactory bigDoorsEventFactory, IPExecutor executor, IDoorEventCaller doorEventCaller,
+        IChunkManager chunkManager)
     {
         this.localizer = localizer;
         this.doorActivityManager = doorActivityManager;
@@ -73,6 +77,7 @@ public final class DoorOpeningHelper
         this.bigDoorsEventFactory = bigDoorsEventFactory;
         this.executor = executor;
         this.doorEventCaller = doorEventCaller;
+        this.chunkManager = chunkManager;
     }
 
     /**
@@ -373,10 +378,15 @@ public final class DoorOpeningHelper
         return DoorToggleResult.SUCCESS;
     }
 
-    private boolean chunksLoaded(@SuppressWarnings({"unused", "squid:S1172"}) IDoor door)
+    private boolean chunksLoaded(IDoor door)
     {
-        // TODO: Implement this.
-        throw new UnsupportedOperationException("NOT IMPLEMENTED!");
+        final Vector3Di min = door.getMinimum();
+        final Vector3Di max = door.getMaximum();
+        for (int chunkX = min.x() >> 4; chunkX <= max.x() >> 4; ++chunkX)
+            for (int chunkZ = min.z() >> 4; chunkZ <= max.z() >> 4; ++chunkZ)
+                if (!chunkManager.isLoaded(door.getWorld(), new Vector2Di(chunkX, chunkZ)))
+                    return false;
+        return true;
     }
 
     /**
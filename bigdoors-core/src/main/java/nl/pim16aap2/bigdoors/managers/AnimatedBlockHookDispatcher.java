@@ -0,0 +1,180 @@
+package nl.pim16aap2.bigdoors.managers;
+
+import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockHook;
+import nl.pim16aap2.bigdoors.util.Util;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Dispatches the events of an {@link IAnimatedBlock} to the {@link IAnimatedBlockHook}s of that block.
+ * <p>
+ * When the dispatcher is created, it determines which hooks implement which phases. Every phase is only dispatched to
+ * the hooks that implement it, so animated blocks without hooks for a phase do not have any overhead for it.
+ *
+ * @author Pim
+ */
+@Flogger
+public final class AnimatedBlockHookDispatcher
+{
+    /**
+     * The phases implemented by every hook class, indexed by {@link Phase#ordinal()}.
+     */
+    private static final ClassValue<boolean[]> IMPLEMENTED_PHASES = new ClassValue<>()
+    {
+        @Override
+        protected boolean[] computeValue(Class<?> type)
+        {
+            final Phase[] phases = Phase.values();
+            final boolean[] implemented = new boolean[phases.length];
+            for (final Phase phase : phases)
+                implemented[phase.ordinal()] = HookPhaseResolver.isImplemented(
+                    type, IAnimatedBlockHook.class, phase.methodName, phase.parameterTypes);
+            return implemented;
+        }
+    };
+
+    /**
+     * The dispatcher without any hooks. This is shared by all animated blocks without hooks.
+     */
+    static final AnimatedBlockHookDispatcher EMPTY = new AnimatedBlockHookDispatcher(List.of());
+
+    /**
+     * The hooks that implement each phase, indexed by {@link Phase#ordinal()}.
+     */
+    private final IAnimatedBlockHook[][] hooksPerPhase;
+
+    AnimatedBlockHookDispatcher(List<IAnimatedBlockHook> hooks)
+    {
+        final Phase[] phases = Phase.values();
+        final List<List<IAnimatedBlockHook>> implementers = new ArrayList<>(phases.length);
+        for (int idx = 0; idx < phases.length; ++idx)
+            implementers.add(new ArrayList<>(0));
+
+        for (final IAnimatedBlockHook hook : hooks)
+        {
+            final boolean[] implemented = IMPLEMENTED_PHASES.get(hook.getClass());
+            for (final Phase phase : phases)
+                if (implemented[phase.ordinal()])
+                    implementers.get(phase.ordinal()).add(hook);
+        }
+
+        hooksPerPhase = new IAnimatedBlockHook[phases.length][];
+        for (final Phase phase : phases)
+            hooksPerPhase[phase.ordinal()] = implementers.get(phase.ordinal()).toArray(new IAnimatedBlockHook[0]);
+    }
+
+    /**
+     * Checks if any of the hooks implements a given phase.
+     * <p>
+     * This can be used to avoid preparing the arguments of a phase that will not be dispatched anyway.
+     *
+     * @param phase
+     *     The phase to check.
+     * @return True if at least one hook implements the phase.
+     */
+    public boolean isImplemented(Phase phase)
+    {
+        return hooksPerPhase[phase.ordinal()].length > 0;
+    }
+
+    /**
+     * See {@link IAnimatedBlockHook#onSpawn()}.
+     */
+    public void onSpawn()
+    {
+        dispatch(Phase.SPAWN, null);
+    }
+
+    /**
+     * See {@link IAnimatedBlockHook#onDie()}.
+     */
+    public void onDie()
+    {
+        dispatch(Phase.DIE, null);
+    }
+
+    /**
+     * See {@link IAnimatedBlockHook#onTeleport(Vector3Dd)}.
+     */
+    public void onTeleport(Vector3Dd newPosition)
+    {
+        dispatch(Phase.TELEPORT, newPosition);
+    }
+
+    /**
+     * See {@link IAnimatedBlockHook#onMoved(Vector3Dd)}.
+     */
+    public void onMoved(Vector3Dd newPosition)
+    {
+        dispatch(Phase.MOVED, newPosition);
+    }
+
+    /**
+     * See {@link IAnimatedBlockHook#preTick()}.
+     */
+    public void preTick()
+    {
+        dispatch(Phase.PRE_TICK, null);
+    }
+
+    /**
+     * See {@link IAnimatedBlockHook#postTick()}.
+     */
+    public void postTick()
+    {
+        dispatch(Phase.POST_TICK, null);
+    }
+
+    private void dispatch(Phase phase, @Nullable Vector3Dd position)
+    {
+        for (final IAnimatedBlockHook hook : hooksPerPhase[phase.ordinal()])
+        {
+            try
+            {
+                switch (phase)
+                {
+                    case SPAWN -> hook.onSpawn();
+                    case DIE -> hook.onDie();
+                    case TELEPORT -> hook.onTeleport(Util.requireNonNull(position, "Position"));
+                    case MOVED -> hook.onMoved(Util.requireNonNull(position, "Position"));
+                    case PRE_TICK -> hook.preTick();
+                    case POST_TICK -> hook.postTick();
+                }
+            }
+            catch (Exception e)
+            {
+                log.at(Level.SEVERE).withCause(e)
+                   .log("Failed to execute '%s' for hook '%s'!", phase.methodName, hook.getName());
+            }
+        }
+    }
+
+    /**
+     * Represents the phases of an animated block that can be hooked into.
+     */
+    public enum Phase
+    {
+        SPAWN("onSpawn"),
+        DIE("onDie"),
+        TELEPORT("onTeleport", Vector3Dd.class),
+        MOVED("onMoved", Vector3Dd.class),
+        PRE_TICK("preTick"),
+        POST_TICK("postTick"),
+        ;
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        Phase(String methodName, Class<?>... parameterTypes)
+        {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+    }
+}
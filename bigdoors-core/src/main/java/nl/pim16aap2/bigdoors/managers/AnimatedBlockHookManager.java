@@ -40,8 +40,19 @@ public final class AnimatedBlockHookManager implements IDebuggable
         this.factories.add(factory);
     }
 
-    public <T extends IAnimatedBlock> List<IAnimatedBlockHook> instantiateHooks(T animatedBlock)
+    /**
+     * Instantiates the hooks of all registered factories for an animated block.
+     *
+     * @param animatedBlock
+     *     The animated block to hook into.
+     * @return A dispatcher for the hooks that were instantiated. Animated blocks without any hooks share the same
+     * dispatcher.
+     */
+    public <T extends IAnimatedBlock> AnimatedBlockHookDispatcher instantiateHooks(T animatedBlock)
     {
+        if (factories.isEmpty())
+            return AnimatedBlockHookDispatcher.EMPTY;
+
         final ArrayList<IAnimatedBlockHook> instantiated = new ArrayList<>(factories.size());
 
         for (final IAnimatedBlockHookFactory<? extends IAnimatedBlock> factory : factories)
@@ -63,8 +74,8 @@ public final class AnimatedBlockHookManager implements IDebuggable
                                                       factory.getClass().getName());
             }
         }
-        instantiated.trimToSize();
-        return instantiated;
+        return instantiated.isEmpty() ?
+               AnimatedBlockHookDispatcher.EMPTY : new AnimatedBlockHookDispatcher(instantiated);
     }
 
     @Override
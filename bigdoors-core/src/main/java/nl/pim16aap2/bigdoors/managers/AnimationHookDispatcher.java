@@ -0,0 +1,219 @@
+package nl.pim16aap2.bigdoors.managers;
+
+import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimationHook;
+import nl.pim16aap2.bigdoors.moveblocks.AnimatedBlockPositions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Dispatches the phases of an animation to the {@link IAnimationHook}s of that animation.
+ * <p>
+ * When the dispatcher is created, it determines which hooks implement which phases. Every phase is only dispatched to
+ * the hooks that implement it, so phases without any implementations do not have any overhead.
+ *
+ * @param <T>
+ *     The type of {@link IAnimatedBlock} used for the animation.
+ * @author Pim
+ */
+@Flogger
+public final class AnimationHookDispatcher<T extends IAnimatedBlock>
+{
+    /**
+     * The phases implemented by every hook class, indexed by {@link Phase#ordinal()}.
+     */
+    private static final ClassValue<boolean[]> IMPLEMENTED_PHASES = new ClassValue<>()
+    {
+        @Override
+        protected boolean[] computeValue(Class<?> type)
+        {
+            final Phase[] phases = Phase.values();
+            final boolean[] implemented = new boolean[phases.length];
+            for (final Phase phase : phases)
+                implemented[phase.ordinal()] = HookPhaseResolver.isImplemented(
+                    type, IAnimationHook.class, phase.methodName, phase.parameterTypes);
+            return implemented;
+        }
+    };
+
+    private static final AnimationHookDispatcher<?> EMPTY = new AnimationHookDispatcher<>(List.of());
+
+    private final List<IAnimationHook<T>> hooks;
+
+    /**
+     * The hooks that implement each phase, indexed by {@link Phase#ordinal()}.
+     */
+    private final IAnimationHook<?>[][] hooksPerPhase;
+
+    AnimationHookDispatcher(List<IAnimationHook<T>> hooks)
+    {
+        this.hooks = List.copyOf(hooks);
+
+        final Phase[] phases = Phase.values();
+        final List<List<IAnimationHook<?>>> implementers = new ArrayList<>(phases.length);
+        for (int idx = 0; idx < phases.length; ++idx)
+            implementers.add(new ArrayList<>(0));
+
+        for (final IAnimationHook<T> hook : this.hooks)
+        {
+            final boolean[] implemented = IMPLEMENTED_PHASES.get(hook.getClass());
+            for (final Phase phase : phases)
+                if (implemented[phase.ordinal()])
+                    implementers.get(phase.ordinal()).add(hook);
+        }
+
+        hooksPerPhase = new IAnimationHook<?>[phases.length][];
+        for (final Phase phase : phases)
+            hooksPerPhase[phase.ordinal()] = implementers.get(phase.ordinal()).toArray(new IAnimationHook<?>[0]);
+    }
+
+    /**
+     * Gets a dispatcher without any hooks.
+     *
+     * @param <T>
+     *     The type of {@link IAnimatedBlock} used for the animation.
+     * @return A dispatcher without any hooks.
+     */
+    public static <T extends IAnimatedBlock> AnimationHookDispatcher<T> empty()
+    {
+        //noinspection unchecked
+        return (AnimationHookDispatcher<T>) EMPTY;
+    }
+
+    /**
+     * @return All hooks of this dispatcher, regardless of the phases they implement.
+     */
+    public List<IAnimationHook<T>> getHooks()
+    {
+        return hooks;
+    }
+
+    /**
+     * Checks if any of the hooks implements a given phase.
+     *
+     * @param phase
+     *     The phase to check.
+     * @return True if at least one hook implements the phase.
+     */
+    public boolean isImplemented(Phase phase)
+    {
+        return hooksPerPhase[phase.ordinal()].length > 0;
+    }
+
+    /**
+     * See {@link IAnimationHook#onPrepare()}.
+     */
+    public void onPrepare()
+    {
+        dispatch(Phase.PREPARE);
+    }
+
+    /**
+     * See {@link IAnimationHook#onPreAnimationStep()}.
+     */
+    public void onPreAnimationStep()
+    {
+        dispatch(Phase.PRE_ANIMATION_STEP);
+    }
+
+    /**
+     * See {@link IAnimationHook#onPostAnimationStep()}.
+     */
+    public void onPostAnimationStep()
+    {
+        dispatch(Phase.POST_ANIMATION_STEP);
+    }
+
+    /**
+     * See {@link IAnimationHook#onAnimationEnding()}.
+     */
+    public void onAnimationEnding()
+    {
+        dispatch(Phase.ANIMATION_ENDING);
+    }
+
+    /**
+     * See {@link IAnimationHook#onAnimationCompleted()}.
+     */
+    public void onAnimationCompleted()
+    {
+        dispatch(Phase.ANIMATION_COMPLETED);
+    }
+
+    /**
+     * See {@link IAnimationHook#onBlocksMoved(AnimatedBlockPositions)}.
+     */
+    public void onBlocksMoved(AnimatedBlockPositions positions)
+    {
+        for (final IAnimationHook<?> hook : hooksPerPhase[Phase.BLOCKS_MOVED.ordinal()])
+        {
+            try
+            {
+                hook.onBlocksMoved(positions);
+            }
+            catch (Exception e)
+            {
+                logFailure(Phase.BLOCKS_MOVED, hook, e);
+            }
+        }
+    }
+
+    private void dispatch(Phase phase)
+    {
+        for (final IAnimationHook<?> hook : hooksPerPhase[phase.ordinal()])
+        {
+            try
+            {
+                invoke(phase, hook);
+            }
+            catch (Exception e)
+            {
+                logFailure(phase, hook, e);
+            }
+        }
+    }
+
+    private static void invoke(Phase phase, IAnimationHook<?> hook)
+    {
+        switch (phase)
+        {
+            case PREPARE -> hook.onPrepare();
+            case PRE_ANIMATION_STEP -> hook.onPreAnimationStep();
+            case POST_ANIMATION_STEP -> hook.onPostAnimationStep();
+            case ANIMATION_ENDING -> hook.onAnimationEnding();
+            case ANIMATION_COMPLETED -> hook.onAnimationCompleted();
+            default -> throw new IllegalArgumentException("Phase " + phase + " requires additional arguments!");
+        }
+    }
+
+    private static void logFailure(Phase phase, IAnimationHook<?> hook, Exception e)
+    {
+        log.at(Level.SEVERE).withCause(e).log("Failed to execute '%s' for hook '%s'!", phase.methodName, hook.getName());
+    }
+
+    /**
+     * Represents the phases of an animation that can be hooked into.
+     */
+    public enum Phase
+    {
+        PREPARE("onPrepare"),
+        PRE_ANIMATION_STEP("onPreAnimationStep"),
+        POST_ANIMATION_STEP("onPostAnimationStep"),
+        BLOCKS_MOVED("onBlocksMoved", AnimatedBlockPositions.class),
+        ANIMATION_ENDING("onAnimationEnding"),
+        ANIMATION_COMPLETED("onAnimationCompleted"),
+        ;
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        Phase(String methodName, Class<?>... parameterTypes)
+        {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+    }
+}
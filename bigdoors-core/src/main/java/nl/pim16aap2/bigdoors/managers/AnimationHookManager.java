@@ -41,8 +41,18 @@ public final class AnimationHookManager implements IDebuggable
         this.factories.add(factory);
     }
 
-    public <T extends IAnimatedBlock> List<IAnimationHook<T>> instantiateHooks(IAnimation<T> animation)
+    /**
+     * Instantiates the hooks of all registered factories for an animation.
+     *
+     * @param animation
+     *     The animation to hook into.
+     * @return A dispatcher for the hooks that were instantiated.
+     */
+    public <T extends IAnimatedBlock> AnimationHookDispatcher<T> instantiateHooks(IAnimation<T> animation)
     {
+        if (factories.isEmpty())
+            return AnimationHookDispatcher.empty();
+
         final ArrayList<IAnimationHook<T>> instantiated = new ArrayList<>(factories.size());
 
         for (final IAnimationHookFactory<? extends IAnimatedBlock> factory : factories)
@@ -64,8 +74,7 @@ public final class AnimationHookManager implements IDebuggable
             }
         }
 
-        instantiated.trimToSize();
-        return instantiated;
+        return instantiated.isEmpty() ? AnimationHookDispatcher.empty() : new AnimationHookDispatcher<>(instantiated);
     }
 
     @Override
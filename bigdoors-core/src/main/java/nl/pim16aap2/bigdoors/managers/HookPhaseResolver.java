@@ -0,0 +1,50 @@
+package nl.pim16aap2.bigdoors.managers;
+
+import lombok.extern.flogger.Flogger;
+
+import java.util.logging.Level;
+
+/**
+ * Determines which of the default methods of a hook interface are actually implemented by a hook.
+ * <p>
+ * This is used to avoid calling hooks for phases they are not interested in.
+ *
+ * @author Pim
+ */
+@Flogger
+final class HookPhaseResolver
+{
+    private HookPhaseResolver()
+    {
+        // Utility class
+    }
+
+    /**
+     * Checks if a hook class implements a method of its hook interface.
+     *
+     * @param hookClass
+     *     The class of the hook.
+     * @param hookInterface
+     *     The interface that declares the (default) method.
+     * @param methodName
+     *     The name of the method.
+     * @param parameterTypes
+     *     The parameter types of the method.
+     * @return False if the hook class uses the default implementation provided by the hook interface, otherwise true.
+     * When the method cannot be found, it is assumed to be implemented.
+     */
+    static boolean isImplemented(
+        Class<?> hookClass, Class<?> hookInterface, String methodName, Class<?>... parameterTypes)
+    {
+        try
+        {
+            return hookClass.getMethod(methodName, parameterTypes).getDeclaringClass() != hookInterface;
+        }
+        catch (NoSuchMethodException | SecurityException e)
+        {
+            log.at(Level.FINE).withCause(e)
+               .log("Failed to find method '%s' in hook class '%s'!", methodName, hookClass.getName());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps track of the positions of all animated blocks of a single animation.
+ * <p>
+ * The start, current, and goal positions of every block are stored in flat primitive arrays, so that the positions can
+ * be updated every step without allocating any objects. Blocks are indexed in the same order as the list of animated
+ * blocks this object was created from.
+ * <p>
+ * Additionally, the last velocity that was applied to every block is stored, so that movement methods can skip updates
+ * that would not change anything. For {@link BlockMover.MovementMethod#keyframed(BlockMover.PathSmoothness)}, the goal
+ * position of the previous step, the tick of that step, and the number of ticks since the last keyframe of every block
+ * are stored as well. Steps are not guaranteed to be exactly one tick apart, as ticks may be skipped when the animation
+ * falls behind (see {@link AnimationClock}) or when the blocks are not moved every tick.
+ *
+ * @author Pim
+ */
+public final class AnimatedBlockPositions
+{
+    private final int size;
+
+    private final double[] start;
+    private final double[] current;
+    private final double[] goal;
+    private final double[] velocity;
+    private final double[] previousGoal;
+    private final int[] previousGoalTick;
+    private final int[] ticksSinceKeyframe;
+
+    /**
+     * The tick of the animation the current goal positions were set for.
+     */
+    private int tick = 0;
+
+    /**
+     * Creates a new {@link AnimatedBlockPositions} for a list of animated blocks.
+     * <p>
+     * The current and goal positions of every block are initialized to its start position.
+     *
+     * @param animatedBlocks
+     *     The animated blocks to keep track of.
+     */
+    AnimatedBlockPositions(List<? extends IAnimatedBlock> animatedBlocks)
+    {
+        size = animatedBlocks.size();
+        start = new double[size * 3];
+
+        for (int idx = 0; idx < size; ++idx)
+        {
+            final IAnimatedBlock animatedBlock = animatedBlocks.get(idx);
+            final int offset = idx * 3;
+            start[offset] = animatedBlock.getStartX();
+            start[offset + 1] = animatedBlock.getStartY();
+            start[offset + 2] = animatedBlock.getStartZ();
+        }
+
+        current = start.clone();
+        goal = start.clone();
+        velocity = new double[size * 3];
+        previousGoal = start.clone();
+        previousGoalTick = new int[size];
+        ticksSinceKeyframe = new int[size];
+    }
+
+    /**
+     * @return The number of blocks whose positions are tracked.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    public double getStartX(int index)
+    {
+        return start[index * 3];
+    }
+
+    public double getStartY(int index)
+    {
+        return start[index * 3 + 1];
+    }
+
+    public double getStartZ(int index)
+    {
+        return start[index * 3 + 2];
+    }
+
+    public double getCurrentX(int index)
+    {
+        return current[index * 3];
+    }
+
+    public double getCurrentY(int index)
+    {
+        return current[index * 3 + 1];
+    }
+
+    public double getCurrentZ(int index)
+    {
+        return current[index * 3 + 2];
+    }
+
+    public double getGoalX(int index)
+    {
+        return goal[index * 3];
+    }
+
+    public double getGoalY(int index)
+    {
+        return goal[index * 3 + 1];
+    }
+
+    public double getGoalZ(int index)
+    {
+        return goal[index * 3 + 2];
+    }
+
+    public double getVelocityX(int index)
+    {
+        return velocity[index * 3];
+    }
+
+    public double getVelocityY(int index)
+    {
+        return velocity[index * 3 + 1];
+    }
+
+    public double getVelocityZ(int index)
+    {
+        return velocity[index * 3 + 2];
+    }
+
+    double getPreviousGoalX(int index)
+    {
+        return previousGoal[index * 3];
+    }
+
+    double getPreviousGoalY(int index)
+    {
+        return previousGoal[index * 3 + 1];
+    }
+
+    double getPreviousGoalZ(int index)
+    {
+        return previousGoal[index * 3 + 2];
+    }
+
+    /**
+     * Sets the tick of the animation the goal positions of the current step are set for.
+     * <p>
+     * This must be a tick that never decreases during the animation, so the number of ticks between two steps can be
+     * derived from it.
+     *
+     * @param tick
+     *     The tick of the animation.
+     */
+    void setTick(int tick)
+    {
+        this.tick = tick;
+    }
+
+    /**
+     * Gets the number of ticks between the step of the previous goal position of a block and the current step.
+     *
+     * @param index
+     *     The index of the block.
+     * @return The number of ticks since the previous goal position of the block. This is at least 1.
+     */
+    int getTicksSincePreviousGoal(int index)
+    {
+        return Math.max(1, tick - previousGoalTick[index]);
+    }
+
+    /**
+     * Sets the goal position of a block for the current step.
+     *
+     * @param index
+     *     The index of the block.
+     * @param x
+     *     The x coordinate of the goal position.
+     * @param y
+     *     The y coordinate of the goal position.
+     * @param z
+     *     The z coordinate of the goal position.
+     */
+    public void setGoal(int index, double x, double y, double z)
+    {
+        final int offset = index * 3;
+        goal[offset] = x;
+        goal[offset + 1] = y;
+        goal[offset + 2] = z;
+    }
+
+    /**
+     * Sets the goal position of a block for the current step.
+     *
+     * @param index
+     *     The index of the block.
+     * @param position
+     *     The goal position.
+     */
+    public void setGoal(int index, Vector3Dd position)
+    {
+        setGoal(index, position.x(), position.y(), position.z());
+    }
+
+    /**
+     * Updates the current position of a block.
+     *
+     * @param index
+     *     The index of the block.
+     * @param position
+     *     The new current position of the block.
+     */
+    void setCurrent(int index, Vector3Dd position)
+    {
+        final int offset = index * 3;
+        current[offset] = position.x();
+        current[offset + 1] = position.y();
+        current[offset + 2] = position.z();
+    }
+
+    /**
+     * Updates the last velocity that was applied to a block.
+     *
+     * @param index
+     *     The index of the block.
+     * @param x
+     *     The velocity along the x axis.
+     * @param y
+     *     The velocity along the y axis.
+     * @param z
+     *     The velocity along the z axis.
+     */
+    void setVelocity(int index, double x, double y, double z)
+    {
+        final int offset = index * 3;
+        velocity[offset] = x;
+        velocity[offset + 1] = y;
+        velocity[offset + 2] = z;
+    }
+
+    /**
+     * Stores the current goal position of a block as its previous goal position and adds the number of ticks since the
+     * previous goal position to the number of ticks since the last keyframe of the block.
+     *
+     * @param index
+     *     The index of the block.
+     * @return The number of ticks since the last keyframe of the block, including the current step.
+     */
+    int advanceKeyframeStep(int index)
+    {
+        final int offset = index * 3;
+        final int ticks = getTicksSincePreviousGoal(index);
+        System.arraycopy(goal, offset, previousGoal, offset, 3);
+        previousGoalTick[index] = tick;
+        return ticksSinceKeyframe[index] += ticks;
+    }
+
+    /**
+     * Marks the current step as a keyframe of a block.
+     *
+     * @param index
+     *     The index of the block.
+     */
+    void resetKeyframeStep(int index)
+    {
+        ticksSinceKeyframe[index] = 0;
+    }
+
+    /**
+     * Resets the keyframe state of all blocks.
+     * <p>
+     * This should be used after the blocks were moved without updating their keyframe state, so the next keyframe does
+     * not derive the velocity of a block from an outdated goal position.
+     */
+    void resetKeyframes()
+    {
+        System.arraycopy(goal, 0, previousGoal, 0, goal.length);
+        Arrays.fill(previousGoalTick, tick);
+        Arrays.fill(ticksSinceKeyframe, 0);
+    }
+}
@@ -0,0 +1,225 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+
+/**
+ * Limits the total number of blocks that are animated concurrently across all animations.
+ * <p>
+ * Every {@link BlockMover} has to be admitted before its animation can start. When starting an animation would exceed
+ * {@link IConfigLoader#maxConcurrentAnimatedBlocks()}, the mover is queued until enough other animations have
+ * finished. Queued movers are admitted in order of the priority of their {@link DoorActionCause} (see
+ * {@link #getPriority(DoorActionCause)}) and then in the order in which they were queued.
+ * <p>
+ * When the queue already contains {@link IConfigLoader#maxQueuedAnimations()} movers, new movers skip their animation
+ * instead. Movers that cannot skip their animation are always queued.
+ * <p>
+ * An animation that is larger than the entire budget is admitted once no other animations are active, so it does not
+ * have to wait forever.
+ * <p>
+ * While the {@link AnimationGovernor} is at {@link AnimationGovernor.Fidelity#SKIP}, new movers are not admitted
+ * immediately. Instead, they are queued or skipped just like movers that do not fit in the budget. When there are no
+ * active animations to wait for, they are skipped when possible and admitted otherwise.
+ * <p>
+ * Looping animations are admitted immediately and do not reserve any blocks. They never finish by themselves, so their
+ * reservations would otherwise block the queue for as long as they exist.
+ *
+ * @author Pim
+ */
+@Flogger
+final class AnimationAdmissionController
+{
+    private final IConfigLoader config;
+    private final IPExecutor executor;
+    private final AnimationGovernor governor;
+
+    /**
+     * The number of blocks reserved by every admitted mover. Guarded by 'this'.
+     */
+    private final Map<BlockMover, Integer> admitted = new HashMap<>();
+
+    /**
+     * The movers waiting to be admitted. Guarded by 'this'.
+     */
+    private final PriorityQueue<Entry> queue =
+        new PriorityQueue<>(Comparator.comparingInt(Entry::priority).thenComparingLong(Entry::sequence));
+
+    /**
+     * The total number of blocks reserved by all {@link #admitted} movers. Guarded by 'this'.
+     */
+    private int activeBlocks = 0;
+
+    /**
+     * The sequence number of the next queued mover. Guarded by 'this'.
+     */
+    private long nextSequence = 0;
+
+    AnimationAdmissionController(IConfigLoader config, IPExecutor executor, AnimationGovernor governor)
+    {
+        this.config = config;
+        this.executor = executor;
+        this.governor = governor;
+    }
+
+    /**
+     * Requests admission for the animation of a {@link BlockMover}.
+     * <p>
+     * When the mover is admitted immediately, {@link BlockMover#onAdmitted(boolean)} is called before this method
+     * returns. Otherwise, it is called on the main thread once the mover is admitted.
+     *
+     * @param mover
+     *     The {@link BlockMover} whose animation to start.
+     * @param blockCount
+     *     The number of blocks the animation will animate.
+     * @param canSkip
+     *     Whether the mover can skip its animation when the queue is full.
+     */
+    void requestAdmission(BlockMover mover, int blockCount, boolean canSkip)
+    {
+        if (mover.isLooping())
+        {
+            mover.onAdmitted(false);
+            return;
+        }
+
+        final boolean overloaded = governor.getFidelity().isAtMost(AnimationGovernor.Fidelity.SKIP);
+        final boolean skip;
+        synchronized (this)
+        {
+            if (!overloaded && queue.isEmpty() && fits(blockCount))
+            {
+                reserve(mover, blockCount);
+                skip = false;
+            }
+            else if (canSkip && (queue.size() >= config.maxQueuedAnimations() || activeBlocks == 0))
+            {
+                log.at(Level.FINE).log("Skipping animation of door %d (%d queued, overloaded: %b)",
+                                       mover.getDoorUID(), queue.size(), overloaded);
+                skip = true;
+            }
+            else if (activeBlocks == 0)
+            {
+                // There are no active animations that could free up the budget, so there is nothing to wait for.
+                reserve(mover, blockCount);
+                skip = false;
+            }
+            else
+            {
+                log.at(Level.FINER).log("Queueing animation of door %d (%d blocks, %d active)",
+                                        mover.getDoorUID(), blockCount, activeBlocks);
+                queue.add(new Entry(mover, blockCount, getPriority(mover.getCause()), nextSequence++));
+                return;
+            }
+        }
+        mover.onAdmitted(skip);
+    }
+
+    /**
+     * Releases the blocks reserved by a {@link BlockMover} and admits as many queued movers as possible.
+     * <p>
+     * When the mover is still queued, it is removed from the queue instead.
+     *
+     * @param mover
+     *     The {@link BlockMover} that finished or was aborted.
+     */
+    void release(BlockMover mover)
+    {
+        final List<BlockMover> toAdmit;
+        synchronized (this)
+        {
+            final @Nullable Integer reserved = admitted.remove(mover);
+            if (reserved == null)
+            {
+                queue.removeIf(entry -> entry.mover == mover);
+                return;
+            }
+            activeBlocks -= reserved;
+            toAdmit = pollAdmissible();
+        }
+        toAdmit.forEach(admittedMover -> executor.runOnMainThread(() -> admittedMover.onAdmitted(false)));
+    }
+
+    /**
+     * Removes all admitted and queued movers.
+     */
+    synchronized void clear()
+    {
+        admitted.clear();
+        queue.clear();
+        activeBlocks = 0;
+    }
+
+    /**
+     * @return The number of movers waiting to be admitted.
+     */
+    synchronized int getQueuedCount()
+    {
+        return queue.size();
+    }
+
+    /**
+     * @return The total number of blocks reserved by all admitted movers.
+     */
+    synchronized int getActiveBlocks()
+    {
+        return activeBlocks;
+    }
+
+    private List<BlockMover> pollAdmissible()
+    {
+        final List<BlockMover> ret = new ArrayList<>();
+        @Nullable Entry head;
+        while ((head = queue.peek()) != null && fits(head.blockCount))
+        {
+            queue.poll();
+            reserve(head.mover, head.blockCount);
+            ret.add(head.mover);
+        }
+        return ret;
+    }
+
+    private boolean fits(int blockCount)
+    {
+        final int limit = config.maxConcurrentAnimatedBlocks();
+        return limit < 1 || activeBlocks == 0 || activeBlocks + blockCount <= limit;
+    }
+
+    private void reserve(BlockMover mover, int blockCount)
+    {
+        admitted.put(mover, blockCount);
+        activeBlocks += blockCount;
+    }
+
+    /**
+     * Gets the priority of an animation based on its cause. Lower values are admitted first.
+     *
+     * @param cause
+     *     The cause of the animation.
+     * @return The priority of the animation.
+     */
+    static int getPriority(DoorActionCause cause)
+    {
+        return switch (cause)
+            {
+                case PLAYER -> 0;
+                case SERVER -> 1;
+                case REDSTONE, PERPETUALMOVEMENT -> 2;
+                case AUTOCLOSE -> 3;
+            };
+    }
+
+    private record Entry(BlockMover mover, int blockCount, int priority, long sequence)
+    {
+    }
+}
@@ -0,0 +1,84 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Derives the number of ticks that have passed since the start of an animation from the wall-clock time.
+ * <p>
+ * The animation ticks are not tied to the executions of the task that drives the animation. When the task is executed
+ * late or when executions are merged because the server is lagging, the clock simply skips the ticks that were
+ * missed. This ensures that an animation takes as long as it was supposed to take, regardless of the load on the
+ * server. Because the movers calculate the goal positions of the blocks from the number of ticks, skipping ticks
+ * does not distort the motion; the blocks just move a larger distance during the next step.
+ *
+ * @author Pim
+ */
+final class AnimationClock
+{
+    /**
+     * The duration of a single animation tick in nanoseconds.
+     */
+    static final long TICK_NANOS = AnimationGovernor.TICK_NANOS;
+
+    private final LongSupplier nanoTime;
+
+    private boolean started = false;
+
+    /**
+     * The value of {@link #nanoTime} at the start of the first tick.
+     */
+    private long startNanos;
+
+    /**
+     * The number of ticks that have passed according to the most recent call to {@link #advance(int)}.
+     */
+    private int ticks = 0;
+
+    AnimationClock()
+    {
+        this(System::nanoTime);
+    }
+
+    AnimationClock(LongSupplier nanoTime)
+    {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Advances the clock to the current time.
+     * <p>
+     * The first call starts the clock and returns 1. Every subsequent call advances the clock by at least one tick, so
+     * every execution of the animation task still executes a new step. The elapsed time is rounded to the nearest tick,
+     * so small deviations in the timing of the task do not cause any ticks to be skipped.
+     *
+     * @param checkpoint
+     *     A tick that may not be skipped. When the clock is currently before this tick, it is advanced to this tick at
+     *     most, even if more time has passed. The clock catches up with the wall-clock time again during the next call.
+     *     This can be used to make sure the last step of an animation is always executed.
+     * @return The number of ticks that have passed since the start of the animation, including the current tick.
+     */
+    int advance(int checkpoint)
+    {
+        final long now = nanoTime.getAsLong();
+        if (!started)
+        {
+            started = true;
+            startNanos = now;
+        }
+
+        final long elapsedTicks = (now - startNanos + TICK_NANOS / 2) / TICK_NANOS + 1;
+        long newTicks = Math.max(ticks + 1L, elapsedTicks);
+        if (ticks < checkpoint)
+            newTicks = Math.min(newTicks, checkpoint);
+        ticks = (int) Math.min(Integer.MAX_VALUE, newTicks);
+        return ticks;
+    }
+
+    /**
+     * @return The number of ticks that have passed according to the most recent call to {@link #advance(int)}.
+     */
+    int getTicks()
+    {
+        return ticks;
+    }
+}
@@ -0,0 +1,78 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Determines how often players should receive updates of the positions of animated blocks based on their distance to
+ * the region of the animation.
+ * <p>
+ * Players within {@link IConfigLoader#animationDetailDistance()} blocks of the region receive an update every tick.
+ * Every time the distance is doubled, the interval between two updates is doubled as well, up to
+ * {@link #MAX_UPDATE_INTERVAL} ticks.
+ *
+ * @author Pim
+ */
+@Singleton
+public final class AnimationDetailPolicy
+{
+    /**
+     * The maximum number of ticks between two updates.
+     */
+    public static final int MAX_UPDATE_INTERVAL = 8;
+
+    private final IConfigLoader config;
+
+    @Inject
+    public AnimationDetailPolicy(IConfigLoader config)
+    {
+        this.config = config;
+    }
+
+    /**
+     * Gets the number of ticks between two updates for a player at a given position.
+     *
+     * @param region
+     *     The region of the animation. See {@link Animation#getRegion()}.
+     * @param x
+     *     The x coordinate of the player.
+     * @param y
+     *     The y coordinate of the player.
+     * @param z
+     *     The z coordinate of the player.
+     * @return The number of ticks between two updates. This is always a power of two between 1 and
+     * {@link #MAX_UPDATE_INTERVAL}.
+     */
+    public int getUpdateInterval(Cuboid region, int x, int y, int z)
+    {
+        final int detailDistance = config.animationDetailDistance();
+        if (detailDistance < 1)
+            return 1;
+
+        int interval = 1;
+        int range = detailDistance;
+        while (interval < MAX_UPDATE_INTERVAL && !region.isInRange(x, y, z, range))
+        {
+            interval *= 2;
+            range *= 2;
+        }
+        return interval;
+    }
+
+    /**
+     * Checks if an update should be sent during a given step for a given update interval.
+     *
+     * @param interval
+     *     The update interval as obtained from {@link #getUpdateInterval(Cuboid, int, int, int)}.
+     * @param step
+     *     The step of the animation.
+     * @return True if an update should be sent during the provided step.
+     */
+    public static boolean isUpdateStep(int interval, int step)
+    {
+        return step % interval == 0;
+    }
+}
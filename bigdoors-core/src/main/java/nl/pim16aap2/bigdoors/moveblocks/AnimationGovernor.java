@@ -0,0 +1,296 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Reduces the fidelity of all animations when the server is under load.
+ * <p>
+ * The load is derived from the time between two consecutive ticks of the {@link AnimationScheduler} and from the total
+ * number of animated blocks of all active animations. As the load rises, the fidelity is reduced in stages (see
+ * {@link Fidelity}). Reducing the fidelity happens immediately, but it is only restored one stage at a time once there
+ * has been enough headroom for {@link #RECOVERY_TICKS} consecutive ticks.
+ * <p>
+ * Active animations should not be throttled by their own blocks, so they can use {@link #getFidelity(int)} to ignore
+ * the blocks they animate themselves.
+ *
+ * @author Pim
+ */
+@Singleton
+@Flogger
+public final class AnimationGovernor
+{
+    /**
+     * The expected duration of a single tick.
+     */
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * The weight of a new sample in the moving average of the tick duration.
+     */
+    private static final double SMOOTHING = 0.05;
+
+    /**
+     * The maximum duration of a single sample, expressed as a multiple of {@link #TICK_NANOS}. This ensures that a
+     * single hiccup does not throttle all animations.
+     */
+    private static final double MAX_SAMPLE = 2;
+
+    /**
+     * The number of consecutive ticks with enough headroom required before the fidelity is raised by a single stage.
+     */
+    static final int RECOVERY_TICKS = 40;
+
+    private final IConfigLoader config;
+
+    /**
+     * The moving average of the tick duration, expressed as a multiple of {@link #TICK_NANOS}.
+     * <p>
+     * This is only accessed from the thread executing the animation ticks.
+     */
+    private double averageTickLoad = 1;
+
+    /**
+     * The fidelity based on both the tick duration and the number of animated blocks.
+     */
+    private final Stage fidelity = new Stage();
+
+    /**
+     * The fidelity based only on the tick duration.
+     */
+    private final Stage tickFidelity = new Stage();
+
+    /**
+     * The total number of animated blocks of all active animations during the latest tick.
+     */
+    private volatile int animatedBlocks = 0;
+
+    @Inject
+    public AnimationGovernor(IConfigLoader config)
+    {
+        this.config = config;
+    }
+
+    /**
+     * Gets the current fidelity of animations.
+     *
+     * @return The current fidelity of animations.
+     */
+    public Fidelity getFidelity()
+    {
+        return fidelity.get();
+    }
+
+    /**
+     * Gets the current fidelity of animations, ignoring some of the animated blocks.
+     * <p>
+     * This allows an active animation to ignore its own blocks, so a single large animation does not throttle itself.
+     *
+     * @param excludedBlocks
+     *     The number of animated blocks to ignore.
+     * @return The current fidelity of animations when the excluded blocks would not be animated.
+     */
+    public Fidelity getFidelity(int excludedBlocks)
+    {
+        final Fidelity current = fidelity.get();
+        if (excludedBlocks < 1 || current == Fidelity.FULL)
+            return current;
+
+        final Fidelity blockFidelity = Fidelity.forLoad(0, getBlockLoad(animatedBlocks - excludedBlocks));
+        final Fidelity withoutExcluded =
+            blockFidelity.isAtMost(tickFidelity.get()) ? blockFidelity : tickFidelity.get();
+        // The excluded blocks can only raise the fidelity, so the recovery of the tick load is not bypassed.
+        return current.isAtMost(withoutExcluded) ? withoutExcluded : current;
+    }
+
+    /**
+     * Updates the fidelity based on the load of the latest tick.
+     *
+     * @param tickNanos
+     *     The time (in nanoseconds) since the previous tick, or a value less than 1 if unknown.
+     * @param animatedBlocks
+     *     The total number of animated blocks of all active animations.
+     */
+    void update(long tickNanos, int animatedBlocks)
+    {
+        if (!config.animationGovernor())
+        {
+            reset();
+            return;
+        }
+
+        if (tickNanos > 0)
+        {
+            final double sample = Math.min(MAX_SAMPLE, (double) tickNanos / TICK_NANOS);
+            averageTickLoad += SMOOTHING * (sample - averageTickLoad);
+        }
+
+        this.animatedBlocks = animatedBlocks;
+        tickFidelity.update(Fidelity.forLoad(averageTickLoad, 0));
+
+        final Fidelity oldFidelity = fidelity.get();
+        final Fidelity newFidelity = fidelity.update(Fidelity.forLoad(averageTickLoad, getBlockLoad(animatedBlocks)));
+        if (oldFidelity != newFidelity)
+            log.at(Level.FINE).log("Changed animation fidelity from %s to %s (average tick duration: %.1fms)",
+                                   oldFidelity, newFidelity, averageTickLoad * TICK_NANOS / 1_000_000D);
+    }
+
+    /**
+     * @param blocks
+     *     The number of animated blocks.
+     * @return The fraction of the block budget used by the provided number of animated blocks.
+     */
+    private double getBlockLoad(int blocks)
+    {
+        final int blockBudget = config.animatedBlockBudget();
+        return blockBudget < 1 ? 0 : (double) blocks / blockBudget;
+    }
+
+    /**
+     * Resets the governor to full fidelity.
+     * <p>
+     * This should be called before the first tick after a period without any active animations.
+     */
+    void reset()
+    {
+        averageTickLoad = 1;
+        animatedBlocks = 0;
+        fidelity.reset();
+        tickFidelity.reset();
+    }
+
+    /**
+     * Keeps track of a fidelity that is reduced immediately, but only raised a single stage at a time once there has
+     * been enough headroom for {@link #RECOVERY_TICKS} consecutive ticks.
+     */
+    private static final class Stage
+    {
+        private volatile Fidelity current = Fidelity.FULL;
+
+        /**
+         * The number of consecutive ticks for which the load allowed a higher fidelity than the current one.
+         * <p>
+         * This is only accessed from the thread executing the animation ticks.
+         */
+        private int headroomTicks = 0;
+
+        Fidelity get()
+        {
+            return current;
+        }
+
+        /**
+         * Moves the fidelity towards the fidelity allowed by the load of the latest tick.
+         *
+         * @param target
+         *     The highest fidelity allowed by the load of the latest tick.
+         * @return The new fidelity.
+         */
+        Fidelity update(Fidelity target)
+        {
+            if (target.isAtMost(current))
+            {
+                headroomTicks = 0;
+                current = target;
+            }
+            else if (++headroomTicks >= RECOVERY_TICKS)
+            {
+                headroomTicks = 0;
+                current = Fidelity.values()[current.ordinal() - 1];
+            }
+            return current;
+        }
+
+        void reset()
+        {
+            headroomTicks = 0;
+            current = Fidelity.FULL;
+        }
+    }
+
+    /**
+     * Represents the stages in which the fidelity of animations is reduced. Every stage includes the reductions of all
+     * stages before it.
+     */
+    public enum Fidelity
+    {
+        /**
+         * Animations are not restricted in any way.
+         */
+        FULL(0, 0),
+
+        /**
+         * The animated blocks are only updated every other tick. Keyframed movers are not affected, as they only send
+         * updates at keyframes anyway.
+         */
+        REDUCED_UPDATE_RATE(1.1, 0.5),
+
+        /**
+         * The animated blocks are teleported instead of moved using their velocity.
+         */
+        TELEPORT_ONLY(1.2, 0.75),
+
+        /**
+         * New animations only animate the blocks on the edges of the door.
+         */
+        EDGE_ONLY(1.35, 0.9),
+
+        /**
+         * New animations are not started immediately. Instead, the {@link AnimationAdmissionController} queues them
+         * until other animations have finished, or skips them entirely.
+         */
+        SKIP(1.5, 1),
+        ;
+
+        /**
+         * The average tick duration (as a multiple of {@link #TICK_NANOS}) from which this fidelity is used.
+         */
+        private final double minTickLoad;
+
+        /**
+         * The fraction of the block budget from which this fidelity is used.
+         */
+        private final double minBlockLoad;
+
+        Fidelity(double minTickLoad, double minBlockLoad)
+        {
+            this.minTickLoad = minTickLoad;
+            this.minBlockLoad = minBlockLoad;
+        }
+
+        /**
+         * Checks if this fidelity is at or below another fidelity.
+         *
+         * @param other
+         *     The fidelity to compare against.
+         * @return True if this fidelity includes all reductions of the other fidelity.
+         */
+        public boolean isAtMost(Fidelity other)
+        {
+            return ordinal() >= other.ordinal();
+        }
+
+        /**
+         * Gets the highest fidelity that can be used for a given load.
+         *
+         * @param tickLoad
+         *     The average tick duration, expressed as a multiple of {@link #TICK_NANOS}.
+         * @param blockLoad
+         *     The fraction of the block budget that is currently in use.
+         * @return The highest fidelity that can be used for the given load.
+         */
+        private static Fidelity forLoad(double tickLoad, double blockLoad)
+        {
+            Fidelity result = FULL;
+            for (final Fidelity value : values())
+                if (tickLoad >= value.minTickLoad || blockLoad >= value.minBlockLoad)
+                    result = value;
+            return result;
+        }
+    }
+}
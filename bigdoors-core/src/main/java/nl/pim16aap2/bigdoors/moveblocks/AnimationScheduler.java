@@ -0,0 +1,195 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.logging.Level;
+
+/**
+ * Drives the animations of all active {@link BlockMover}s from a single repeating task.
+ * <p>
+ * Every tick, each registered {@link BlockMover} is advanced exactly once. The movers are advanced in the order in
+ * which they were registered.
+ * <p>
+ * The repeating task is only scheduled while there is at least one registered {@link BlockMover}.
+ *
+ * @author Pim
+ */
+@Flogger
+final class AnimationScheduler
+{
+    private final IPExecutor executor;
+    private final AnimationGovernor governor;
+
+    /**
+     * The entries of all registered movers, in order of registration.
+     * <p>
+     * Guarded by 'this'.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Reusable copy of {@link #entries} that is iterated over by the tick. This is only ever accessed from the thread
+     * executing the tick.
+     */
+    private Entry[] snapshot = new Entry[0];
+
+    /**
+     * The task that advances the animations. Guarded by 'this'.
+     */
+    private @Nullable TimerTask task;
+
+    private int taskID;
+
+    /**
+     * The value of {@link System#nanoTime()} at the start of the previous tick, or 0 if there was no previous tick.
+     * This is only accessed from the thread executing the tick, except when it is reset before the task is started.
+     */
+    private long lastTickStart = 0;
+
+    AnimationScheduler(IPExecutor executor, AnimationGovernor governor)
+    {
+        this.executor = executor;
+        this.governor = governor;
+    }
+
+    /**
+     * Registers a {@link BlockMover} so that it will be advanced every tick.
+     *
+     * @param mover
+     *     The {@link BlockMover} to register.
+     * @param delay
+     *     The number of ticks to wait before the first step of the mover is executed.
+     */
+    synchronized void register(BlockMover mover, int delay)
+    {
+        entries.add(new Entry(mover, delay));
+        if (task == null)
+            startTask();
+    }
+
+    /**
+     * Unregisters a {@link BlockMover}. It will not be advanced anymore after this method returns.
+     *
+     * @param mover
+     *     The {@link BlockMover} to unregister.
+     */
+    synchronized void unregister(BlockMover mover)
+    {
+        entries.removeIf(
+            entry ->
+            {
+                if (entry.mover != mover)
+                    return false;
+                entry.cancelled = true;
+                return true;
+            });
+    }
+
+    /**
+     * @return The number of {@link BlockMover}s that are currently registered.
+     */
+    synchronized int getRegisteredCount()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Unregisters all {@link BlockMover}s and cancels the repeating task.
+     */
+    synchronized void stop()
+    {
+        entries.forEach(entry -> entry.cancelled = true);
+        entries.clear();
+        cancelTask();
+    }
+
+    private void startTask()
+    {
+        lastTickStart = 0;
+        governor.reset();
+        final TimerTask newTask = new TimerTask()
+        {
+            @Override
+            public void run()
+            {
+                tick();
+            }
+        };
+        task = newTask;
+        taskID = executor.runAsyncRepeated(newTask, 1, 1);
+    }
+
+    private void cancelTask()
+    {
+        if (task == null)
+            return;
+        executor.cancel(task, taskID);
+        task = null;
+    }
+
+    /**
+     * Advances all registered movers by a single step.
+     */
+    private void tick()
+    {
+        final long tickStart = System.nanoTime();
+        final int count;
+        synchronized (this)
+        {
+            if (entries.isEmpty())
+            {
+                cancelTask();
+                return;
+            }
+            snapshot = entries.toArray(snapshot);
+            count = entries.size();
+        }
+
+        int animatedBlocks = 0;
+        for (int idx = 0; idx < count; ++idx)
+            animatedBlocks += snapshot[idx].mover.getAnimatedBlockCount();
+        governor.update(lastTickStart == 0 ? 0 : tickStart - lastTickStart, animatedBlocks);
+        lastTickStart = tickStart;
+
+        for (int idx = 0; idx < count; ++idx)
+        {
+            final Entry entry = snapshot[idx];
+            snapshot[idx] = null;
+
+            if (entry.cancelled)
+                continue;
+            if (entry.delay > 0)
+            {
+                --entry.delay;
+                continue;
+            }
+
+            try
+            {
+                entry.mover.executeTick();
+            }
+            catch (Exception e)
+            {
+                log.at(Level.SEVERE).withCause(e).log("Failed to execute animation step for mover: %s", entry.mover);
+            }
+        }
+    }
+
+    private static final class Entry
+    {
+        private final BlockMover mover;
+        private int delay;
+        private volatile boolean cancelled = false;
+
+        private Entry(BlockMover mover, int delay)
+        {
+            this.mover = mover;
+            this.delay = delay;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the time spent on the ticks of a single animation.
+ * <p>
+ * The timings are recorded by the thread executing the animation, but they can be read from any thread.
+ *
+ * @author Pim
+ */
+public final class AnimationTimings
+{
+    /**
+     * The default budget of a single tick of an animation. This is the duration of a single server tick.
+     */
+    static final long DEFAULT_TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final long tickBudgetNanos;
+
+    private int ticks;
+    private int overrunTicks;
+    private long stepNanos;
+    private long finishingNanos;
+    private long hookNanos;
+    private long lastTickNanos;
+    private long maxTickNanos;
+
+    /**
+     * @param tickBudgetNanos
+     *     The maximum amount of time (in nanoseconds) a single tick is allowed to take before it is counted as an
+     *     overrun.
+     */
+    AnimationTimings(long tickBudgetNanos)
+    {
+        this.tickBudgetNanos = tickBudgetNanos;
+    }
+
+    AnimationTimings()
+    {
+        this(DEFAULT_TICK_BUDGET_NANOS);
+    }
+
+    /**
+     * Records the timings of a single tick.
+     *
+     * @param finishing
+     *     True if the tick was part of the finishing steps of the animation, false if it was a regular animation step.
+     * @param movementNanos
+     *     The time (in nanoseconds) spent on moving the animated blocks.
+     * @param hookNanos
+     *     The time (in nanoseconds) spent on executing the animation hooks.
+     * @param tickNanos
+     *     The total time (in nanoseconds) spent on the tick.
+     * @return True if the tick exceeded the tick budget.
+     */
+    synchronized boolean recordTick(boolean finishing, long movementNanos, long hookNanos, long tickNanos)
+    {
+        ++ticks;
+        if (finishing)
+            finishingNanos += movementNanos;
+        else
+            stepNanos += movementNanos;
+        this.hookNanos += hookNanos;
+        lastTickNanos = tickNanos;
+        maxTickNanos = Math.max(maxTickNanos, tickNanos);
+
+        final boolean overrun = tickNanos > tickBudgetNanos;
+        if (overrun)
+            ++overrunTicks;
+        return overrun;
+    }
+
+    /**
+     * @return The number of ticks that have been recorded.
+     */
+    public synchronized int getTicks()
+    {
+        return ticks;
+    }
+
+    /**
+     * @return The number of recorded ticks that exceeded the tick budget.
+     */
+    public synchronized int getOverrunTicks()
+    {
+        return overrunTicks;
+    }
+
+    /**
+     * @return The total time (in nanoseconds) spent on the regular animation steps, excluding the hooks.
+     */
+    public synchronized long getStepNanos()
+    {
+        return stepNanos;
+    }
+
+    /**
+     * @return The total time (in nanoseconds) spent on the finishing steps, excluding the hooks.
+     */
+    public synchronized long getFinishingNanos()
+    {
+        return finishingNanos;
+    }
+
+    /**
+     * @return The total time (in nanoseconds) spent on executing the animation hooks.
+     */
+    public synchronized long getHookNanos()
+    {
+        return hookNanos;
+    }
+
+    /**
+     * @return The time (in nanoseconds) spent on the most recent tick.
+     */
+    public synchronized long getLastTickNanos()
+    {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return The time (in nanoseconds) spent on the slowest tick.
+     */
+    public synchronized long getMaxTickNanos()
+    {
+        return maxTickNanos;
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / 1_000_000D;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        final double totalMillis = toMillis(stepNanos + finishingNanos + hookNanos);
+        return String.format(
+            "ticks: %d, overruns: %d (budget: %.2fms), step: %.2fms, finishing: %.2fms, hooks: %.2fms, " +
+                "avg: %.3fms, last: %.3fms, max: %.3fms",
+            ticks, overrunTicks, toMillis(tickBudgetNanos), toMillis(stepNanos), toMillis(finishingNanos),
+            toMillis(hookNanos), ticks == 0 ? 0D : totalMillis / ticks, toMillis(lastTickNanos),
+            toMillis(maxTickNanos));
+    }
+}
@@ -0,0 +1,173 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps track of the players watching a single animation and decides which updates of the animated blocks they should
+ * receive during every step of the animation.
+ * <p>
+ * How often a player receives updates is determined by the {@link AnimationDetailPolicy}. Because relative updates can
+ * only be applied on top of the previous update, players that did not receive the update of the previous step receive
+ * an absolute update instead. See {@link Update}.
+ * <p>
+ * Players that did not receive anything during the previous step are forgotten. These players are no longer watching
+ * the animation or have disconnected. This ensures that looping animations, which are never completed, do not keep
+ * track of players forever.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <P>
+ *     The type of the players.
+ * @author Pim
+ */
+public final class AnimationViewers<P>
+{
+    private final AnimationDetailPolicy detailPolicy;
+    private final Function<P, Vector3Di> positionFunction;
+    private final Map<P, ViewerState> states = new HashMap<>();
+
+    /**
+     * The step that updates are currently being determined for.
+     */
+    private int step = Integer.MIN_VALUE;
+
+    /**
+     * The step before {@link #step} during which updates were determined. Steps may be skipped, so this is not
+     * necessarily the step directly before the current one.
+     */
+    private int previousStep = Integer.MIN_VALUE;
+
+    /**
+     * @param detailPolicy
+     *     The policy that determines how often players receive updates.
+     * @param positionFunction
+     *     The function that retrieves the current block position of a player.
+     */
+    public AnimationViewers(AnimationDetailPolicy detailPolicy, Function<P, Vector3Di> positionFunction)
+    {
+        this.detailPolicy = detailPolicy;
+        this.positionFunction = positionFunction;
+    }
+
+    /**
+     * Gets the update a player should receive during the current step.
+     * <p>
+     * The update is only determined once per step for every player. All other calls during the same step return the
+     * same update, so this can be called for every animated block the player is watching.
+     *
+     * @param player
+     *     The player watching the animation.
+     * @param currentStep
+     *     The current step of the animation.
+     * @param region
+     *     The region of the animation. See {@link Animation#getRegion()}.
+     * @return The update the player should receive during the current step.
+     */
+    public Update getUpdate(P player, int currentStep, Cuboid region)
+    {
+        startStep(currentStep);
+        return states.computeIfAbsent(player, key -> new ViewerState()).update(player, currentStep, region);
+    }
+
+    /**
+     * @return The number of players watching the animation.
+     */
+    public int size()
+    {
+        return states.size();
+    }
+
+    /**
+     * Prepares determining the updates of a step.
+     * <p>
+     * When this is the first update of a new step, the players that did not receive anything during the previous step
+     * are forgotten.
+     *
+     * @param currentStep
+     *     The step that updates are determined for.
+     */
+    private void startStep(int currentStep)
+    {
+        if (currentStep == step)
+            return;
+        final int lastStep = step;
+        states.values().removeIf(state -> state.step != lastStep);
+        previousStep = lastStep;
+        step = currentStep;
+    }
+
+    /**
+     * Describes the update a player should receive during a step.
+     */
+    public enum Update
+    {
+        /**
+         * The player should not receive an update during this step.
+         */
+        NONE,
+
+        /**
+         * The player received the update of the previous step, so the update can be sent relative to that one.
+         */
+        RELATIVE,
+
+        /**
+         * The player did not receive the update of the previous step, so the update has to describe the absolute state
+         * of the animated blocks.
+         */
+        ABSOLUTE,
+    }
+
+    /**
+     * Keeps track of the updates a player has received for the animation.
+     */
+    private final class ViewerState
+    {
+        /**
+         * The step for which {@link #update} was determined.
+         */
+        private int step = Integer.MIN_VALUE;
+
+        /**
+         * The last step during which the player received an update.
+         */
+        private int lastUpdateStep = Integer.MIN_VALUE;
+
+        private Update update = Update.NONE;
+
+        private Update update(P player, int currentStep, Cuboid region)
+        {
+            if (currentStep == step)
+                return update;
+            step = currentStep;
+
+            final Vector3Di position = positionFunction.apply(player);
+            final int interval = detailPolicy.getUpdateInterval(region, position.x(), position.y(), position.z());
+
+            // Steps may be skipped, so the player also receives an update once the interval has passed since its last
+            // update, even if the current step is not an update step. Looping animations wrap around at the end of
+            // every cycle.
+            final boolean sendUpdate = lastUpdateStep == Integer.MIN_VALUE ||
+                AnimationDetailPolicy.isUpdateStep(interval, currentStep) ||
+                currentStep - lastUpdateStep >= interval || currentStep < lastUpdateStep;
+
+            if (!sendUpdate)
+                update = Update.NONE;
+            // Relative updates are relative to the last step that was sent, which is not necessarily the step directly
+            // before the current one.
+            else if (lastUpdateStep != Integer.MIN_VALUE && lastUpdateStep == previousStep)
+                update = Update.RELATIVE;
+            else
+                update = Update.ABSOLUTE;
+
+            if (sendUpdate)
+                lastUpdateStep = currentStep;
+            return update;
+        }
+    }
+}
@@ -3,22 +3,26 @@ package nl.pim16aap2.bigdoors.moveblocks;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
 import nl.pim16aap2.bigdoors.api.IPExecutor;
 import nl.pim16aap2.bigdoors.api.IPLocation;
 import nl.pim16aap2.bigdoors.api.IPPlayer;
 import nl.pim16aap2.bigdoors.api.IPWorld;
 import nl.pim16aap2.bigdoors.api.animatedblock.AnimationContext;
 import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
-import nl.pim16aap2.bigdoors.api.animatedblock.IAnimationHook;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockData;
+import nl.pim16aap2.bigdoors.api.animatedblock.IBlockChangeBatch;
 import nl.pim16aap2.bigdoors.api.factories.IAnimatedBlockFactory;
 import nl.pim16aap2.bigdoors.api.factories.IPLocationFactory;
 import nl.pim16aap2.bigdoors.audio.IAudioPlayer;
 import nl.pim16aap2.bigdoors.doors.AbstractDoor;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
+import nl.pim16aap2.bigdoors.managers.AnimationHookDispatcher;
 import nl.pim16aap2.bigdoors.managers.AnimationHookManager;
 import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.RotateDirection;
+import nl.pim16aap2.bigdoors.util.Util;
 import nl.pim16aap2.bigdoors.util.vector.IVector3D;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
@@ -26,10 +30,15 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.TimerTask;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 
 import static nl.pim16aap2.bigdoors.api.animatedblock.IAnimation.AnimationState;
@@ -74,6 +83,29 @@ public abstract class BlockMover
     @ToString.Exclude
     private final AnimationHookManager animationHookManager;
 
+    @ToString.Exclude
+    private final TrajectoryCache trajectoryCache;
+
+    /**
+     * The minimum number of animated blocks required to calculate the goal positions in parallel. See
+     * {@link IConfigLoader#parallelAnimationThreshold()}.
+     */
+    private final int parallelAnimationThreshold;
+
+    /**
+     * Whether only the blocks on the edge of the door are animated. See
+     * {@link IConfigLoader#hollowAnimation(nl.pim16aap2.bigdoors.doortypes.DoorType)} and
+     * {@link AnimationGovernor.Fidelity#EDGE_ONLY}.
+     */
+    @Getter
+    private boolean hollowAnimation;
+
+    /**
+     * Updates that differ less than this value from the previous update of an animated block are skipped. See
+     * {@link IConfigLoader#movementUpdateThreshold()}.
+     */
+    private final double movementUpdateThreshold;
+
     protected MovementMethod movementMethod = MovementMethod.VELOCITY;
 
     @Getter
@@ -87,6 +119,31 @@ public abstract class BlockMover
     @ToString.Exclude
     protected ArrayList<IAnimatedBlock> animatedBlocks;
 
+    /**
+     * The blocks inside the door that are not animated when {@link #hollowAnimation} is enabled.
+     * <p>
+     * These blocks are never spawned. Their original blocks are removed when the animation starts, and they are placed
+     * in their final positions when the animation ends.
+     */
+    @ToString.Exclude
+    private final ArrayList<IAnimatedBlock> interiorBlocks = new ArrayList<>(0);
+
+    /**
+     * The blocks that are moved to their final positions directly when the animation is skipped. See
+     * {@link #transformBlocks(Animation)}.
+     */
+    @ToString.Exclude
+    private final ArrayList<TransformedBlock> transformedBlocks = new ArrayList<>(0);
+
+    /**
+     * The positions of all {@link #animatedBlocks}.
+     * <p>
+     * Every step of the animation, the goal position of each animated block should be written into this object. Once
+     * the step has been executed, the {@link #movementMethod} is used to move the animated blocks to their goals.
+     */
+    @ToString.Exclude
+    protected AnimatedBlockPositions positions = new AnimatedBlockPositions(List.of());
+
     protected int xMin;
 
     protected int yMin;
@@ -99,14 +156,99 @@ public abstract class BlockMover
 
     protected int zMax;
 
+    /**
+     * The bounds of the current positions of the animated blocks. These are only updated for steps for which
+     * {@link #getAnimationRegion(int)} cannot provide the region.
+     */
+    @ToString.Exclude
+    private final RegionBounds regionBounds = new RegionBounds();
+
     private final AtomicBoolean isFinished = new AtomicBoolean(false);
     private volatile boolean hasStarted = false;
 
-    protected @Nullable TimerTask moverTask = null;
+    /**
+     * Whether the original blocks of the door have been replaced by the animated blocks. Guarded by 'this'.
+     */
+    private boolean originalBlocksRemoved = false;
+
+    /**
+     * The maximum number of blocks to replace by animated blocks per tick. See
+     * {@link IConfigLoader#animationSpawnBudget()}.
+     */
+    private final int spawnBudget;
+
+    /**
+     * The planner that replaces the original blocks by the animated blocks over multiple ticks. This is only non-null
+     * while the blocks are being replaced. Guarded by 'this'.
+     */
+    @ToString.Exclude
+    private @Nullable SpawnPlanner spawnPlanner;
+
+    /**
+     * The task that processes the batches of the {@link #spawnPlanner}. Guarded by 'this'.
+     */
+    @ToString.Exclude
+    private @Nullable TimerTask spawnTask;
+
+    private int spawnTaskID;
 
-    private @Nullable List<IAnimationHook<IAnimatedBlock>> hooks;
+    /**
+     * The number of ticks to wait after registering the animation before executing its first step.
+     */
+    private static final int START_DELAY = 14;
 
-    protected int moverTaskID = 0;
+    @ToString.Exclude
+    private AnimationHookDispatcher<IAnimatedBlock> hooks = AnimationHookDispatcher.empty();
+
+    /**
+     * The timings of the ticks of the animation of this mover.
+     */
+    @Getter
+    @ToString.Exclude
+    private final AnimationTimings timings = new AnimationTimings();
+
+    /**
+     * The time (in nanoseconds) spent on dispatching {@link AnimationHookDispatcher#onBlocksMoved} during the current
+     * tick. This is only accessed from the thread executing the animation.
+     */
+    private long blocksMovedHookNanos;
+
+    /**
+     * The fidelity of the current tick as determined by the {@link AnimationGovernor}. This is only accessed from the
+     * thread executing the animation.
+     */
+    @ToString.Exclude
+    private AnimationGovernor.Fidelity fidelity = AnimationGovernor.Fidelity.FULL;
+
+    /**
+     * The tick at which the animated blocks were last moved. This is only accessed from the thread executing the
+     * animation.
+     */
+    private int lastMovementTick = 0;
+
+    /**
+     * The animation that is currently being executed by this mover. This is null until the animation is started.
+     */
+    @ToString.Exclude
+    private volatile @Nullable Animation<IAnimatedBlock> animation;
+
+    /**
+     * The number of ticks that have passed since the start of the current animation. For looping animations, this is
+     * the number of ticks that have passed since the start of the current cycle.
+     */
+    private int counter = 0;
+
+    /**
+     * The clock that determines the {@link #counter} from the time that has passed since the start of the animation.
+     * This is only accessed from the thread executing the animation.
+     */
+    @ToString.Exclude
+    private final AnimationClock clock = new AnimationClock();
+
+    /**
+     * The number of ticks after which the animation is stopped.
+     */
+    private int stopCount;
 
     /**
      * The duration of the animation measured in ticks.
@@ -119,6 +261,40 @@ public abstract class BlockMover
      */
     protected int finishDuration = 30;
 
+    /**
+     * Whether the animation loops indefinitely.
+     * <p>
+     * When true, {@link #animationDuration} describes the duration of a single cycle of the animation. Once a cycle has
+     * been completed, the next cycle starts from the first tick again, so the animation never finishes on its own.
+     * The last tick of a cycle should be equal to its start, so the animation loops seamlessly.
+     * <p>
+     * Looping animations are only stopped when the mover is aborted, after which the blocks are placed in their final
+     * positions. For most looping animations, these should therefore be the start positions of the blocks.
+     */
+    @Getter
+    protected boolean looping = false;
+
+    /**
+     * Whether the blocks are rotated in the {@link #openDirection} during the animation using {@link #applyRotation()}.
+     * <p>
+     * When true, the rotations of the blocks are prepared while the animated blocks are created, so the rotation
+     * itself only has to swap the states of the blocks. See
+     * {@link IAnimatedBlockData#prepareRotation(RotateDirection)}.
+     */
+    protected boolean rotatesBlocks = false;
+
+    /**
+     * Whether the looping animation is currently suspended. See {@link #setSuspended(boolean)}.
+     */
+    @Getter
+    private volatile boolean suspended = false;
+
+    /**
+     * Whether the animated blocks have to be teleported during the next step of the animation, because they were not
+     * moved while the animation was suspended. This is only accessed from the thread executing the animation.
+     */
+    private boolean resumeWithTeleport = false;
+
     protected final Cuboid newCuboid;
 
     /**
@@ -149,6 +325,11 @@ public abstract class BlockMover
         animatedBlockFactory = context.getAnimatedBlockFactory();
         locationFactory = context.getLocationFactory();
         animationHookManager = context.getAnimationHookManager();
+        trajectoryCache = context.getTrajectoryCache();
+        parallelAnimationThreshold = context.getConfig().parallelAnimationThreshold();
+        hollowAnimation = context.getConfig().hollowAnimation(door.getDoorType());
+        movementUpdateThreshold = context.getConfig().movementUpdateThreshold();
+        spawnBudget = context.getConfig().animationSpawnBudget();
 
         if (!context.getExecutor().isMainThread(Thread.currentThread().getId()))
             throw new Exception("BlockMovers must be called on the main thread!");
@@ -175,9 +356,28 @@ public abstract class BlockMover
 
     public void abort()
     {
-        if (moverTask != null)
-            executor.cancel(moverTask, moverTaskID);
-        putBlocks(true);
+        doorActivityManager.unregisterAnimation(this);
+        synchronized (this)
+        {
+            // When the original blocks have not been removed yet, there is nothing to put back. Marking the mover as
+            // finished ensures the original blocks will not be removed anymore either.
+            if (!originalBlocksRemoved)
+            {
+                isFinished.set(true);
+                return;
+            }
+            // While the original blocks are being replaced, the door is in a partially removed state, so the only way
+            // to recover is to put back the original blocks.
+            final @Nullable SpawnPlanner planner = spawnPlanner;
+            if (planner != null)
+            {
+                cancelSpawning();
+                isFinished.set(true);
+                restoreOriginalBlocks(planner.getRemovedBlocks());
+                return;
+            }
+            putBlocks(true);
+        }
     }
 
     /**
@@ -189,6 +389,9 @@ public abstract class BlockMover
         for (final IAnimatedBlock animatedBlock : animatedBlocks)
             if (animatedBlock.getAnimatedBlockData().rotateBlock(openDirection))
                 animatedBlock.respawn();
+        // The interior blocks aren't spawned, but they should still be placed with the correct rotation.
+        for (final IAnimatedBlock interiorBlock : interiorBlocks)
+            interiorBlock.getAnimatedBlockData().rotateBlock(openDirection);
     }
 
     /**
@@ -219,8 +422,20 @@ public abstract class BlockMover
     /**
      * Replaces all blocks of the {@link AbstractDoor} with animated blocks and starts the animation.
      * <p>
+     * When the {@link #animatedBlockFactory} supports {@link IAnimatedBlockFactory#captureRegion(IPWorld, Cuboid)},
+     * the animated blocks are created asynchronously from the captured region. Only removing the original blocks and
+     * spawning the animated blocks is done on the main thread. Otherwise, everything is done on the current thread.
+     * <p>
      * Note that if {@link #skipAnimation} is true, the blocks will be placed in the new position immediately without
-     * any animations.
+     * any animations. No animated blocks are created in that case; see {@link #transformBlocks(Animation)}.
+     * <p>
+     * Other animations are only started once they have been admitted by the {@link AnimationAdmissionController}, so
+     * they may be started at a later time or be skipped after all when too many animations are active. See
+     * {@link #onAdmitted(boolean)}.
+     * <p>
+     * When the {@link AnimationGovernor} has reduced the fidelity to {@link AnimationGovernor.Fidelity#EDGE_ONLY} or
+     * lower, only the blocks on the edge of the door are animated. Looping animations are exempt from this, as they
+     * never finish by themselves.
      */
     protected synchronized void startAnimation()
     {
@@ -231,144 +446,743 @@ public abstract class BlockMover
             throw new IllegalStateException("Trying to start an animation again!");
         hasStarted = true;
 
+        if (!looping)
+            hollowAnimation = hollowAnimation ||
+                doorActivityManager.getAnimationFidelity().isAtMost(AnimationGovernor.Fidelity.EDGE_ONLY);
+
+        if (skipAnimation)
+            start();
+        else
+            doorActivityManager.requestAdmission(this, door.getBlockCount(), !looping && door.canSkipAnimation());
+    }
+
+    /**
+     * Starts the animation once it has been admitted by the {@link AnimationAdmissionController}.
+     * <p>
+     * This is called on the main thread.
+     *
+     * @param skipAnimation
+     *     True if the animation has to be skipped because too many other animations are waiting to be admitted.
+     */
+    synchronized void onAdmitted(boolean skipAnimation)
+    {
+        // The mover may have been aborted while it was waiting to be admitted.
+        if (isFinished.get())
+            return;
+        if (skipAnimation)
+            this.skipAnimation = true;
+        start();
+    }
+
+    private void start()
+    {
         final Animation<IAnimatedBlock> animation = new Animation<>(animationDuration, door.getCuboid(), animatedBlocks,
                                                                     door);
         final AnimationContext animationContext = new AnimationContext(door.getDoorType(), door, animation);
 
+        final Optional<IAnimatedBlockFactory> capturedFactory =
+            animatedBlockFactory.captureRegion(world, door.getCuboid());
+        if (capturedFactory.isEmpty())
+        {
+            finishStartAnimation(animation, createAnimatedBlocks(animatedBlockFactory, animationContext));
+            return;
+        }
+
+        executor.supplyAsync(() -> createAnimatedBlocks(capturedFactory.get(), animationContext))
+                .thenAccept(created -> executor.runOnMainThread(() -> finishStartAnimation(animation, created)))
+                .exceptionally(Util::exceptionally);
+    }
+
+    /**
+     * Creates the animated blocks for all blocks in the door.
+     * <p>
+     * This does not modify the world or this mover in any way, so it can be called from any thread as long as the
+     * provided factory supports it. The created blocks are only published to this mover by
+     * {@link #finishStartAnimation(Animation, CreatedBlocks)}, so this does not have to hold the lock of this mover.
+     *
+     * @param factory
+     *     The factory to use to create the animated blocks.
+     * @param animationContext
+     *     The context of the animation the animated blocks are created for.
+     * @return The created blocks, or null if the blocks could not be created.
+     */
+    private @Nullable CreatedBlocks createAnimatedBlocks(
+        IAnimatedBlockFactory factory, AnimationContext animationContext)
+    {
+        final CreatedBlocks created = new CreatedBlocks(new ArrayList<>(door.getBlockCount()), new ArrayList<>(0),
+                                                        new ArrayList<>(0));
         try
         {
+            final Trajectory.Key trajectoryKey = new Trajectory.Key(
+                getClass(), openDirection, new Cuboid(new Vector3Di(xMin, yMin, zMin), new Vector3Di(xMax, yMax, zMax)),
+                newCuboid, door.getRotationPoint(), getTrajectoryDiscriminator());
+            final int volume = (xMax - xMin + 1) * (yMax - yMin + 1) * (zMax - zMin + 1);
+            final @Nullable Trajectory cachedTrajectory = trajectoryCache
+                .get(door.getDoorUID(), trajectoryKey).filter(cached -> cached.size() == volume).orElse(null);
+            final Trajectory trajectory = cachedTrajectory == null ? new Trajectory(volume) : cachedTrajectory;
+
+            int index = 0;
             for (int xAxis = xMin; xAxis <= xMax; ++xAxis)
                 for (int yAxis = yMax; yAxis >= yMin; --yAxis)
-                    for (int zAxis = zMin; zAxis <= zMax; ++zAxis)
+                    for (int zAxis = zMin; zAxis <= zMax; ++zAxis, ++index)
                     {
                         final boolean onEdge =
                             xAxis == xMin || xAxis == xMax ||
                                 yAxis == yMin || yAxis == yMax ||
                                 zAxis == zMin || zAxis == zMax;
 
+                        if (cachedTrajectory == null)
+                        {
+                            final float radius = getRadius(xAxis, yAxis, zAxis);
+                            final Vector3Dd startPosition = new Vector3Dd(xAxis + 0.5, yAxis, zAxis + 0.5);
+                            trajectory.set(index, radius, getStartAngle(xAxis, yAxis, zAxis),
+                                           getFinalPosition(startPosition, radius));
+                        }
+
                         final IPLocation location = locationFactory.create(world, xAxis + 0.5, yAxis, zAxis + 0.5);
+                        if (skipAnimation)
+                        {
+                            final Vector3Di originalPosition = new Vector3Di(xAxis, yAxis, zAxis);
+                            final Vector3Di finalPosition = trajectory.getFinalPosition(index).floor().toInteger();
+                            factory.createBlockData(location).ifPresent(
+                                blockData -> created.transformedBlocks().add(
+                                    new TransformedBlock(blockData, originalPosition, finalPosition, onEdge)));
+                            continue;
+                        }
+
                         final boolean bottom = (yAxis == yMin);
-                        final float radius = getRadius(xAxis, yAxis, zAxis);
-                        final float startAngle = getStartAngle(xAxis, yAxis, zAxis);
-                        final Vector3Dd startPosition = new Vector3Dd(xAxis + 0.5, yAxis, zAxis + 0.5);
-                        final Vector3Dd finalPosition = getFinalPosition(startPosition, radius);
-
-                        animatedBlockFactory
-                            .create(location, radius, startAngle, bottom, onEdge, animationContext, finalPosition)
-                            .ifPresent(animatedBlocks::add);
+
+                        final List<IAnimatedBlock> target = hollowAnimation && !onEdge ?
+                                                            created.interiorBlocks() : created.animatedBlocks();
+                        factory
+                            .create(location, trajectory.getRadius(index), trajectory.getStartAngle(index), bottom,
+                                    onEdge, animationContext, trajectory.getFinalPosition(index))
+                            .ifPresent(target::add);
                     }
+
+            if (cachedTrajectory == null)
+                trajectoryCache.put(door.getDoorUID(), trajectoryKey, trajectory);
         }
         catch (Exception e)
         {
-            log.at(Level.SEVERE).withCause(e).log();
-            handleInitFailure();
-            return;
+            log.at(Level.SEVERE).withCause(e).log();
+            animatedBlockFactory.recycle(created.animatedBlocks());
+            animatedBlockFactory.recycle(created.interiorBlocks());
+            return null;
+        }
+
+        if (rotatesBlocks)
+        {
+            created.animatedBlocks().forEach(block -> block.getAnimatedBlockData().prepareRotation(openDirection));
+            created.interiorBlocks().forEach(block -> block.getAnimatedBlockData().prepareRotation(openDirection));
+            created.transformedBlocks().forEach(block -> block.blockData().prepareRotation(openDirection));
+        }
+        return created;
+    }
+
+    /**
+     * Removes the original blocks and starts the animation once the animated blocks have been created.
+     * <p>
+     * This must be called on the main thread.
+     *
+     * @param animation
+     *     The animation to start.
+     * @param created
+     *     The created blocks, or null if the blocks could not be created. See
+     *     {@link #createAnimatedBlocks(IAnimatedBlockFactory, AnimationContext)}.
+     */
+    private synchronized void finishStartAnimation(Animation<IAnimatedBlock> animation, @Nullable CreatedBlocks created)
+    {
+        // The mover was aborted while the animated blocks were being created.
+        if (isFinished.get())
+        {
+            if (created != null)
+            {
+                animatedBlockFactory.recycle(created.animatedBlocks());
+                animatedBlockFactory.recycle(created.interiorBlocks());
+            }
+            return;
+        }
+
+        // None of the original blocks have been removed yet, so there is nothing to restore.
+        if (created == null)
+        {
+            doorActivityManager.processFinishedBlockMover(this, false);
+            return;
+        }
+
+        animatedBlocks.addAll(created.animatedBlocks());
+        animatedBlocks.trimToSize();
+        interiorBlocks.addAll(created.interiorBlocks());
+        interiorBlocks.trimToSize();
+        transformedBlocks.addAll(created.transformedBlocks());
+        transformedBlocks.trimToSize();
+        positions = new AnimatedBlockPositions(animatedBlocks);
+
+        if (skipAnimation)
+        {
+            transformBlocks(animation);
+            return;
+        }
+
+        // There is nothing to animate, so the blocks can be moved to their final position right away.
+        if (animatedBlocks.isEmpty())
+        {
+            if (!tryRemoveOriginalBlocks())
+                return;
+            originalBlocksRemoved = true;
+            animation.setState(AnimationState.SKIPPED);
+            this.hooks = animationHookManager.instantiateHooks(animation);
+            putBlocks(false);
+            return;
+        }
+
+        originalBlocksRemoved = true;
+        animation.setState(AnimationState.ACTIVE);
+        this.hooks = animationHookManager.instantiateHooks(animation);
+
+        spawnPlanner = new SpawnPlanner(animatedBlocks, interiorBlocks, world.getPlayerPositions(), spawnBudget,
+                                        this::newBlockChangeBatch);
+        if (processSpawnBatch(animation))
+            return;
+
+        final TimerTask task = new TimerTask()
+        {
+            @Override
+            public void run()
+            {
+                processSpawnBatch(animation);
+            }
+        };
+        spawnTask = task;
+        spawnTaskID = executor.runSyncRepeated(task, 1, 1);
+    }
+
+    /**
+     * Processes the next batch of the {@link #spawnPlanner}. Once all original blocks have been replaced by animated
+     * blocks, the animation is started.
+     * <p>
+     * This must be called on the main thread.
+     *
+     * @param animation
+     *     The animation to start once all blocks have been replaced.
+     * @return True if there are no more batches to process.
+     */
+    private synchronized boolean processSpawnBatch(Animation<IAnimatedBlock> animation)
+    {
+        final @Nullable SpawnPlanner planner = spawnPlanner;
+        if (planner == null)
+        {
+            cancelSpawning();
+            return true;
+        }
+
+        final @Nullable IAnimatedBlock changedBlock = planner.findChangedBlock();
+        if (changedBlock != null)
+        {
+            log.at(Level.FINE).log("Aborting animation of door %d: The block at %s changed before it could be removed.",
+                                   getDoorUID(), changedBlock.getStartPosition());
+            cancelSpawning();
+            handleInitFailure(planner.getRemovedBlocks());
+            return true;
+        }
+
+        try
+        {
+            if (!planner.processBatch())
+                return false;
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e)
+               .log("Failed to replace the original blocks. Trying to restore them now...");
+            cancelSpawning();
+            handleInitFailure(planner.getRemovedBlocks());
+            return true;
+        }
+
+        cancelSpawning();
+        animateEntities(animation);
+        return true;
+    }
+
+    /**
+     * Moves all {@link #transformedBlocks} to their final positions directly, without creating any animated blocks.
+     * <p>
+     * All original blocks are removed before any of the blocks is placed, so blocks whose final position overlaps with
+     * the original position of another block are not removed again.
+     * <p>
+     * This must be called on the main thread.
+     *
+     * @param animation
+     *     The skipped animation.
+     */
+    private synchronized void transformBlocks(Animation<IAnimatedBlock> animation)
+    {
+        for (final TransformedBlock block : transformedBlocks)
+            if (!block.blockData().isOriginalBlockUnchanged())
+            {
+                log.at(Level.FINE)
+                   .log("Aborting toggle of door %d: The block at %s changed before it could be removed.",
+                        getDoorUID(), block.originalPosition());
+                isFinished.set(true);
+                transformedBlocks.clear();
+                doorActivityManager.processFinishedBlockMover(this, false);
+                return;
+            }
+
+        try
+        {
+            final IBlockChangeBatch batch = newBlockChangeBatch();
+            for (final TransformedBlock block : transformedBlocks)
+                batch.deleteOriginalBlock(block.blockData(), false);
+            for (final TransformedBlock block : transformedBlocks)
+                if (block.onEdge())
+                    batch.deleteOriginalBlock(block.blockData(), true);
+            batch.apply();
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e)
+               .log("Failed to remove original blocks. Trying to restore blocks now...");
+            isFinished.set(true);
+            placeTransformedBlocks(false);
+            doorActivityManager.processFinishedBlockMover(this, false);
+            return;
+        }
+
+        originalBlocksRemoved = true;
+        animation.setState(AnimationState.SKIPPED);
+        this.hooks = animationHookManager.instantiateHooks(animation);
+        isFinished.set(true);
+
+        placeTransformedBlocks(true);
+        updateCoords(door);
+        hooks.onAnimationCompleted();
+        doorActivityManager.processFinishedBlockMover(this, true);
+    }
+
+    /**
+     * Places all {@link #transformedBlocks} and clears them afterwards.
+     *
+     * @param toFinalPosition
+     *     True to rotate the blocks and place them in their final positions, false to place them back in their
+     *     original positions.
+     */
+    private void placeTransformedBlocks(boolean toFinalPosition)
+    {
+        try
+        {
+            final IBlockChangeBatch batch = newBlockChangeBatch();
+            for (final TransformedBlock block : transformedBlocks)
+            {
+                if (toFinalPosition && rotatesBlocks)
+                    block.blockData().rotateBlock(openDirection);
+                batch.putBlock(block.blockData(), toFinalPosition ? block.finalPosition() : block.originalPosition());
+            }
+            batch.apply();
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e).log("Failed to place blocks of door: %d", getDoorUID());
+        }
+        transformedBlocks.clear();
+    }
+
+    /**
+     * Stops processing the batches of the {@link #spawnPlanner}.
+     */
+    private synchronized void cancelSpawning()
+    {
+        spawnPlanner = null;
+        if (spawnTask == null)
+            return;
+        executor.cancel(spawnTask, spawnTaskID);
+        spawnTask = null;
+    }
+
+    /**
+     * Creates a new {@link IBlockChangeBatch} for the world of the door.
+     */
+    private IBlockChangeBatch newBlockChangeBatch()
+    {
+        return animatedBlockFactory.newBlockChangeBatch(world);
+    }
+
+    /**
+     * Tries to remove the original blocks of all blocks in {@link #animatedBlocks} and {@link #interiorBlocks}.
+     * <p>
+     * All blocks are removed without applying physics first. Once all blocks have been removed, another pass is done
+     * over the blocks on the edge to apply physics to them.
+     * <p>
+     * If any of the original blocks changed since the blocks were created, the process is aborted before any of the
+     * original blocks are removed. If an exception is thrown while removing the original blocks, the process is
+     * finished using {@link #handleInitFailure()}.
+     *
+     * @return True if the original blocks could be removed. If something went wrong and the process had to be aborted,
+     * false is returned instead.
+     */
+    private boolean tryRemoveOriginalBlocks()
+    {
+        final @Nullable IAnimatedBlock changedBlock = findChangedBlock();
+        if (changedBlock != null)
+        {
+            log.at(Level.FINE).log("Aborting toggle of door %d: The block at %s changed before it could be removed.",
+                                   getDoorUID(), changedBlock.getStartPosition());
+            recycleAnimatedBlocks();
+            doorActivityManager.processFinishedBlockMover(this, false);
+            return false;
+        }
+
+        try
+        {
+            final IBlockChangeBatch batch = newBlockChangeBatch();
+            for (final IAnimatedBlock animatedBlock : animatedBlocks)
+                batch.deleteOriginalBlock(animatedBlock.getAnimatedBlockData(), false);
+            for (final IAnimatedBlock interiorBlock : interiorBlocks)
+                batch.deleteOriginalBlock(interiorBlock.getAnimatedBlockData(), false);
+
+            for (final IAnimatedBlock animatedBlock : animatedBlocks)
+                if (animatedBlock.isOnEdge())
+                    batch.deleteOriginalBlock(animatedBlock.getAnimatedBlockData(), true);
+            for (final IAnimatedBlock interiorBlock : interiorBlocks)
+                if (interiorBlock.isOnEdge())
+                    batch.deleteOriginalBlock(interiorBlock.getAnimatedBlockData(), true);
+
+            batch.apply();
+            return true;
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e)
+               .log("Failed to remove original blocks. Trying to restore blocks now...");
+            handleInitFailure();
+            return false;
+        }
+    }
+
+    /**
+     * Handles initialization failure.
+     * <p>
+     * This means that this block mover will be unregistered, that living animated blocks will be killed, and that we
+     * will attempt to restore blocks to their original positions.
+     */
+    private void handleInitFailure()
+    {
+        final List<IAnimatedBlock> removedBlocks = new ArrayList<>(animatedBlocks.size() + interiorBlocks.size());
+        removedBlocks.addAll(animatedBlocks);
+        removedBlocks.addAll(interiorBlocks);
+        handleInitFailure(removedBlocks);
+    }
+
+    /**
+     * Handles initialization failure when only some of the original blocks have been removed.
+     * <p>
+     * Only the original blocks that have been removed are restored, so the blocks that have not been removed yet are
+     * not overwritten in case they changed in the meantime.
+     *
+     * @param removedBlocks
+     *     The blocks whose original blocks have been removed.
+     */
+    private void handleInitFailure(Collection<IAnimatedBlock> removedBlocks)
+    {
+        restoreOriginalBlocks(removedBlocks);
+        doorActivityManager.processFinishedBlockMover(this, false);
+    }
+
+    /**
+     * Finds a block whose original block has changed since the block was created. See
+     * {@link IAnimatedBlockData#isOriginalBlockUnchanged()}.
+     *
+     * @return The first block in {@link #animatedBlocks} or {@link #interiorBlocks} whose original block has changed,
+     * or null if there is none.
+     */
+    private @Nullable IAnimatedBlock findChangedBlock()
+    {
+        for (final IAnimatedBlock animatedBlock : animatedBlocks)
+            if (!animatedBlock.getAnimatedBlockData().isOriginalBlockUnchanged())
+                return animatedBlock;
+        for (final IAnimatedBlock interiorBlock : interiorBlocks)
+            if (!interiorBlock.getAnimatedBlockData().isOriginalBlockUnchanged())
+                return interiorBlock;
+        return null;
+    }
+
+    /**
+     * Kills all animated blocks and places the removed blocks back in their original positions.
+     *
+     * @param removedBlocks
+     *     The blocks whose original blocks have been removed.
+     */
+    private void restoreOriginalBlocks(Collection<IAnimatedBlock> removedBlocks)
+    {
+        final IBlockChangeBatch batch = newBlockChangeBatch();
+        for (final IAnimatedBlock animatedBlock : animatedBlocks)
+        {
+            try
+            {
+                animatedBlock.kill();
+            }
+            catch (Exception e)
+            {
+                log.at(Level.SEVERE).withCause(e).log("Failed to kill animated block: %s", animatedBlock);
+            }
+        }
+        removedBlocks.forEach(removedBlock -> restoreOriginalBlock(batch, removedBlock));
+
+        try
+        {
+            batch.apply();
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e).log("Failed to restore blocks of door: %d", getDoorUID());
+        }
+        recycleAnimatedBlocks();
+    }
+
+    /**
+     * Hands all animated and interior blocks back to the {@link #animatedBlockFactory} and forgets about them.
+     * <p>
+     * This must only be called after all animated blocks have been killed and their blocks have been placed.
+     */
+    private void recycleAnimatedBlocks()
+    {
+        animatedBlockFactory.recycle(animatedBlocks);
+        animatedBlockFactory.recycle(interiorBlocks);
+        animatedBlocks.clear();
+        interiorBlocks.clear();
+    }
+
+    /**
+     * Places the block of an {@link IAnimatedBlock} back in its original position.
+     */
+    private static void restoreOriginalBlock(IBlockChangeBatch batch, IAnimatedBlock animatedBlock)
+    {
+        try
+        {
+            final Vector3Dd startPos = animatedBlock.getStartPosition();
+            final Vector3Di goalPos = new Vector3Di((int) startPos.x(),
+                                                    (int) Math.round(startPos.y()),
+                                                    (int) startPos.z());
+            batch.putBlock(animatedBlock.getAnimatedBlockData(), goalPos);
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e).log("Failed to restore block: %s", animatedBlock);
+        }
+    }
+
+    /**
+     * @param startLocation
+     *     The start location of a block.
+     * @param radius
+     *     The radius of the block to the rotation point.
+     * @return The final position of an {@link IAnimatedBlock}.
+     */
+    protected abstract Vector3Dd getFinalPosition(IVector3D startLocation, float radius);
+
+    /**
+     * Gets the inputs of {@link #getFinalPosition(IVector3D, float)}, {@link #getRadius(int, int, int)}, and
+     * {@link #getStartAngle(int, int, int)} that are not described by the {@link #openDirection}, the cuboids, and the
+     * rotation point of the door.
+     * <p>
+     * The trajectories of doors are cached in the {@link TrajectoryCache}, so movers that depend on any other input
+     * must override this method. Otherwise, they may reuse a trajectory that was computed for other inputs.
+     *
+     * @return An object that describes the other inputs of the trajectory, or null if there are none. This object must
+     * implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+     */
+    protected @Nullable Object getTrajectoryDiscriminator()
+    {
+        return null;
+    }
+
+    /**
+     * Runs a single step of the animation.
+     * <p>
+     * Implementations should write the goal position of every animated block into {@link #positions}. The animated
+     * blocks are moved to those goal positions after this method returns.
+     * <p>
+     * Implementations are encouraged to use {@link #forEachBlockIndex(IntConsumer)} to update the goal positions, so
+     * that the goal positions of large doors can be calculated in parallel.
+     *
+     * @param ticks
+     *     The number of ticks that have passed since the start of the animation.
+     */
+    protected abstract void executeAnimationStep(int ticks);
+
+    private void executeAnimationStep(int counter, Animation<IAnimatedBlock> animation)
+    {
+        executeAnimationStep(counter);
+
+        // The goal positions are absolute, so not moving the blocks during a step does not lose any movement. The
+        // blocks simply catch up during the next step.
+        if (skipMovement(counter))
+            return;
+        lastMovementTick = counter;
+
+        final @Nullable Cuboid region = getAnimationRegion(counter);
+        applyMovement(region == null);
+        dispatchBlocksMoved();
+
+        animation.setRegion(region == null ? getTrackedRegion() : region);
+        animation.setState(AnimationState.ACTIVE);
+    }
+
+    /**
+     * Checks if the animated blocks should not be moved during the current step because the {@link AnimationGovernor}
+     * only allows {@link AnimationGovernor.Fidelity#REDUCED_UPDATE_RATE}.
+     * <p>
+     * The blocks are moved at most every other tick in that case. Because ticks may be skipped, this compares against
+     * the tick at which the blocks were last moved rather than checking if the tick is odd.
+     * <p>
+     * Keyframed movers are never skipped while they are not forced to teleport their blocks. They only send updates at
+     * keyframes anyway, and their keyframe state has to be updated every tick to detect deviations in time.
+     *
+     * @param counter
+     *     The current tick of the animation.
+     * @return True if the animated blocks should not be moved during the current step.
+     */
+    private boolean skipMovement(int counter)
+    {
+        if (!fidelity.isAtMost(AnimationGovernor.Fidelity.REDUCED_UPDATE_RATE) || counter >= animationDuration)
+            return false;
+        if (movementMethod instanceof KeyframeMovementMethod &&
+            !fidelity.isAtMost(AnimationGovernor.Fidelity.TELEPORT_ONLY))
+            return false;
+        // The phase of a looping animation wraps around at the end of every cycle.
+        return counter >= lastMovementTick && counter - lastMovementTick < 2;
+    }
+
+    /**
+     * Selects the {@link MovementMethod} to use for the current tick.
+     * <p>
+     * When the {@link AnimationGovernor} forces the animated blocks to be teleported while they were moving using their
+     * velocity, the blocks are stopped first, so they do not drift away from the positions they are teleported to.
+     *
+     * @return The {@link MovementMethod} to use for the current tick.
+     */
+    private MovementMethod selectMovementMethod()
+    {
+        if (resumeWithTeleport)
+        {
+            resumeWithTeleport = false;
+            return MovementMethod.TELEPORT;
         }
 
-        animatedBlocks.trimToSize();
-
-        if (!tryRemoveOriginalBlocks(false) || !tryRemoveOriginalBlocks(true))
-            return;
-
-        final boolean animationSkipped = skipAnimation || animatedBlocks.isEmpty();
-        animation.setState(animationSkipped ? AnimationState.SKIPPED : AnimationState.ACTIVE);
-        this.hooks = animationHookManager.instantiateHooks(animation);
+        if (!fidelity.isAtMost(AnimationGovernor.Fidelity.TELEPORT_ONLY))
+            return this.movementMethod;
 
-        if (animationSkipped)
-            putBlocks(false);
-        else
-            animateEntities(animation);
+        if (this.movementMethod != MovementMethod.TELEPORT)
+            stopAnimatedBlocks();
+        return MovementMethod.TELEPORT;
     }
 
     /**
-     * Tries to remove the original blocks of all blocks in {@link #animatedBlocks}.
-     * <p>
-     * If an exception is thrown while removing the original blocks, the process is finished using
-     * {@link #handleInitFailure()}.
-     *
-     * @param edgePass
-     *     True to do a pass over the edges specifically.
-     * @return True if the original blocks could be spawned. If something went wrong and the process had to be aborted,
-     * false is returned instead.
+     * Sets the velocity of all animated blocks that are still moving to 0.
      */
-    private boolean tryRemoveOriginalBlocks(boolean edgePass)
+    private void stopAnimatedBlocks()
     {
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
+        for (int idx = 0; idx < positions.size(); ++idx)
         {
-            try
-            {
-                if (edgePass && !animatedBlock.isOnEdge())
-                    continue;
-                animatedBlock.getAnimatedBlockData().deleteOriginalBlock(edgePass);
-            }
-            catch (Exception e)
-            {
-                log.at(Level.SEVERE).withCause(e)
-                   .log("Failed to remove original block. Trying to restore blocks now...");
-                handleInitFailure();
-                return false;
-            }
+            if (positions.getVelocityX(idx) == 0 && positions.getVelocityY(idx) == 0 &&
+                positions.getVelocityZ(idx) == 0)
+                continue;
+            animatedBlocks.get(idx).setVelocity(0D, 0D, 0D);
+            positions.setVelocity(idx, 0D, 0D, 0D);
         }
-        return true;
     }
 
     /**
-     * Handles initialization failure.
+     * Suspends or resumes the animation of this mover.
      * <p>
-     * This means that this block mover will be unregistered, that living animated blocks will be killed, and that we
-     * will attempt to restore blocks to their original positions.
+     * While suspended, the animated blocks are not moved and no hooks are dispatched. Only the phase of the animation
+     * is advanced every tick. Once resumed, the animated blocks are teleported to the positions of the current phase,
+     * so the animation continues as if it had never been suspended.
+     * <p>
+     * This only has an effect on looping animations. Other animations always run until they are finished.
+     *
+     * @param suspended
+     *     True to suspend the animation, false to resume it.
      */
-    private void handleInitFailure()
+    public final void setSuspended(boolean suspended)
     {
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
+        if (this.suspended == suspended)
+            return;
+        this.suspended = suspended;
+        log.at(Level.FINEST).log("%s animation of door %d", suspended ? "Suspending" : "Resuming", getDoorUID());
+    }
+
+    /**
+     * Advances the phase of a suspended looping animation without moving any of the animated blocks.
+     *
+     * @param animation
+     *     The animation that is suspended.
+     */
+    private void advanceSuspendedPhase(Animation<IAnimatedBlock> animation)
+    {
+        if (!resumeWithTeleport)
         {
-            try
-            {
-                animatedBlock.kill();
-            }
-            catch (Exception e)
-            {
-                log.at(Level.SEVERE).withCause(e).log("Failed to kill animated block: %s", animatedBlock);
-            }
-            try
-            {
-                final Vector3Dd startPos = animatedBlock.getStartPosition();
-                final Vector3Di goalPos = new Vector3Di((int) startPos.x(),
-                                                        (int) Math.round(startPos.y()),
-                                                        (int) startPos.z());
-                animatedBlock.getAnimatedBlockData().putBlock(goalPos);
-            }
-            catch (Exception e)
-            {
-                log.at(Level.SEVERE).withCause(e).log("Failed to restore block: %s", animatedBlock);
-            }
+            stopAnimatedBlocks();
+            resumeWithTeleport = true;
         }
-        doorActivityManager.processFinishedBlockMover(this, false);
+
+        counter = getCyclePhase(clock.advance(Integer.MAX_VALUE));
+        animation.setStepsExecuted(counter);
     }
 
     /**
-     * @param startLocation
-     *     The start location of a block.
-     * @param radius
-     *     The radius of the block to the rotation point.
-     * @return The final position of an {@link IAnimatedBlock}.
+     * Gets the tick within the current cycle of a looping animation.
+     *
+     * @param ticks
+     *     The number of ticks that have passed since the start of the animation.
+     * @return The tick within the current cycle, ranging from 1 to {@link #animationDuration} (inclusive).
      */
-    protected abstract Vector3Dd getFinalPosition(IVector3D startLocation, float radius);
+    private int getCyclePhase(int ticks)
+    {
+        return animationDuration < 1 ? ticks : (ticks - 1) % animationDuration + 1;
+    }
 
     /**
-     * Runs a single step of the animation.
+     * Gets the region occupied by the animated blocks after their goal positions have been updated for a step of the
+     * animation.
+     * <p>
+     * Movers whose movement can be described in closed form (e.g. a rotation or a translation of the entire door)
+     * should override this method, so the region does not have to be derived from the positions of all animated blocks
+     * every step. See {@link #getTransformedRegion(UnaryOperator)}.
+     * <p>
+     * This is only used during the steps of the actual animation. The finishing steps always use the positions of the
+     * animated blocks.
      *
      * @param ticks
      *     The number of ticks that have passed since the start of the animation.
+     * @return The region occupied by the animated blocks, or null to derive the region from the positions of the
+     * animated blocks.
      */
-    protected abstract void executeAnimationStep(int ticks);
-
-    private void executeAnimationStep(int counter, Animation<IAnimatedBlock> animation)
+    protected @Nullable Cuboid getAnimationRegion(@SuppressWarnings("unused") int ticks)
     {
-        executeAnimationStep(counter);
+        return null;
+    }
 
-        animation.setRegion(getAnimationRegion());
-        animation.setState(AnimationState.ACTIVE);
+    /**
+     * Gets the region occupied by all blocks in the door after applying a transformation to their start positions.
+     * <p>
+     * Only the corners of the door are transformed, so this only works for transformations that preserve straight
+     * lines, such as rotations and translations.
+     *
+     * @param transformation
+     *     The transformation that maps the start position of a block to its goal position.
+     * @return The region occupied by the transformed door.
+     */
+    protected final Cuboid getTransformedRegion(UnaryOperator<Vector3Dd> transformation)
+    {
+        final RegionBounds bounds = new RegionBounds();
+        for (final double x : new double[]{xMin + 0.5, xMax + 0.5})
+            for (final double y : new double[]{yMin, yMax})
+                for (final double z : new double[]{zMin + 0.5, zMax + 0.5})
+                    bounds.add(transformation.apply(new Vector3Dd(x, y, z)));
+        return bounds.toCuboid();
     }
 
     /**
@@ -376,58 +1190,123 @@ public abstract class BlockMover
      * <p>
      * This should be used to finish up the animation by moving the animated blocks to their final positions
      * gracefully.
+     * <p>
+     * Just like {@link #executeAnimationStep(int)}, implementations should write the goal position of every animated
+     * block into {@link #positions}.
      *
      * @param counter
      *     The number of ticks since the animation started.
      */
     protected void executeFinishingStep(@SuppressWarnings("unused") int counter)
     {
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, animatedBlock.getFinalPosition());
+        forEachBlockIndex(idx -> positions.setGoal(idx, animatedBlocks.get(idx).getFinalPosition()));
     }
 
     private void executeFinishingStep(int counter, Animation<IAnimatedBlock> animation)
     {
         executeFinishingStep(counter);
+        applyMovement(true);
+        dispatchBlocksMoved();
 
-        animation.setRegion(getAnimationRegion());
+        animation.setRegion(getTrackedRegion());
         animation.setState(AnimationState.FINISHING);
     }
 
+    /**
+     * Runs an action for the index of every animated block in {@link #positions}.
+     * <p>
+     * When the number of animated blocks is at least {@link IConfigLoader#parallelAnimationThreshold()}, the indices
+     * are split into ranges that are processed in parallel using the common {@link ForkJoinPool}. Regardless of how the
+     * indices are processed, this method only returns once the action has been run for every index.
+     * <p>
+     * Because the action may be run concurrently on different threads, it must not write anything other than the goal
+     * position of the block with the provided index.
+     *
+     * @param action
+     *     The action to run for the index of every animated block.
+     */
+    protected final void forEachBlockIndex(IntConsumer action)
+    {
+        final int size = positions.size();
+        if (parallelAnimationThreshold > 0 && size >= parallelAnimationThreshold)
+            ForkJoinPool.commonPool().invoke(new IndexRangeAction(action, 0, size));
+        else
+            for (int idx = 0; idx < size; ++idx)
+                action.accept(idx);
+    }
+
+    /**
+     * Moves all animated blocks to the goal positions stored in {@link #positions} using the {@link #movementMethod}.
+     * When the {@link AnimationGovernor} only allows {@link AnimationGovernor.Fidelity#TELEPORT_ONLY}, the blocks are
+     * teleported instead.
+     * <p>
+     * Updates that would be smaller than the {@link #movementUpdateThreshold} are skipped.
+     *
+     * @param trackRegion
+     *     True to update the {@link #regionBounds} with the current positions of the animated blocks.
+     */
+    private void applyMovement(boolean trackRegion)
+    {
+        if (trackRegion)
+            regionBounds.reset();
+
+        final MovementMethod movementMethod = selectMovementMethod();
+
+        for (int idx = 0; idx < positions.size(); ++idx)
+        {
+            final IAnimatedBlock animatedBlock = animatedBlocks.get(idx);
+            movementMethod.apply(animatedBlock, positions, idx, movementUpdateThreshold);
+
+            final Vector3Dd currentPosition = animatedBlock.getCurrentPosition();
+            positions.setCurrent(idx, currentPosition);
+            if (trackRegion)
+                regionBounds.add(currentPosition);
+        }
+
+        // The blocks were teleported instead, so the keyframe state of the blocks does not describe their movement.
+        if (movementMethod != this.movementMethod)
+            positions.resetKeyframes();
+    }
+
+    /**
+     * @return The region described by the {@link #regionBounds}, or the current region of the door if no positions
+     * were tracked.
+     */
+    private Cuboid getTrackedRegion()
+    {
+        return regionBounds.isEmpty() ? door.getCuboid() : regionBounds.toCuboid();
+    }
+
     /**
      * Gracefully stops the animation: Freeze any animated blocks, kill the animation task and place the blocks in their
      * new location.
      */
     private synchronized void stopAnimation(Animation<IAnimatedBlock> animation)
     {
-        animation.setRegion(getAnimationRegion());
+        // The finishing steps have moved the blocks to their final positions, which are described by the new cuboid.
+        animation.setRegion(newCuboid);
         animation.setState(AnimationState.STOPPING);
 
         for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            animatedBlock.setVelocity(new Vector3Dd(0D, 0D, 0D));
+            animatedBlock.setVelocity(0D, 0D, 0D);
 
-        forEachHook("onAnimationEnding", IAnimationHook::onAnimationEnding);
+        hooks.onAnimationEnding();
 
         executor.runSync(() -> putBlocks(false));
-        if (moverTask == null)
-        {
-            log.at(Level.WARNING).log("MoverTask unexpectedly null for BlockMover:\n%s", this);
-            return;
-        }
-        executor.cancel(moverTask, moverTaskID);
+        doorActivityManager.unregisterAnimation(this);
 
         animation.setState(AnimationState.COMPLETED);
         animation.setRegion(door.getCuboid());
     }
 
     /**
-     * This method is called right before the animation is started and spawns the animated blocks.
+     * Hook that is called right before the animation is started, after all animated blocks have been spawned.
      * <p>
-     * Overriding methods should not forget to either call this method or spawn the animated blocks themselves.
+     * This does nothing by default. The animated blocks are spawned in batches before this is called, so movers do not
+     * have to spawn them here.
      */
     protected void prepareAnimation()
     {
-        animatedBlocks.forEach(IAnimatedBlock::spawn);
     }
 
     /**
@@ -446,44 +1325,77 @@ public abstract class BlockMover
             return;
         }
 
-        forEachHook("onPrepare", IAnimationHook::onPrepare);
+        hooks.onPrepare();
+
+        stopCount = animationDuration + Math.max(0, finishDuration);
+        this.animation = animation;
+        doorActivityManager.registerAnimation(this, START_DELAY);
+    }
+
+    /**
+     * Executes a single tick of the animation.
+     * <p>
+     * This method is called by the shared animation tick of the {@link DoorActivityManager} once every tick while the
+     * animation of this mover is registered.
+     */
+    void executeTick()
+    {
+        final @Nullable Animation<IAnimatedBlock> currentAnimation = animation;
+        if (currentAnimation == null || isFinished.get())
+            return;
 
-        final int stopCount = animationDuration + Math.max(0, finishDuration);
-        moverTask = new TimerTask()
+        if (looping && suspended)
         {
-            private int counter = 0;
-            private @Nullable Long startTime = null; // Initialize on the first run.
-            private long currentTime = System.nanoTime();
+            advanceSuspendedPhase(currentAnimation);
+            return;
+        }
 
-            @Override
-            public void run()
-            {
-                if (startTime == null)
-                    startTime = System.nanoTime();
-                forEachHook("onPreAnimationStep", IAnimationHook::onPreAnimationStep);
-                ++counter;
-
-                final long lastTime = currentTime;
-                currentTime = System.nanoTime();
-                startTime += currentTime - lastTime;
-
-                // After about 12620 ticks, the blocks will disappear.
-                // Respawning them before this happens, fixes the issue.
-                // TODO: Check if just resetting the tick value of the blocks works as well.
-                if (counter % 12_500 == 0)
-                    respawnBlocks();
-
-                if (counter > stopCount)
-                    stopAnimation(animation);
-                else if (counter > animationDuration)
-                    executeFinishingStep(counter, animation);
-                else
-                    executeAnimationStep(counter, animation);
-                animation.setStepsExecuted(counter);
-                forEachHook("onPostAnimationStep", IAnimationHook::onPostAnimationStep);
-            }
-        };
-        moverTaskID = executor.runAsyncRepeated(moverTask, 14, 1);
+        final long tickStart = System.nanoTime();
+        fidelity = doorActivityManager.getAnimationFidelity(getAnimatedBlockCount());
+        hooks.onPreAnimationStep();
+        final long movementStart = System.nanoTime();
+        blocksMovedHookNanos = 0;
+
+        // The counter is derived from the time that has passed, so ticks that were executed late or not at all do
+        // not stretch the animation. The last step of the animation is never skipped, so the finishing steps only
+        // have to cover the final snap to the block grid.
+        if (looping)
+        {
+            final int ticks = clock.advance(Integer.MAX_VALUE);
+            // The phase wraps around at the end of every cycle, so the positions need the ticks since the start.
+            positions.setTick(ticks);
+            counter = getCyclePhase(ticks);
+            executeAnimationStep(counter, currentAnimation);
+        }
+        else
+        {
+            counter = clock.advance(animationDuration);
+            positions.setTick(counter);
+            if (counter > stopCount)
+                stopAnimation(currentAnimation);
+            else if (counter > animationDuration)
+                executeFinishingStep(counter, currentAnimation);
+            else
+                executeAnimationStep(counter, currentAnimation);
+        }
+        currentAnimation.setStepsExecuted(counter);
+
+        final long movementEnd = System.nanoTime();
+        hooks.onPostAnimationStep();
+        final long tickEnd = System.nanoTime();
+
+        final long hookNanos = (movementStart - tickStart) + blocksMovedHookNanos + (tickEnd - movementEnd);
+        final long movementNanos = movementEnd - movementStart - blocksMovedHookNanos;
+        if (timings.recordTick(counter > animationDuration, movementNanos, hookNanos, tickEnd - tickStart))
+            log.at(Level.FINER).log("Tick %d of door %d took %.3fms for %d blocks!", counter, getDoorUID(),
+                                    (tickEnd - tickStart) / 1_000_000D, getAnimatedBlockCount());
+    }
+
+    private void dispatchBlocksMoved()
+    {
+        final long start = System.nanoTime();
+        hooks.onBlocksMoved(positions);
+        blocksMovedHookNanos += System.nanoTime() - start;
     }
 
     /**
@@ -521,10 +1433,9 @@ public abstract class BlockMover
     /**
      * Places the block of an {@link IAnimatedBlock}.
      */
-    private void putSavedBlock(IAnimatedBlock animatedBlock)
+    private static void putSavedBlock(IBlockChangeBatch batch, IAnimatedBlock animatedBlock)
     {
-        animatedBlock.kill();
-        animatedBlock.getAnimatedBlockData().putBlock(animatedBlock.getFinalPosition());
+        batch.putBlock(animatedBlock.getAnimatedBlockData(), animatedBlock.getFinalPosition().floor().toInteger());
     }
 
     /**
@@ -542,15 +1453,25 @@ public abstract class BlockMover
         if (isFinished.getAndSet(true))
             return;
 
+        final IBlockChangeBatch batch = newBlockChangeBatch();
         for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            putSavedBlock(animatedBlock);
+        {
+            animatedBlock.kill();
+            putSavedBlock(batch, animatedBlock);
+        }
+        for (final IAnimatedBlock interiorBlock : interiorBlocks)
+            putSavedBlock(batch, interiorBlock);
+        batch.apply();
 
         // Tell the door object it has been opened and what its new coordinates are.
         updateCoords(door);
 
-        animatedBlocks.clear();
+        recycleAnimatedBlocks();
+
+        hooks.onAnimationCompleted();
 
-        forEachHook("onAnimationCompleted", IAnimationHook::onAnimationCompleted);
+        if (timings.getOverrunTicks() > 0)
+            log.at(Level.FINE).log("Animation of door %d exceeded the tick budget: %s", getDoorUID(), timings);
 
         if (onDisable)
             return;
@@ -596,54 +1517,58 @@ public abstract class BlockMover
         return door;
     }
 
-    private Cuboid getAnimationRegion()
+    /**
+     * Gets the number of blocks that are moved every step of the animation.
+     *
+     * @return The number of blocks that are moved every step of the animation.
+     */
+    public final int getAnimatedBlockCount()
     {
-        double xMin = Double.MAX_VALUE;
-        double yMin = Double.MAX_VALUE;
-        double zMin = Double.MAX_VALUE;
-
-        double xMax = Double.MIN_VALUE;
-        double yMax = Double.MIN_VALUE;
-        double zMax = Double.MIN_VALUE;
+        return positions.size();
+    }
 
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-        {
-            final Vector3Dd pos = animatedBlock.getPosition();
-            if (pos.x() < xMin)
-                xMin = pos.x();
-            else if (pos.x() > xMax)
-                xMax = pos.x();
+    /**
+     * Runs an action for every index in a range of indices by recursively splitting the range into smaller ranges that
+     * can be processed in parallel.
+     */
+    private static final class IndexRangeAction extends RecursiveAction
+    {
+        /**
+         * The maximum number of indices to process in a single task before splitting it up.
+         */
+        private static final int MAX_RANGE_SIZE = 512;
 
-            if (pos.y() < yMin)
-                yMin = pos.y();
-            else if (pos.y() > yMax)
-                yMax = pos.y();
+        private final transient IntConsumer action;
+        private final int start;
+        private final int end;
 
-            if (pos.z() < zMin)
-                zMin = pos.z();
-            else if (pos.z() > zMax)
-                zMax = pos.z();
+        /**
+         * @param action
+         *     The action to run for every index.
+         * @param start
+         *     The first index of the range (inclusive).
+         * @param end
+         *     The last index of the range (exclusive).
+         */
+        private IndexRangeAction(IntConsumer action, int start, int end)
+        {
+            this.action = action;
+            this.start = start;
+            this.end = end;
         }
-        return Cuboid.of(new Vector3Dd(xMin, yMin, zMin), new Vector3Dd(xMax, yMax, zMax), Cuboid.RoundingMode.OUTWARD);
-    }
-
-    private void forEachHook(String actionName, Consumer<IAnimationHook<IAnimatedBlock>> call)
-    {
-        if (hooks == null)
-            return;
 
-        for (final IAnimationHook<IAnimatedBlock> hook : hooks)
+        @Override
+        protected void compute()
         {
-            log.at(Level.FINEST).log("Executing '%s' for hook '%s'!", actionName, hook.getName());
-            try
-            {
-                call.accept(hook);
-            }
-            catch (Exception e)
+            if (end - start <= MAX_RANGE_SIZE)
             {
-                log.at(Level.SEVERE).withCause(e)
-                   .log("Failed to execute '%s' for hook '%s'!", actionName, hook.getName());
+                for (int idx = start; idx < end; ++idx)
+                    action.accept(idx);
+                return;
             }
+
+            final int middle = (start + end) >>> 1;
+            invokeAll(new IndexRangeAction(action, start, middle), new IndexRangeAction(action, middle, end));
         }
     }
 
@@ -657,12 +1582,15 @@ public abstract class BlockMover
         private final IPExecutor executor;
         private final IAnimatedBlockFactory animatedBlockFactory;
         private final AnimationHookManager animationHookManager;
+        private final TrajectoryCache trajectoryCache;
+        private final IConfigLoader config;
 
         @Inject
         public Context(
             DoorActivityManager doorActivityManager, AutoCloseScheduler autoCloseScheduler,
             IPLocationFactory locationFactory, IAudioPlayer audioPlayer, IPExecutor executor,
-            IAnimatedBlockFactory animatedBlockFactory, AnimationHookManager animationHookManager)
+            IAnimatedBlockFactory animatedBlockFactory, AnimationHookManager animationHookManager,
+            TrajectoryCache trajectoryCache, IConfigLoader config)
         {
             this.doorActivityManager = doorActivityManager;
             this.autoCloseScheduler = autoCloseScheduler;
@@ -671,6 +1599,40 @@ public abstract class BlockMover
             this.executor = executor;
             this.animatedBlockFactory = animatedBlockFactory;
             this.animationHookManager = animationHookManager;
+            this.trajectoryCache = trajectoryCache;
+            this.config = config;
+        }
+    }
+
+    /**
+     * Describes how smooth the paths along which the animated blocks of a mover move are.
+     * <p>
+     * This is used by {@link MovementMethod#keyframed(PathSmoothness)} to determine how often the animated blocks have
+     * to be updated.
+     */
+    public enum PathSmoothness
+    {
+        /**
+         * The blocks move along straight lines at a constant speed (e.g. when the entire door is translated).
+         */
+        LINEAR(40, 0.05D),
+
+        /**
+         * The blocks move along smooth curves at a constant speed (e.g. when the entire door is rotated).
+         */
+        CURVED(10, 0.1D),
+
+        /**
+         * The movement of the blocks cannot be predicted, so they are updated every step.
+         */
+        IRREGULAR(1, 0D),
+        ;
+
+        private final MovementMethod keyframeMovementMethod;
+
+        PathSmoothness(int maxKeyframeInterval, double maxDeviation)
+        {
+            keyframeMovementMethod = new KeyframeMovementMethod(this, maxKeyframeInterval, maxDeviation);
         }
     }
 
@@ -691,10 +1653,42 @@ public abstract class BlockMover
          */
         public static final MovementMethod VELOCITY = new MovementMethod("VELOCITY")
         {
+            private static final double VELOCITY_MULTIPLIER = 0.101;
+
             @Override
             public void apply(IAnimatedBlock animatedBlock, Vector3Dd goalPos)
             {
-                animatedBlock.setVelocity(goalPos.subtract(animatedBlock.getCurrentPosition()).multiply(0.101));
+                apply(animatedBlock, goalPos.x(), goalPos.y(), goalPos.z());
+            }
+
+            @Override
+            public void apply(IAnimatedBlock animatedBlock, double goalX, double goalY, double goalZ)
+            {
+                final Vector3Dd currentPos = animatedBlock.getCurrentPosition();
+                animatedBlock.setVelocity((goalX - currentPos.x()) * VELOCITY_MULTIPLIER,
+                                          (goalY - currentPos.y()) * VELOCITY_MULTIPLIER,
+                                          (goalZ - currentPos.z()) * VELOCITY_MULTIPLIER);
+            }
+
+            @Override
+            public boolean apply(
+                IAnimatedBlock animatedBlock, AnimatedBlockPositions positions, int index, double threshold)
+            {
+                final Vector3Dd currentPos = animatedBlock.getCurrentPosition();
+                final double velocityX = (positions.getGoalX(index) - currentPos.x()) * VELOCITY_MULTIPLIER;
+                final double velocityY = (positions.getGoalY(index) - currentPos.y()) * VELOCITY_MULTIPLIER;
+                final double velocityZ = (positions.getGoalZ(index) - currentPos.z()) * VELOCITY_MULTIPLIER;
+
+                // The block keeps moving with its previous velocity, so there is no need to update it if the new
+                // velocity is (almost) the same.
+                if (Math.abs(velocityX - positions.getVelocityX(index)) < threshold &&
+                    Math.abs(velocityY - positions.getVelocityY(index)) < threshold &&
+                    Math.abs(velocityZ - positions.getVelocityZ(index)) < threshold)
+                    return false;
+
+                animatedBlock.setVelocity(velocityX, velocityY, velocityZ);
+                positions.setVelocity(index, velocityX, velocityY, velocityZ);
+                return true;
             }
         };
 
@@ -708,6 +1702,21 @@ public abstract class BlockMover
             {
                 animatedBlock.teleport(goalPos);
             }
+
+            @Override
+            public boolean apply(
+                IAnimatedBlock animatedBlock, AnimatedBlockPositions positions, int index, double threshold)
+            {
+                // The current position is the position the block was last teleported to. Because the goal positions
+                // are absolute, skipping an update here does not lose any movement; the next update that is applied
+                // simply includes it.
+                if (Math.abs(positions.getGoalX(index) - positions.getCurrentX(index)) < threshold &&
+                    Math.abs(positions.getGoalY(index) - positions.getCurrentY(index)) < threshold &&
+                    Math.abs(positions.getGoalZ(index) - positions.getCurrentZ(index)) < threshold)
+                    return false;
+
+                return super.apply(animatedBlock, positions, index, threshold);
+            }
         };
 
         private final String name;
@@ -717,6 +1726,25 @@ public abstract class BlockMover
             this.name = name;
         }
 
+        /**
+         * Gets a movement method that only updates the animated blocks at keyframes and relies on the interpolation of
+         * the clients in between.
+         * <p>
+         * At every keyframe, a block is teleported to its goal position and given the velocity it had between the
+         * previous and the current step, divided by the number of ticks between those steps. Until the next keyframe,
+         * the block keeps moving with that velocity without any updates being sent. A new keyframe is created once the
+         * maximum number of ticks between keyframes for the provided {@link PathSmoothness} has passed, or as soon as
+         * the block has deviated too much from its goal position (e.g. because its path is curved).
+         *
+         * @param pathSmoothness
+         *     How smooth the paths of the animated blocks are.
+         * @return The keyframed movement method for the provided smoothness.
+         */
+        public static MovementMethod keyframed(PathSmoothness pathSmoothness)
+        {
+            return pathSmoothness.keyframeMovementMethod;
+        }
+
         public String name()
         {
             return name;
@@ -726,5 +1754,142 @@ public abstract class BlockMover
          * Moves an animated block to a given goal position using the specified method.
          */
         public abstract void apply(IAnimatedBlock animatedBlock, Vector3Dd goalPos);
+
+        /**
+         * Moves an animated block to a given goal position using the specified method.
+         * <p>
+         * Implementations should override this method if they can avoid creating a new {@link Vector3Dd} for the goal
+         * position.
+         */
+        public void apply(IAnimatedBlock animatedBlock, double goalX, double goalY, double goalZ)
+        {
+            apply(animatedBlock, new Vector3Dd(goalX, goalY, goalZ));
+        }
+
+        /**
+         * Moves an animated block to its goal position as stored in the provided {@link AnimatedBlockPositions}.
+         * <p>
+         * Implementations may skip the update if it would differ less than the provided threshold from the previous
+         * update of the block. By default, the block is always updated.
+         *
+         * @param animatedBlock
+         *     The animated block to move.
+         * @param positions
+         *     The positions of all animated blocks in the animation.
+         * @param index
+         *     The index of the animated block in the positions.
+         * @param threshold
+         *     The minimum change required for an update to be applied.
+         * @return True if the animated block was updated.
+         */
+        public boolean apply(
+            IAnimatedBlock animatedBlock, AnimatedBlockPositions positions, int index, double threshold)
+        {
+            apply(animatedBlock, positions.getGoalX(index), positions.getGoalY(index), positions.getGoalZ(index));
+            return true;
+        }
+    }
+
+    /**
+     * See {@link MovementMethod#keyframed(PathSmoothness)}.
+     */
+    private static final class KeyframeMovementMethod extends MovementMethod
+    {
+        /**
+         * The maximum number of ticks between two keyframes of a block.
+         */
+        private final int maxKeyframeInterval;
+
+        /**
+         * The maximum distance (along any axis) a block may deviate from its goal position before a new keyframe is
+         * created.
+         */
+        private final double maxDeviation;
+
+        private KeyframeMovementMethod(PathSmoothness pathSmoothness, int maxKeyframeInterval, double maxDeviation)
+        {
+            super("KEYFRAME_" + pathSmoothness.name());
+            this.maxKeyframeInterval = maxKeyframeInterval;
+            this.maxDeviation = maxDeviation;
+        }
+
+        @Override
+        public void apply(IAnimatedBlock animatedBlock, Vector3Dd goalPos)
+        {
+            // Without the keyframe state of the block, there is no way to tell how it should move after this update.
+            animatedBlock.teleport(goalPos);
+            animatedBlock.setVelocity(0D, 0D, 0D);
+        }
+
+        @Override
+        public boolean apply(
+            IAnimatedBlock animatedBlock, AnimatedBlockPositions positions, int index, double threshold)
+        {
+            final double goalX = positions.getGoalX(index);
+            final double goalY = positions.getGoalY(index);
+            final double goalZ = positions.getGoalZ(index);
+
+            // The velocity is applied every tick, but steps may be more than a single tick apart.
+            final int ticks = positions.getTicksSincePreviousGoal(index);
+            final double velocityX = (goalX - positions.getPreviousGoalX(index)) / ticks;
+            final double velocityY = (goalY - positions.getPreviousGoalY(index)) / ticks;
+            final double velocityZ = (goalZ - positions.getPreviousGoalZ(index)) / ticks;
+            final int ticksSinceKeyframe = positions.advanceKeyframeStep(index);
+
+            // Between keyframes, the block moves with the velocity of the previous keyframe.
+            final Vector3Dd currentPos = animatedBlock.getCurrentPosition();
+            final double deviation = Math.max(Math.abs(goalX - currentPos.x()),
+                                              Math.max(Math.abs(goalY - currentPos.y()),
+                                                       Math.abs(goalZ - currentPos.z())));
+            if (ticksSinceKeyframe < maxKeyframeInterval && deviation <= maxDeviation)
+                return false;
+
+            // The block is always teleported, even if it did not deviate on the server, to correct any drift caused by
+            // the interpolation of the clients.
+            positions.resetKeyframeStep(index);
+            animatedBlock.teleport(new Vector3Dd(goalX, goalY, goalZ));
+
+            if (Math.abs(velocityX - positions.getVelocityX(index)) >= threshold ||
+                Math.abs(velocityY - positions.getVelocityY(index)) >= threshold ||
+                Math.abs(velocityZ - positions.getVelocityZ(index)) >= threshold)
+            {
+                animatedBlock.setVelocity(velocityX, velocityY, velocityZ);
+                positions.setVelocity(index, velocityX, velocityY, velocityZ);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Represents a block that is moved to its final position directly when the animation is skipped.
+     *
+     * @param blockData
+     *     The block to move.
+     * @param originalPosition
+     *     The position of the block before the toggle.
+     * @param finalPosition
+     *     The position of the block after the toggle.
+     * @param onEdge
+     *     True if the block is on the edge of the door.
+     */
+    private record TransformedBlock(
+        IAnimatedBlockData blockData, Vector3Di originalPosition, Vector3Di finalPosition, boolean onEdge)
+    {
+    }
+
+    /**
+     * The blocks created by {@link #createAnimatedBlocks(IAnimatedBlockFactory, AnimationContext)}.
+     *
+     * @param animatedBlocks
+     *     The blocks to add to {@link #animatedBlocks}.
+     * @param interiorBlocks
+     *     The blocks to add to {@link #interiorBlocks}.
+     * @param transformedBlocks
+     *     The blocks to add to {@link #transformedBlocks}.
+     */
+    private record CreatedBlocks(
+        ArrayList<IAnimatedBlock> animatedBlocks, ArrayList<IAnimatedBlock> interiorBlocks,
+        ArrayList<TransformedBlock> transformedBlocks)
+    {
     }
 }
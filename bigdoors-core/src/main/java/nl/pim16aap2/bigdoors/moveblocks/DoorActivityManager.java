@@ -3,6 +3,8 @@ package nl.pim16aap2.bigdoors.moveblocks;
 import dagger.Lazy;
 import nl.pim16aap2.bigdoors.api.IConfigLoader;
 import nl.pim16aap2.bigdoors.api.IPExecutor;
+import nl.pim16aap2.bigdoors.api.debugging.DebuggableRegistry;
+import nl.pim16aap2.bigdoors.api.debugging.IDebuggable;
 import nl.pim16aap2.bigdoors.api.factories.IBigDoorsEventFactory;
 import nl.pim16aap2.bigdoors.api.restartable.Restartable;
 import nl.pim16aap2.bigdoors.api.restartable.RestartableHolder;
@@ -11,6 +13,7 @@ import nl.pim16aap2.bigdoors.doors.DoorBase;
 import nl.pim16aap2.bigdoors.doors.doorarchetypes.ITimerToggleable;
 import nl.pim16aap2.bigdoors.events.IDoorEventCaller;
 import nl.pim16aap2.bigdoors.util.Constants;
+import nl.pim16aap2.util.SafeStringBuilder;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -25,7 +28,7 @@ import java.util.stream.Stream;
  * @author Pim
  */
 @Singleton
-public final class DoorActivityManager extends Restartable
+public final class DoorActivityManager extends Restartable implements IDebuggable
 {
     private final Map<Long, Optional<BlockMover>> busyDoors = new ConcurrentHashMap<>();
 
@@ -34,6 +37,9 @@ public final class DoorActivityManager extends Restartable
     private final IPExecutor executor;
     private final IBigDoorsEventFactory eventFactory;
     private final IDoorEventCaller doorEventCaller;
+    private final AnimationScheduler animationScheduler;
+    private final AnimationGovernor animationGovernor;
+    private final AnimationAdmissionController admissionController;
 
     /**
      * Constructs a new {@link DoorActivityManager}.
@@ -42,11 +48,16 @@ public final class DoorActivityManager extends Restartable
      *     The {@link RestartableHolder} that manages this object.
      * @param autoCloseScheduler
      *     The {@link AutoCloseScheduler} to use for scheduling auto close actions when required.
+     * @param debuggableRegistry
+     *     The {@link DebuggableRegistry} used to report the timings of the active animations.
+     * @param animationGovernor
+     *     The {@link AnimationGovernor} that determines the fidelity of the animations based on the load.
      */
     @Inject
     public DoorActivityManager(RestartableHolder holder, Lazy<AutoCloseScheduler> autoCloseScheduler,
                                IConfigLoader config, IPExecutor executor, IBigDoorsEventFactory eventFactory,
-                               IDoorEventCaller doorEventCaller)
+                               IDoorEventCaller doorEventCaller, DebuggableRegistry debuggableRegistry,
+                               AnimationGovernor animationGovernor)
     {
         super(holder);
         this.autoCloseScheduler = autoCloseScheduler;
@@ -54,6 +65,10 @@ public final class DoorActivityManager extends Restartable
         this.executor = executor;
         this.eventFactory = eventFactory;
         this.doorEventCaller = doorEventCaller;
+        this.animationGovernor = animationGovernor;
+        animationScheduler = new AnimationScheduler(executor, animationGovernor);
+        admissionController = new AnimationAdmissionController(config, executor, animationGovernor);
+        debuggableRegistry.registerDebuggable(this);
     }
 
     /**
@@ -111,6 +126,7 @@ public final class DoorActivityManager extends Restartable
      */
     void processFinishedBlockMover(BlockMover blockMover, boolean allowReschedule)
     {
+        admissionController.release(blockMover);
         final int delay = Math.max(Constants.MINIMUM_DOOR_DELAY, config.coolDown() * 20);
 
         executor.runSyncLater(() -> handleFinishedBlockMover(blockMover, allowReschedule), delay);
@@ -146,12 +162,80 @@ public final class DoorActivityManager extends Restartable
         busyDoors.replace(mover.getDoorUID(), Optional.of(mover));
     }
 
+    /**
+     * Requests admission for the animation of a {@link BlockMover}, so the total number of concurrently animated blocks
+     * stays within {@link IConfigLoader#maxConcurrentAnimatedBlocks()}.
+     * <p>
+     * Once admitted, {@link BlockMover#onAdmitted(boolean)} is called. The admission is released again when the mover
+     * is processed using {@link #processFinishedBlockMover(BlockMover, boolean)}.
+     *
+     * @param mover
+     *     The {@link BlockMover} whose animation to start.
+     * @param blockCount
+     *     The number of blocks the animation will animate.
+     * @param canSkip
+     *     Whether the mover can skip its animation instead of being queued when the queue is full.
+     */
+    void requestAdmission(BlockMover mover, int blockCount, boolean canSkip)
+    {
+        admissionController.requestAdmission(mover, blockCount, canSkip);
+    }
+
+    /**
+     * Registers the animation of a {@link BlockMover} with the shared animation tick.
+     * <p>
+     * Once registered, {@link BlockMover#executeTick()} is called once every tick until the mover is unregistered
+     * again using {@link #unregisterAnimation(BlockMover)}.
+     *
+     * @param mover
+     *     The {@link BlockMover} whose animation to start.
+     * @param delay
+     *     The number of ticks to wait before the first step of the animation.
+     */
+    void registerAnimation(BlockMover mover, int delay)
+    {
+        animationScheduler.register(mover, delay);
+    }
+
+    /**
+     * Unregisters the animation of a {@link BlockMover} from the shared animation tick.
+     *
+     * @param mover
+     *     The {@link BlockMover} whose animation to stop.
+     */
+    void unregisterAnimation(BlockMover mover)
+    {
+        animationScheduler.unregister(mover);
+    }
+
+    /**
+     * Gets the fidelity that animations should currently be executed at.
+     *
+     * @return The current fidelity of animations.
+     */
+    public AnimationGovernor.Fidelity getAnimationFidelity()
+    {
+        return animationGovernor.getFidelity();
+    }
+
+    /**
+     * Gets the fidelity that an active animation should currently be executed at.
+     *
+     * @param ownBlocks
+     *     The number of blocks animated by the animation itself. These are not counted against the budget of animated
+     *     blocks, so an animation does not throttle itself. See {@link AnimationGovernor#getFidelity(int)}.
+     * @return The current fidelity of the animation.
+     */
+    public AnimationGovernor.Fidelity getAnimationFidelity(int ownBlocks)
+    {
+        return animationGovernor.getFidelity(ownBlocks);
+    }
+
     /**
      * Gets all the currently active {@link BlockMover}s.
      *
      * @return All the currently active {@link BlockMover}s.
      */
-    @SuppressWarnings("unused")
     public Stream<BlockMover> getBlockMovers()
     {
         return busyDoors.values().stream().filter(Optional::isPresent).map(Optional::get);
@@ -184,11 +268,28 @@ public final class DoorActivityManager extends Restartable
     {
         busyDoors.forEach((key, value) -> value.ifPresent(BlockMover::abort));
         emptyBusyDoors();
+        admissionController.clear();
     }
 
     @Override
     public void shutDown()
     {
         stopDoors();
+        animationScheduler.stop();
+    }
+
+    @Override
+    public String getDebugInformation()
+    {
+        final SafeStringBuilder sb = new SafeStringBuilder("Registered animations: ")
+            .append(animationScheduler.getRegisteredCount())
+            .append("\nAnimation fidelity: ").append(animationGovernor.getFidelity())
+            .append("\nAdmitted blocks: ").append(admissionController.getActiveBlocks())
+            .append("\nQueued animations: ").append(admissionController.getQueuedCount()).append('\n');
+        getBlockMovers().forEach(
+            mover -> sb.append("- Door ").append(mover.getDoorUID())
+                       .append(" (").append(mover.getAnimatedBlockCount()).append(" blocks): ")
+                       .append(mover.getTimings()).append('\n'));
+        return sb.toString();
     }
 }
@@ -0,0 +1,130 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Represents a precomputed lookup table for a motion that depends only on the tick of the animation and the ring of a
+ * block.
+ * <p>
+ * A ring is a group of blocks that all follow the same motion, e.g. all blocks at the same distance from the rotation
+ * point of a door. Movers can use this class to evaluate expensive functions (e.g. trigonometric functions) only once
+ * per tick and ring for the entire animation instead of once per block every tick.
+ *
+ * @author Pim
+ */
+public final class MotionTable
+{
+    private final int tickCount;
+    private final int ringCount;
+    private final double[] values;
+
+    private MotionTable(int tickCount, int ringCount, double[] values)
+    {
+        this.tickCount = tickCount;
+        this.ringCount = ringCount;
+        this.values = values;
+    }
+
+    /**
+     * Creates a new {@link MotionTable} by evaluating a function for every tick in [0, ticks] and every ring in [0,
+     * rings).
+     *
+     * @param ticks
+     *     The last tick (inclusive) to evaluate the function for.
+     * @param rings
+     *     The number of rings to evaluate the function for.
+     * @param function
+     *     The function describing the motion.
+     * @return The new {@link MotionTable}.
+     */
+    public static MotionTable of(int ticks, int rings, MotionFunction function)
+    {
+        if (ticks < 0)
+            throw new IllegalArgumentException("The number of ticks cannot be negative! Received: " + ticks);
+        if (rings < 1)
+            throw new IllegalArgumentException("A motion table needs at least one ring! Received: " + rings);
+
+        final int tickCount = ticks + 1;
+        final double[] values = new double[tickCount * rings];
+        for (int ring = 0; ring < rings; ++ring)
+        {
+            final int offset = ring * tickCount;
+            for (int tick = 0; tick < tickCount; ++tick)
+                values[offset + tick] = function.apply(tick, ring);
+        }
+        return new MotionTable(tickCount, rings, values);
+    }
+
+    /**
+     * Creates a new {@link MotionTable} with a single ring by evaluating a function for every tick in [0, ticks].
+     *
+     * @param ticks
+     *     The last tick (inclusive) to evaluate the function for.
+     * @param function
+     *     The function describing the motion.
+     * @return The new {@link MotionTable}.
+     */
+    public static MotionTable of(int ticks, IntToDoubleFunction function)
+    {
+        return of(ticks, 1, (tick, ring) -> function.applyAsDouble(tick));
+    }
+
+    /**
+     * Gets the precomputed value for a given tick and ring.
+     *
+     * @param tick
+     *     The tick. Values outside the range of the table are clamped to the first or the last tick.
+     * @param ring
+     *     The ring. This must be in the range [0, {@link #getRingCount()}).
+     * @return The precomputed value.
+     */
+    public double get(int tick, int ring)
+    {
+        final int clampedTick = tick < 0 ? 0 : Math.min(tick, tickCount - 1);
+        return values[ring * tickCount + clampedTick];
+    }
+
+    /**
+     * Gets the precomputed value for a given tick of the first ring.
+     *
+     * @param tick
+     *     The tick. Values outside the range of the table are clamped to the first or the last tick.
+     * @return The precomputed value.
+     */
+    public double get(int tick)
+    {
+        return get(tick, 0);
+    }
+
+    /**
+     * @return The number of rings in this table.
+     */
+    public int getRingCount()
+    {
+        return ringCount;
+    }
+
+    /**
+     * @return The number of ticks in this table.
+     */
+    public int getTickCount()
+    {
+        return tickCount;
+    }
+
+    /**
+     * Represents a motion as a function of the tick of the animation and the ring of a block.
+     */
+    @FunctionalInterface
+    public interface MotionFunction
+    {
+        /**
+         * @param tick
+         *     The number of ticks since the start of the animation.
+         * @param ring
+         *     The ring of the block.
+         * @return The value of the motion for the given tick and ring.
+         */
+        double apply(int tick, int ring);
+    }
+}
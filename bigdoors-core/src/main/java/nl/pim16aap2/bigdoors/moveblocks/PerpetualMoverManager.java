@@ -0,0 +1,274 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.IChunkManager;
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import nl.pim16aap2.bigdoors.api.IPWorld;
+import nl.pim16aap2.bigdoors.api.restartable.Restartable;
+import nl.pim16aap2.bigdoors.api.restartable.RestartableHolder;
+import nl.pim16aap2.bigdoors.doors.AbstractDoor;
+import nl.pim16aap2.bigdoors.doors.DoorToggleRequestBuilder;
+import nl.pim16aap2.bigdoors.doors.doorarchetypes.IPerpetualMover;
+import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
+import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
+import nl.pim16aap2.bigdoors.managers.DatabaseManager;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.Util;
+import nl.pim16aap2.bigdoors.util.vector.Vector2Di;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimerTask;
+import java.util.logging.Level;
+
+/**
+ * Starts and stops the looping animations of {@link IPerpetualMover}s as the chunks they are in are loaded and
+ * unloaded.
+ * <p>
+ * The looping animation of a perpetual mover is started once the chunk containing its power block and all the chunks
+ * the door occupies are loaded. When the power block chunk is loaded before the other chunks, the door is kept pending
+ * until the last of its chunks is loaded. The animation is stopped again as soon as any of the chunks the door occupies
+ * is unloaded, after which the blocks are placed back in their original positions and the door is pending again until
+ * that chunk is reloaded. See {@link BlockMover#isLooping()}.
+ * <p>
+ * While no player is within {@link IConfigLoader#perpetualAnimationViewDistance()} of a perpetual mover, its animation
+ * is suspended. See {@link BlockMover#setSuspended(boolean)}.
+ *
+ * @author Pim
+ */
+@Singleton
+@Flogger
+public final class PerpetualMoverManager extends Restartable
+{
+    /**
+     * The number of ticks between two successive checks for players near the perpetual movers.
+     */
+    private static final int VIEWER_CHECK_PERIOD = 20;
+
+    private final DatabaseManager databaseManager;
+    private final DoorActivityManager doorActivityManager;
+    private final DoorToggleRequestBuilder doorToggleRequestBuilder;
+    private final IPExecutor executor;
+    private final IConfigLoader config;
+    private final IChunkManager chunkManager;
+
+    /**
+     * The perpetual movers whose power block chunk is loaded, but that are waiting for the other chunks they occupy to
+     * be loaded, mapped by their UID. Only accessed on the main thread.
+     */
+    private final Map<Long, AbstractDoor> pendingDoors = new HashMap<>();
+
+    private @Nullable TimerTask viewerCheckTask;
+
+    private int viewerCheckTaskID;
+
+    @Inject
+    public PerpetualMoverManager(
+        RestartableHolder holder, DatabaseManager databaseManager, DoorActivityManager doorActivityManager,
+        DoorToggleRequestBuilder doorToggleRequestBuilder, IPExecutor executor, IConfigLoader config,
+        IChunkManager chunkManager)
+    {
+        super(holder);
+        this.databaseManager = databaseManager;
+        this.doorActivityManager = doorActivityManager;
+        this.doorToggleRequestBuilder = doorToggleRequestBuilder;
+        this.executor = executor;
+        this.config = config;
+        this.chunkManager = chunkManager;
+    }
+
+    @Override
+    public synchronized void initialize()
+    {
+        cancelViewerCheckTask();
+        final TimerTask newTask = new TimerTask()
+        {
+            @Override
+            public void run()
+            {
+                updateSuspensions();
+            }
+        };
+        viewerCheckTask = newTask;
+        viewerCheckTaskID = executor.runSyncRepeated(newTask, VIEWER_CHECK_PERIOD, VIEWER_CHECK_PERIOD);
+    }
+
+    @Override
+    public synchronized void shutDown()
+    {
+        cancelViewerCheckTask();
+        pendingDoors.clear();
+    }
+
+    private void cancelViewerCheckTask()
+    {
+        if (viewerCheckTask == null)
+            return;
+        executor.cancel(viewerCheckTask, viewerCheckTaskID);
+        viewerCheckTask = null;
+    }
+
+    /**
+     * Suspends the looping animations of all perpetual movers that do not have any players nearby and resumes those
+     * that do.
+     * <p>
+     * This must be called on the main thread.
+     */
+    void updateSuspensions()
+    {
+        final int viewDistance = config.perpetualAnimationViewDistance();
+        // The positions of the players are retrieved only once per world, as there are usually many more movers than
+        // worlds.
+        final Map<String, List<Vector3Dd>> playerPositions = new HashMap<>();
+        doorActivityManager.getBlockMovers()
+                           .filter(BlockMover::isLooping)
+                           .filter(mover -> mover.getDoor() instanceof IPerpetualMover)
+                           .forEach(mover -> mover.setSuspended(
+                               viewDistance > 0 && !hasViewers(mover.getDoor(), viewDistance, playerPositions)));
+    }
+
+    private static boolean hasViewers(
+        AbstractDoor door, int viewDistance, Map<String, List<Vector3Dd>> playerPositions)
+    {
+        final IPWorld world = door.getWorld();
+        final Cuboid cuboid = door.getCuboid();
+        for (final Vector3Dd position : playerPositions.computeIfAbsent(world.worldName(),
+                                                                        key -> world.getPlayerPositions()))
+            if (cuboid.isInRange(position.floor().toInteger(), viewDistance))
+                return true;
+        return false;
+    }
+
+    /**
+     * Starts the looping animations of all perpetual movers whose power block is in a chunk that was loaded, as well as
+     * those of all pending perpetual movers that occupy the chunk.
+     * <p>
+     * The animations are only started once all the chunks the door occupies are loaded.
+     * <p>
+     * This must be called on the main thread after the chunk was loaded.
+     *
+     * @param world
+     *     The world the chunk is in.
+     * @param chunk
+     *     The coordinates of the chunk that was loaded.
+     */
+    public void onChunkLoad(IPWorld world, Vector2Di chunk)
+    {
+        for (final AbstractDoor door : new ArrayList<>(pendingDoors.values()))
+            if (isInChunk(door, world, chunk))
+                tryStartAnimation(world, door);
+
+        databaseManager.getDoorsInChunk(Util.getChunkId(chunk)).thenAccept(
+            doorUIDs -> doorUIDs.forEach(
+                doorUID -> databaseManager.getDoor(doorUID)
+                                          .thenAccept(door -> door.ifPresent(
+                                              val -> executor.runOnMainThread(() -> tryStartAnimation(world, val))))
+                                          .exceptionally(Util::exceptionally)))
+                       .exceptionally(Util::exceptionally);
+    }
+
+    /**
+     * Starts the looping animation of a perpetual mover if all the chunks it occupies are loaded. If not, the door is
+     * kept pending until they are.
+     * <p>
+     * This must be called on the main thread.
+     */
+    private void tryStartAnimation(IPWorld world, AbstractDoor door)
+    {
+        if (!(door instanceof IPerpetualMover) || !door.getWorld().worldName().equals(world.worldName()))
+            return;
+
+        if (!chunksLoaded(world, door))
+        {
+            log.at(Level.FINEST).log("Waiting for the chunks of door %d to be loaded", door.getDoorUID());
+            pendingDoors.put(door.getDoorUID(), door);
+            return;
+        }
+        pendingDoors.remove(door.getDoorUID());
+
+        log.at(Level.FINEST).log("Starting looping animation of door %d", door.getDoorUID());
+        doorToggleRequestBuilder.builder()
+                                .door(door)
+                                .doorActionCause(DoorActionCause.PERPETUALMOVEMENT)
+                                .doorActionType(DoorActionType.TOGGLE)
+                                .build().execute();
+    }
+
+    /**
+     * Stops the looping animations of all movers whose door occupies a chunk that is being unloaded.
+     * <p>
+     * When the power block of the door remains loaded, the door is kept pending, so its animation is started again once
+     * the chunk is reloaded. Pending doors whose power block is in the chunk are forgotten, as they will be found again
+     * when that chunk is reloaded.
+     * <p>
+     * This must be called on the main thread before the chunk is unloaded.
+     *
+     * @param world
+     *     The world the chunk is in.
+     * @param chunk
+     *     The coordinates of the chunk that is being unloaded.
+     */
+    public void onChunkUnload(IPWorld world, Vector2Di chunk)
+    {
+        pendingDoors.values().removeIf(door -> isPowerBlockInChunk(door, world, chunk));
+
+        doorActivityManager.getBlockMovers()
+                           .filter(BlockMover::isLooping)
+                           .filter(mover -> isInChunk(mover.getDoor(), world, chunk))
+                           .forEach(mover -> stopAnimation(mover, world, chunk));
+    }
+
+    private void stopAnimation(BlockMover mover, IPWorld world, Vector2Di chunk)
+    {
+        log.at(Level.FINEST).log("Stopping looping animation of door %d", mover.getDoorUID());
+        mover.abort();
+        doorActivityManager.processFinishedBlockMover(mover, false);
+
+        final AbstractDoor door = mover.getDoor();
+        if (door instanceof IPerpetualMover && !isPowerBlockInChunk(door, world, chunk))
+            pendingDoors.put(door.getDoorUID(), door);
+    }
+
+    /**
+     * @return The number of perpetual movers that are waiting for the chunks they occupy to be loaded.
+     */
+    int getPendingCount()
+    {
+        return pendingDoors.size();
+    }
+
+    private boolean chunksLoaded(IPWorld world, AbstractDoor door)
+    {
+        final Cuboid cuboid = door.getCuboid();
+        for (int chunkX = cuboid.getMin().x() >> 4; chunkX <= cuboid.getMax().x() >> 4; ++chunkX)
+            for (int chunkZ = cuboid.getMin().z() >> 4; chunkZ <= cuboid.getMax().z() >> 4; ++chunkZ)
+                if (!chunkManager.isLoaded(world, new Vector2Di(chunkX, chunkZ)))
+                    return false;
+        return true;
+    }
+
+    private static boolean isPowerBlockInChunk(AbstractDoor door, IPWorld world, Vector2Di chunk)
+    {
+        final Vector3Di powerBlock = door.getPowerBlock();
+        return door.getWorld().worldName().equals(world.worldName()) &&
+            powerBlock.x() >> 4 == chunk.x() && powerBlock.z() >> 4 == chunk.y();
+    }
+
+    private static boolean isInChunk(AbstractDoor door, IPWorld world, Vector2Di chunk)
+    {
+        if (!door.getWorld().worldName().equals(world.worldName()))
+            return false;
+
+        final Cuboid cuboid = door.getCuboid();
+        return chunk.x() >= cuboid.getMin().x() >> 4 && chunk.x() <= cuboid.getMax().x() >> 4 &&
+            chunk.y() >= cuboid.getMin().z() >> 4 && chunk.y() <= cuboid.getMax().z() >> 4;
+    }
+}
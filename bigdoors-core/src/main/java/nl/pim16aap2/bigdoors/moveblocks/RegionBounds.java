@@ -0,0 +1,93 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+
+/**
+ * Keeps track of the smallest axis-aligned box that contains a set of positions.
+ * <p>
+ * Positions are added one at a time, so the bounds can be updated while iterating over the positions for another
+ * purpose without requiring a separate pass.
+ *
+ * @author Pim
+ */
+final class RegionBounds
+{
+    private double xMin;
+    private double yMin;
+    private double zMin;
+
+    private double xMax;
+    private double yMax;
+    private double zMax;
+
+    RegionBounds()
+    {
+        reset();
+    }
+
+    /**
+     * Removes all positions from these bounds.
+     */
+    void reset()
+    {
+        xMin = Double.POSITIVE_INFINITY;
+        yMin = Double.POSITIVE_INFINITY;
+        zMin = Double.POSITIVE_INFINITY;
+
+        xMax = Double.NEGATIVE_INFINITY;
+        yMax = Double.NEGATIVE_INFINITY;
+        zMax = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Grows these bounds to include a position.
+     *
+     * @param x
+     *     The x coordinate of the position.
+     * @param y
+     *     The y coordinate of the position.
+     * @param z
+     *     The z coordinate of the position.
+     */
+    void add(double x, double y, double z)
+    {
+        xMin = Math.min(xMin, x);
+        yMin = Math.min(yMin, y);
+        zMin = Math.min(zMin, z);
+
+        xMax = Math.max(xMax, x);
+        yMax = Math.max(yMax, y);
+        zMax = Math.max(zMax, z);
+    }
+
+    /**
+     * See {@link #add(double, double, double)}.
+     */
+    void add(Vector3Dd position)
+    {
+        add(position.x(), position.y(), position.z());
+    }
+
+    /**
+     * @return True if no positions have been added since these bounds were last reset.
+     */
+    boolean isEmpty()
+    {
+        return xMin > xMax;
+    }
+
+    /**
+     * Creates a new {@link Cuboid} that contains all positions in these bounds.
+     *
+     * @return The new cuboid, rounded outwards.
+     * @throws IllegalStateException
+     *     When no positions have been added.
+     */
+    Cuboid toCuboid()
+    {
+        if (isEmpty())
+            throw new IllegalStateException("Cannot create a cuboid from empty bounds!");
+        return Cuboid.of(new Vector3Dd(xMin, yMin, zMin), new Vector3Dd(xMax, yMax, zMax), Cuboid.RoundingMode.OUTWARD);
+    }
+}
@@ -0,0 +1,198 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IBlockChangeBatch;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Spreads replacing the original blocks of a door by its animated blocks over multiple ticks.
+ * <p>
+ * The blocks are processed in batches of at most {@link #budget} blocks. The animated blocks closest to any of the
+ * players are processed first, so the part of the door that is visible to the players is replaced first. Every batch
+ * is processed in three stages:
+ * <ol>
+ *     <li>The original blocks of the animated blocks are removed without applying physics.</li>
+ *     <li>The original blocks of the interior blocks (which are not animated) are removed without applying
+ *     physics.</li>
+ *     <li>Once all original blocks have been removed, physics are applied to the blocks on the edge of the door. This
+ *     is only done once all blocks have been removed, so blocks attached to other blocks of the door do not break.</li>
+ * </ol>
+ * All changes to the world in a batch are applied using a single {@link IBlockChangeBatch}. Once it has been applied,
+ * the animated blocks whose original blocks were removed are spawned.
+ * <p>
+ * The original blocks may change while the batches are spread over multiple ticks, so {@link #findChangedBlock()}
+ * should be used right before processing every batch.
+ * <p>
+ * This class is not thread-safe. Batches should only be processed on the main thread.
+ *
+ * @author Pim
+ */
+final class SpawnPlanner
+{
+    private final IAnimatedBlock[] animatedBlocks;
+    private final List<IAnimatedBlock> interiorBlocks;
+    private final List<IAnimatedBlock> edgeBlocks;
+    private final Supplier<IBlockChangeBatch> batchSupplier;
+
+    /**
+     * The maximum number of blocks to process per batch.
+     */
+    private final int budget;
+
+    private int animatedIdx = 0;
+    private int interiorIdx = 0;
+    private int edgeIdx = 0;
+
+    /**
+     * @param animatedBlocks
+     *     The animated blocks whose original blocks to remove before spawning them.
+     * @param interiorBlocks
+     *     The blocks whose original blocks to remove without spawning them.
+     * @param playerPositions
+     *     The positions of the players. The animated blocks closest to any of these positions are spawned first.
+     * @param budget
+     *     The maximum number of blocks to process per batch. Values less than 1 mean that all blocks are processed in a
+     *     single batch.
+     * @param batchSupplier
+     *     Supplies a new {@link IBlockChangeBatch} for every batch of blocks.
+     */
+    SpawnPlanner(
+        List<IAnimatedBlock> animatedBlocks, List<IAnimatedBlock> interiorBlocks, List<Vector3Dd> playerPositions,
+        int budget, Supplier<IBlockChangeBatch> batchSupplier)
+    {
+        this.batchSupplier = batchSupplier;
+        this.animatedBlocks = sortByDistance(animatedBlocks, playerPositions);
+        this.interiorBlocks = interiorBlocks;
+        this.budget = budget < 1 ? Integer.MAX_VALUE : budget;
+
+        edgeBlocks = new ArrayList<>();
+        for (final IAnimatedBlock animatedBlock : this.animatedBlocks)
+            if (animatedBlock.isOnEdge())
+                edgeBlocks.add(animatedBlock);
+        for (final IAnimatedBlock interiorBlock : interiorBlocks)
+            if (interiorBlock.isOnEdge())
+                edgeBlocks.add(interiorBlock);
+    }
+
+    /**
+     * Sorts animated blocks by the distance between their start positions and the nearest player.
+     *
+     * @return The sorted animated blocks. When there are no players, the original order is retained.
+     */
+    static IAnimatedBlock[] sortByDistance(List<IAnimatedBlock> animatedBlocks, List<Vector3Dd> playerPositions)
+    {
+        final IAnimatedBlock[] sorted = animatedBlocks.toArray(new IAnimatedBlock[0]);
+        if (playerPositions.isEmpty())
+            return sorted;
+
+        final double[] distances = new double[sorted.length];
+        final Integer[] indices = new Integer[sorted.length];
+        for (int idx = 0; idx < sorted.length; ++idx)
+        {
+            indices[idx] = idx;
+            distances[idx] = getDistanceSquared(sorted[idx].getStartPosition(), playerPositions);
+        }
+        Arrays.sort(indices, Comparator.comparingDouble(idx -> distances[idx]));
+
+        final IAnimatedBlock[] result = new IAnimatedBlock[sorted.length];
+        for (int idx = 0; idx < sorted.length; ++idx)
+            result[idx] = sorted[indices[idx]];
+        return result;
+    }
+
+    private static double getDistanceSquared(Vector3Dd position, List<Vector3Dd> playerPositions)
+    {
+        double min = Double.MAX_VALUE;
+        for (final Vector3Dd playerPosition : playerPositions)
+        {
+            final double deltaX = position.x() - playerPosition.x();
+            final double deltaY = position.y() - playerPosition.y();
+            final double deltaZ = position.z() - playerPosition.z();
+            min = Math.min(min, deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ);
+        }
+        return min;
+    }
+
+    /**
+     * Processes the next batch of blocks.
+     *
+     * @return True if all blocks have been processed.
+     *
+     * @throws Exception
+     *     When an original block could not be removed or when an animated block could not be spawned.
+     */
+    boolean processBatch()
+        throws Exception
+    {
+        final IBlockChangeBatch batch = batchSupplier.get();
+        final int firstAnimatedIdx = animatedIdx;
+        int remaining = budget;
+
+        for (; remaining > 0 && animatedIdx < animatedBlocks.length; --remaining)
+            batch.deleteOriginalBlock(animatedBlocks[animatedIdx++].getAnimatedBlockData(), false);
+
+        for (; remaining > 0 && interiorIdx < interiorBlocks.size(); --remaining)
+            batch.deleteOriginalBlock(interiorBlocks.get(interiorIdx++).getAnimatedBlockData(), false);
+
+        for (; remaining > 0 && edgeIdx < edgeBlocks.size(); --remaining)
+            batch.deleteOriginalBlock(edgeBlocks.get(edgeIdx++).getAnimatedBlockData(), true);
+
+        batch.apply();
+
+        for (int idx = firstAnimatedIdx; idx < animatedIdx; ++idx)
+            animatedBlocks[idx].spawn();
+
+        return isDone();
+    }
+
+    /**
+     * Finds a block in the next batch whose original block has changed since the block was created. See
+     * {@link nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockData#isOriginalBlockUnchanged()}.
+     * <p>
+     * The original blocks with physics are not checked, as those have already been removed in an earlier stage.
+     *
+     * @return The first block in the next batch whose original block has changed, or null if there is none.
+     */
+    @Nullable IAnimatedBlock findChangedBlock()
+    {
+        int remaining = budget;
+        for (int idx = animatedIdx; remaining > 0 && idx < animatedBlocks.length; ++idx, --remaining)
+            if (!animatedBlocks[idx].getAnimatedBlockData().isOriginalBlockUnchanged())
+                return animatedBlocks[idx];
+
+        for (int idx = interiorIdx; remaining > 0 && idx < interiorBlocks.size(); ++idx, --remaining)
+            if (!interiorBlocks.get(idx).getAnimatedBlockData().isOriginalBlockUnchanged())
+                return interiorBlocks.get(idx);
+        return null;
+    }
+
+    /**
+     * Gets all blocks whose original blocks have been removed (or were being removed) so far.
+     *
+     * @return All blocks whose original blocks have been removed.
+     */
+    List<IAnimatedBlock> getRemovedBlocks()
+    {
+        final List<IAnimatedBlock> ret = new ArrayList<>(animatedIdx + interiorIdx);
+        ret.addAll(Arrays.asList(animatedBlocks).subList(0, animatedIdx));
+        ret.addAll(interiorBlocks.subList(0, interiorIdx));
+        return ret;
+    }
+
+    /**
+     * @return True if all blocks have been processed.
+     */
+    boolean isDone()
+    {
+        return animatedIdx == animatedBlocks.length &&
+            interiorIdx == interiorBlocks.size() &&
+            edgeIdx == edgeBlocks.size();
+    }
+}
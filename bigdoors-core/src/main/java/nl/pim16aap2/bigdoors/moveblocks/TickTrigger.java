@@ -0,0 +1,40 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+/**
+ * Fires exactly once, as soon as an animation has reached a certain tick.
+ * <p>
+ * The ticks passed to {@link BlockMover#executeAnimationStep(int)} are not guaranteed to be consecutive: the
+ * {@link AnimationClock} skips ticks when the animation falls behind. Logic that has to run once at a specific point of
+ * an animation should therefore use this class instead of comparing the tick for equality, which may never happen.
+ *
+ * @author Pim
+ */
+public final class TickTrigger
+{
+    private final int tick;
+    private boolean fired = false;
+
+    /**
+     * @param tick
+     *     The tick at (or after) which to fire.
+     */
+    public TickTrigger(int tick)
+    {
+        this.tick = tick;
+    }
+
+    /**
+     * Checks if this trigger fires for the current tick.
+     *
+     * @param ticks
+     *     The current tick of the animation.
+     * @return True the first time this is called with a tick that is at least the tick of this trigger.
+     */
+    public boolean test(int ticks)
+    {
+        if (fired || ticks < tick)
+            return false;
+        fired = true;
+        return true;
+    }
+}
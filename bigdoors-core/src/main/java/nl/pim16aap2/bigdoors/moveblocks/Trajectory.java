@@ -0,0 +1,105 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.RotateDirection;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stores the radius, start angle, and final position of every block in the cuboid of a door for a single toggle.
+ * <p>
+ * The blocks are indexed in the order in which {@link BlockMover} iterates over the cuboid of the door: x ascending, y
+ * descending, z ascending. Every position in the cuboid is included, regardless of whether there is a block to animate
+ * at that position, so the trajectory only depends on the geometry of the door.
+ *
+ * @author Pim
+ */
+final class Trajectory
+{
+    private final float[] radii;
+    private final float[] startAngles;
+    private final double[] finalPositions;
+
+    /**
+     * Creates a new and empty {@link Trajectory}.
+     *
+     * @param size
+     *     The number of positions in the cuboid of the door.
+     */
+    Trajectory(int size)
+    {
+        radii = new float[size];
+        startAngles = new float[size];
+        finalPositions = new double[size * 3];
+    }
+
+    /**
+     * @return The number of positions in this trajectory.
+     */
+    int size()
+    {
+        return radii.length;
+    }
+
+    float getRadius(int index)
+    {
+        return radii[index];
+    }
+
+    float getStartAngle(int index)
+    {
+        return startAngles[index];
+    }
+
+    Vector3Dd getFinalPosition(int index)
+    {
+        final int offset = index * 3;
+        return new Vector3Dd(finalPositions[offset], finalPositions[offset + 1], finalPositions[offset + 2]);
+    }
+
+    /**
+     * Sets the values of a single position.
+     *
+     * @param index
+     *     The index of the position.
+     * @param radius
+     *     The radius of the block at the position.
+     * @param startAngle
+     *     The start angle of the block at the position.
+     * @param finalPosition
+     *     The final position of the block at the position.
+     */
+    void set(int index, float radius, float startAngle, Vector3Dd finalPosition)
+    {
+        radii[index] = radius;
+        startAngles[index] = startAngle;
+        final int offset = index * 3;
+        finalPositions[offset] = finalPosition.x();
+        finalPositions[offset + 1] = finalPosition.y();
+        finalPositions[offset + 2] = finalPosition.z();
+    }
+
+    /**
+     * Describes everything the trajectory of a door depends on, other than the UID of the door.
+     *
+     * @param moverType
+     *     The type of the {@link BlockMover} that computed the trajectory.
+     * @param openDirection
+     *     The direction the door moves in.
+     * @param cuboid
+     *     The cuboid of the door before the toggle.
+     * @param newCuboid
+     *     The cuboid of the door after the toggle.
+     * @param rotationPoint
+     *     The rotation point of the door.
+     * @param discriminator
+     *     Any other inputs of the trajectory specific to the type of the mover. See
+     *     {@link BlockMover#getTrajectoryDiscriminator()}.
+     */
+    record Key(
+        Class<? extends BlockMover> moverType, RotateDirection openDirection, Cuboid cuboid, Cuboid newCuboid,
+        Vector3Di rotationPoint, @Nullable Object discriminator)
+    {
+    }
+}
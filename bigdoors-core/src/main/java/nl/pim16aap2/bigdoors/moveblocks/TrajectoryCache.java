@@ -0,0 +1,95 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import lombok.extern.flogger.Flogger;
+import nl.pim16aap2.bigdoors.api.restartable.Restartable;
+import nl.pim16aap2.bigdoors.api.restartable.RestartableHolder;
+import nl.pim16aap2.bigdoors.data.cache.timed.TimedCache;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Caches the {@link Trajectory}s of doors, so they do not have to be computed again every time a door is toggled.
+ * <p>
+ * The trajectories are stored per door, as a door generally has a different trajectory for opening and closing. The
+ * cuboids and rotation point of a door are part of the {@link Trajectory.Key}, so toggling a door (which updates its
+ * cuboid) does not invalidate its trajectories. Any other inputs of the trajectory are described by
+ * {@link BlockMover#getTrajectoryDiscriminator()}. When the rotation point of a door is changed, its trajectories
+ * should be invalidated using {@link #invalidate(long)}.
+ *
+ * @author Pim
+ */
+@Singleton
+@Flogger
+public final class TrajectoryCache extends Restartable
+{
+    private final TimedCache<Long, Map<Trajectory.Key, Trajectory>> cache =
+        TimedCache.<Long, Map<Trajectory.Key, Trajectory>>builder()
+                  .duration(Duration.ofMinutes(30))
+                  .cleanup(Duration.ofMinutes(5))
+                  .softReference(true)
+                  .refresh(true).build();
+
+    @Inject
+    public TrajectoryCache(RestartableHolder holder)
+    {
+        super(holder);
+    }
+
+    /**
+     * Gets the cached trajectory of a door.
+     *
+     * @param doorUID
+     *     The UID of the door.
+     * @param key
+     *     The key describing the toggle of the door.
+     * @return The cached trajectory, if it exists.
+     */
+    Optional<Trajectory> get(long doorUID, Trajectory.Key key)
+    {
+        return cache.get(doorUID).map(trajectories -> trajectories.get(key));
+    }
+
+    /**
+     * Caches the trajectory of a door.
+     *
+     * @param doorUID
+     *     The UID of the door.
+     * @param key
+     *     The key describing the toggle of the door.
+     * @param trajectory
+     *     The trajectory to cache.
+     */
+    void put(long doorUID, Trajectory.Key key, Trajectory trajectory)
+    {
+        cache.computeIfAbsent(doorUID, uid -> new ConcurrentHashMap<>()).put(key, trajectory);
+    }
+
+    /**
+     * Removes all cached trajectories of a door.
+     *
+     * @param doorUID
+     *     The UID of the door whose trajectories to remove.
+     */
+    public void invalidate(long doorUID)
+    {
+        if (cache.remove(doorUID).isPresent())
+            log.at(Level.FINEST).log("Invalidated trajectories of door %d", doorUID);
+    }
+
+    @Override
+    public void initialize()
+    {
+    }
+
+    @Override
+    public void shutDown()
+    {
+        cache.clear();
+    }
+}
@@ -0,0 +1,105 @@
+package nl.pim16aap2.bigdoors.managers;
+
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimationHook;
+import nl.pim16aap2.bigdoors.moveblocks.AnimatedBlockPositions;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class AnimationHookDispatcherTest
+{
+    @Test
+    void testPhaseResolution()
+    {
+        final StepHook stepHook = new StepHook();
+        final MovedHook movedHook = new MovedHook();
+        final AnimationHookDispatcher<IAnimatedBlock> dispatcher =
+            new AnimationHookDispatcher<>(List.of(stepHook, movedHook));
+
+        Assertions.assertTrue(dispatcher.isImplemented(AnimationHookDispatcher.Phase.POST_ANIMATION_STEP));
+        Assertions.assertTrue(dispatcher.isImplemented(AnimationHookDispatcher.Phase.BLOCKS_MOVED));
+        Assertions.assertFalse(dispatcher.isImplemented(AnimationHookDispatcher.Phase.PREPARE));
+        Assertions.assertFalse(dispatcher.isImplemented(AnimationHookDispatcher.Phase.ANIMATION_COMPLETED));
+        Assertions.assertEquals(2, dispatcher.getHooks().size());
+
+        dispatcher.onPostAnimationStep();
+        dispatcher.onPostAnimationStep();
+        Assertions.assertEquals(2, stepHook.steps);
+
+        final AnimatedBlockPositions positions = Mockito.mock(AnimatedBlockPositions.class);
+        dispatcher.onBlocksMoved(positions);
+        Assertions.assertSame(positions, movedHook.positions);
+    }
+
+    @Test
+    void testFailingHook()
+    {
+        final StepHook stepHook = new StepHook();
+        final IAnimationHook<IAnimatedBlock> failingHook = new IAnimationHook<>()
+        {
+            @Override
+            public String getName()
+            {
+                return "FailingHook";
+            }
+
+            @Override
+            public void onPostAnimationStep()
+            {
+                throw new IllegalStateException("Expected exception!");
+            }
+        };
+
+        final AnimationHookDispatcher<IAnimatedBlock> dispatcher =
+            new AnimationHookDispatcher<>(List.of(failingHook, stepHook));
+        Assertions.assertDoesNotThrow(dispatcher::onPostAnimationStep);
+        Assertions.assertEquals(1, stepHook.steps);
+    }
+
+    @Test
+    void testEmpty()
+    {
+        final AnimationHookDispatcher<IAnimatedBlock> dispatcher = AnimationHookDispatcher.empty();
+        for (final AnimationHookDispatcher.Phase phase : AnimationHookDispatcher.Phase.values())
+            Assertions.assertFalse(dispatcher.isImplemented(phase));
+        Assertions.assertDoesNotThrow(dispatcher::onPrepare);
+    }
+
+    private static final class StepHook implements IAnimationHook<IAnimatedBlock>
+    {
+        private int steps = 0;
+
+        @Override
+        public String getName()
+        {
+            return "StepHook";
+        }
+
+        @Override
+        public void onPostAnimationStep()
+        {
+            ++steps;
+        }
+    }
+
+    private static final class MovedHook implements IAnimationHook<IAnimatedBlock>
+    {
+        private @Nullable AnimatedBlockPositions positions;
+
+        @Override
+        public String getName()
+        {
+            return "MovedHook";
+        }
+
+        @Override
+        public void onBlocksMoved(AnimatedBlockPositions positions)
+        {
+            this.positions = positions;
+        }
+    }
+}
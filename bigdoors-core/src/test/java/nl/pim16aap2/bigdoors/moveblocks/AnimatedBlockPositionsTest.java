@@ -0,0 +1,66 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class AnimatedBlockPositionsTest
+{
+    @Test
+    void testInitialPositions()
+    {
+        final AnimatedBlockPositions positions =
+            new AnimatedBlockPositions(List.of(mockAnimatedBlock(1, 2, 3), mockAnimatedBlock(4, 5, 6)));
+
+        Assertions.assertEquals(2, positions.size());
+
+        Assertions.assertEquals(4, positions.getStartX(1));
+        Assertions.assertEquals(5, positions.getStartY(1));
+        Assertions.assertEquals(6, positions.getStartZ(1));
+
+        Assertions.assertEquals(1, positions.getCurrentX(0));
+        Assertions.assertEquals(2, positions.getCurrentY(0));
+        Assertions.assertEquals(3, positions.getCurrentZ(0));
+
+        Assertions.assertEquals(1, positions.getGoalX(0));
+        Assertions.assertEquals(2, positions.getGoalY(0));
+        Assertions.assertEquals(3, positions.getGoalZ(0));
+    }
+
+    @Test
+    void testUpdatePositions()
+    {
+        final AnimatedBlockPositions positions =
+            new AnimatedBlockPositions(List.of(mockAnimatedBlock(1, 2, 3), mockAnimatedBlock(4, 5, 6)));
+
+        positions.setGoal(1, 7, 8, 9);
+        positions.setCurrent(0, new Vector3Dd(10, 11, 12));
+
+        Assertions.assertEquals(7, positions.getGoalX(1));
+        Assertions.assertEquals(8, positions.getGoalY(1));
+        Assertions.assertEquals(9, positions.getGoalZ(1));
+
+        Assertions.assertEquals(10, positions.getCurrentX(0));
+        Assertions.assertEquals(11, positions.getCurrentY(0));
+        Assertions.assertEquals(12, positions.getCurrentZ(0));
+
+        // Make sure the other values are left untouched.
+        Assertions.assertEquals(1, positions.getGoalX(0));
+        Assertions.assertEquals(4, positions.getCurrentX(1));
+        Assertions.assertEquals(4, positions.getStartX(1));
+        Assertions.assertEquals(1, positions.getStartX(0));
+    }
+
+    private static IAnimatedBlock mockAnimatedBlock(double x, double y, double z)
+    {
+        final IAnimatedBlock animatedBlock = Mockito.mock(IAnimatedBlock.class);
+        Mockito.when(animatedBlock.getStartX()).thenReturn(x);
+        Mockito.when(animatedBlock.getStartY()).thenReturn(y);
+        Mockito.when(animatedBlock.getStartZ()).thenReturn(z);
+        return animatedBlock;
+    }
+}
@@ -0,0 +1,167 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+class AnimationAdmissionControllerTest
+{
+    @Mock
+    private IConfigLoader config;
+
+    @Mock
+    private IPExecutor executor;
+
+    private AnimationGovernor governor;
+
+    private AnimationAdmissionController controller;
+
+    @BeforeEach
+    void init()
+    {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(config.maxConcurrentAnimatedBlocks()).thenReturn(100);
+        Mockito.when(config.maxQueuedAnimations()).thenReturn(2);
+        Mockito.when(config.animationGovernor()).thenReturn(true);
+        Mockito.when(config.animatedBlockBudget()).thenReturn(1_000);
+        Mockito.doAnswer(
+            invocation ->
+            {
+                invocation.getArgument(0, Runnable.class).run();
+                return null;
+            }).when(executor).runOnMainThread(Mockito.any(Runnable.class));
+        governor = new AnimationGovernor(config);
+        controller = new AnimationAdmissionController(config, executor, governor);
+    }
+
+    @Test
+    void testQueue()
+    {
+        final BlockMover first = newBlockMover(DoorActionCause.REDSTONE);
+        final BlockMover autoClose = newBlockMover(DoorActionCause.AUTOCLOSE);
+        final BlockMover player = newBlockMover(DoorActionCause.PLAYER);
+        final BlockMover skipped = newBlockMover(DoorActionCause.REDSTONE);
+        final BlockMover unskippable = newBlockMover(DoorActionCause.AUTOCLOSE);
+
+        controller.requestAdmission(first, 80, true);
+        Mockito.verify(first).onAdmitted(false);
+        Assertions.assertEquals(80, controller.getActiveBlocks());
+
+        controller.requestAdmission(autoClose, 30, true);
+        controller.requestAdmission(player, 30, true);
+        Mockito.verify(autoClose, Mockito.never()).onAdmitted(Mockito.anyBoolean());
+        Mockito.verify(player, Mockito.never()).onAdmitted(Mockito.anyBoolean());
+        Assertions.assertEquals(2, controller.getQueuedCount());
+
+        // The queue is full, so the animation should be skipped, unless that is not possible.
+        controller.requestAdmission(skipped, 10, true);
+        Mockito.verify(skipped).onAdmitted(true);
+        controller.requestAdmission(unskippable, 50, false);
+        Assertions.assertEquals(3, controller.getQueuedCount());
+
+        // Player-initiated animations should be admitted before automatic ones.
+        controller.release(first);
+        final InOrder inOrder = Mockito.inOrder(player, autoClose, unskippable);
+        inOrder.verify(player).onAdmitted(false);
+        inOrder.verify(autoClose).onAdmitted(false);
+        Mockito.verify(unskippable, Mockito.never()).onAdmitted(Mockito.anyBoolean());
+        Assertions.assertEquals(60, controller.getActiveBlocks());
+
+        // Releasing a queued mover should just remove it from the queue.
+        controller.release(unskippable);
+        Assertions.assertEquals(0, controller.getQueuedCount());
+        Assertions.assertEquals(60, controller.getActiveBlocks());
+    }
+
+    @Test
+    void testOversized()
+    {
+        final BlockMover small = newBlockMover(DoorActionCause.PLAYER);
+        final BlockMover large = newBlockMover(DoorActionCause.PLAYER);
+
+        controller.requestAdmission(small, 10, true);
+        controller.requestAdmission(large, 500, true);
+        Mockito.verify(large, Mockito.never()).onAdmitted(Mockito.anyBoolean());
+
+        // An animation that exceeds the budget by itself should still run once nothing else is active.
+        controller.release(small);
+        Mockito.verify(large).onAdmitted(false);
+        Assertions.assertEquals(500, controller.getActiveBlocks());
+    }
+
+    @Test
+    void testOverloaded()
+    {
+        final BlockMover first = newBlockMover(DoorActionCause.PLAYER);
+        final BlockMover queued = newBlockMover(DoorActionCause.PLAYER);
+        final BlockMover unskippable = newBlockMover(DoorActionCause.PLAYER);
+
+        governor.update(AnimationGovernor.TICK_NANOS, 1_000);
+        Assertions.assertEquals(AnimationGovernor.Fidelity.SKIP, governor.getFidelity());
+
+        // Without any active animations to wait for, the animation should be skipped, unless that is not possible.
+        controller.requestAdmission(first, 10, true);
+        Mockito.verify(first).onAdmitted(true);
+        controller.requestAdmission(unskippable, 10, false);
+        Mockito.verify(unskippable).onAdmitted(false);
+
+        // Otherwise, it should wait for the active animations to finish, even though it fits in the budget.
+        controller.requestAdmission(queued, 10, true);
+        Mockito.verify(queued, Mockito.never()).onAdmitted(Mockito.anyBoolean());
+        Assertions.assertEquals(1, controller.getQueuedCount());
+
+        controller.release(unskippable);
+        Mockito.verify(queued).onAdmitted(false);
+    }
+
+    @Test
+    void testLooping()
+    {
+        final BlockMover looping = newBlockMover(DoorActionCause.PERPETUALMOVEMENT);
+        Mockito.when(looping.isLooping()).thenReturn(true);
+        final BlockMover other = newBlockMover(DoorActionCause.PLAYER);
+
+        // Looping animations never finish, so they should not reserve any blocks that other animations wait for.
+        controller.requestAdmission(looping, 80, false);
+        Mockito.verify(looping).onAdmitted(false);
+        Assertions.assertEquals(0, controller.getActiveBlocks());
+
+        controller.requestAdmission(other, 80, true);
+        Mockito.verify(other).onAdmitted(false);
+
+        // Even when the server is overloaded.
+        governor.update(AnimationGovernor.TICK_NANOS, 1_000);
+        final BlockMover overloaded = newBlockMover(DoorActionCause.PERPETUALMOVEMENT);
+        Mockito.when(overloaded.isLooping()).thenReturn(true);
+        controller.requestAdmission(overloaded, 80, false);
+        Mockito.verify(overloaded).onAdmitted(false);
+        Assertions.assertEquals(0, controller.getQueuedCount());
+    }
+
+    @Test
+    void testUnlimited()
+    {
+        Mockito.when(config.maxConcurrentAnimatedBlocks()).thenReturn(-1);
+        final BlockMover first = newBlockMover(DoorActionCause.PLAYER);
+        final BlockMover second = newBlockMover(DoorActionCause.PLAYER);
+
+        controller.requestAdmission(first, 1_000, true);
+        controller.requestAdmission(second, 1_000, true);
+        Mockito.verify(first).onAdmitted(false);
+        Mockito.verify(second).onAdmitted(false);
+    }
+
+    private static BlockMover newBlockMover(DoorActionCause cause)
+    {
+        final BlockMover mover = Mockito.mock(BlockMover.class);
+        Mockito.when(mover.getCause()).thenReturn(cause);
+        return mover;
+    }
+}
@@ -0,0 +1,49 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class AnimationClockTest
+{
+    private static final long TICK = AnimationClock.TICK_NANOS;
+
+    @Test
+    void testAdvance()
+    {
+        final AtomicLong now = new AtomicLong(-5 * TICK);
+        final AnimationClock clock = new AnimationClock(now::get);
+
+        Assertions.assertEquals(1, clock.advance(100));
+
+        // Small deviations in the timing of the task should not skip any ticks.
+        now.addAndGet(TICK + TICK / 5);
+        Assertions.assertEquals(2, clock.advance(100));
+        now.addAndGet(TICK - TICK / 5);
+        Assertions.assertEquals(3, clock.advance(100));
+
+        // Merged executions should still advance the clock by one tick.
+        Assertions.assertEquals(4, clock.advance(100));
+
+        // Late executions should skip the ticks that were missed.
+        now.addAndGet(10 * TICK);
+        Assertions.assertEquals(13, clock.advance(100));
+        Assertions.assertEquals(13, clock.getTicks());
+    }
+
+    @Test
+    void testCheckpoint()
+    {
+        final AtomicLong now = new AtomicLong(0);
+        final AnimationClock clock = new AnimationClock(now::get);
+        Assertions.assertEquals(1, clock.advance(10));
+
+        now.addAndGet(20 * TICK);
+        Assertions.assertEquals(10, clock.advance(10));
+        // Once the checkpoint has been reached, the clock should catch up again.
+        Assertions.assertEquals(21, clock.advance(10));
+        now.addAndGet(2 * TICK);
+        Assertions.assertEquals(23, clock.advance(10));
+    }
+}
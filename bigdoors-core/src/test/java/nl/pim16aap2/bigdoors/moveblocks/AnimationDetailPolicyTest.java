@@ -0,0 +1,49 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AnimationDetailPolicyTest
+{
+    private static final Cuboid REGION = new Cuboid(new Vector3Di(0, 0, 0), new Vector3Di(10, 10, 10));
+
+    @Test
+    void testUpdateInterval()
+    {
+        final AnimationDetailPolicy policy = new AnimationDetailPolicy(mockConfig(16));
+
+        Assertions.assertEquals(1, policy.getUpdateInterval(REGION, 5, 5, 5));
+        Assertions.assertEquals(1, policy.getUpdateInterval(REGION, 26, 5, 5));
+        Assertions.assertEquals(2, policy.getUpdateInterval(REGION, 27, 5, 5));
+        Assertions.assertEquals(2, policy.getUpdateInterval(REGION, 5, 5, -32));
+        Assertions.assertEquals(4, policy.getUpdateInterval(REGION, 5, 5, -33));
+        Assertions.assertEquals(AnimationDetailPolicy.MAX_UPDATE_INTERVAL,
+                                policy.getUpdateInterval(REGION, 1_000, 5, 5));
+    }
+
+    @Test
+    void testDisabled()
+    {
+        final AnimationDetailPolicy policy = new AnimationDetailPolicy(mockConfig(-1));
+        Assertions.assertEquals(1, policy.getUpdateInterval(REGION, 1_000, 5, 5));
+    }
+
+    @Test
+    void testIsUpdateStep()
+    {
+        Assertions.assertTrue(AnimationDetailPolicy.isUpdateStep(1, 7));
+        Assertions.assertTrue(AnimationDetailPolicy.isUpdateStep(4, 8));
+        Assertions.assertFalse(AnimationDetailPolicy.isUpdateStep(4, 9));
+    }
+
+    private static IConfigLoader mockConfig(int detailDistance)
+    {
+        final IConfigLoader config = Mockito.mock(IConfigLoader.class);
+        Mockito.when(config.animationDetailDistance()).thenReturn(detailDistance);
+        return config;
+    }
+}
@@ -0,0 +1,111 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import static nl.pim16aap2.bigdoors.moveblocks.AnimationGovernor.Fidelity;
+
+class AnimationGovernorTest
+{
+    @Mock
+    private IConfigLoader config;
+
+    private AnimationGovernor governor;
+
+    @BeforeEach
+    void init()
+    {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(config.animationGovernor()).thenReturn(true);
+        Mockito.when(config.animatedBlockBudget()).thenReturn(1_000);
+        governor = new AnimationGovernor(config);
+    }
+
+    @Test
+    void testBlockBudget()
+    {
+        governor.update(AnimationGovernor.TICK_NANOS, 100);
+        Assertions.assertEquals(Fidelity.FULL, governor.getFidelity());
+
+        governor.update(AnimationGovernor.TICK_NANOS, 800);
+        Assertions.assertEquals(Fidelity.TELEPORT_ONLY, governor.getFidelity());
+
+        governor.update(AnimationGovernor.TICK_NANOS, 1_000);
+        Assertions.assertEquals(Fidelity.SKIP, governor.getFidelity());
+    }
+
+    @Test
+    void testExcludedBlocks()
+    {
+        governor.update(AnimationGovernor.TICK_NANOS, 800);
+        Assertions.assertEquals(Fidelity.TELEPORT_ONLY, governor.getFidelity());
+
+        // A single large animation should not be throttled by its own blocks.
+        Assertions.assertEquals(Fidelity.FULL, governor.getFidelity(800));
+        Assertions.assertEquals(Fidelity.REDUCED_UPDATE_RATE, governor.getFidelity(200));
+
+        // The blocks of other animations still count.
+        governor.update(AnimationGovernor.TICK_NANOS, 1_000);
+        Assertions.assertEquals(Fidelity.SKIP, governor.getFidelity());
+        Assertions.assertEquals(Fidelity.REDUCED_UPDATE_RATE, governor.getFidelity(400));
+    }
+
+    @Test
+    void testExcludedBlocksSlowTicks()
+    {
+        for (int idx = 0; idx < 200; ++idx)
+            governor.update(AnimationGovernor.TICK_NANOS * 20 / 12, 500);
+        Assertions.assertEquals(Fidelity.SKIP, governor.getFidelity());
+
+        // Excluding blocks does not help when the server itself is struggling.
+        Assertions.assertEquals(Fidelity.SKIP, governor.getFidelity(500));
+    }
+
+    @Test
+    void testRecovery()
+    {
+        governor.update(AnimationGovernor.TICK_NANOS, 1_000);
+        Assertions.assertEquals(Fidelity.SKIP, governor.getFidelity());
+
+        // The fidelity is only raised a single stage at a time once there has been enough headroom.
+        for (int idx = 1; idx < AnimationGovernor.RECOVERY_TICKS; ++idx)
+            governor.update(AnimationGovernor.TICK_NANOS, 0);
+        Assertions.assertEquals(Fidelity.SKIP, governor.getFidelity());
+
+        governor.update(AnimationGovernor.TICK_NANOS, 0);
+        Assertions.assertEquals(Fidelity.EDGE_ONLY, governor.getFidelity());
+
+        for (int idx = 0; idx < 3 * AnimationGovernor.RECOVERY_TICKS; ++idx)
+            governor.update(AnimationGovernor.TICK_NANOS, 0);
+        Assertions.assertEquals(Fidelity.FULL, governor.getFidelity());
+    }
+
+    @Test
+    void testSlowTicks()
+    {
+        // A single slow tick should not affect the fidelity.
+        governor.update(10 * AnimationGovernor.TICK_NANOS, 0);
+        Assertions.assertEquals(Fidelity.FULL, governor.getFidelity());
+
+        // Running at 12 TPS for a while should.
+        for (int idx = 0; idx < 200; ++idx)
+            governor.update(AnimationGovernor.TICK_NANOS * 20 / 12, 0);
+        Assertions.assertEquals(Fidelity.SKIP, governor.getFidelity());
+
+        governor.reset();
+        Assertions.assertEquals(Fidelity.FULL, governor.getFidelity());
+    }
+
+    @Test
+    void testDisabled()
+    {
+        Mockito.when(config.animationGovernor()).thenReturn(false);
+        governor.update(AnimationGovernor.TICK_NANOS, 1_000_000);
+        Assertions.assertEquals(Fidelity.FULL, governor.getFidelity());
+    }
+}
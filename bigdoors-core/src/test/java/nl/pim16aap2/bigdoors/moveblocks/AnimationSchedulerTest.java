@@ -0,0 +1,144 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.TimerTask;
+
+class AnimationSchedulerTest
+{
+    @Mock
+    private IPExecutor executor;
+
+    @Mock
+    private IConfigLoader config;
+
+    private AnimationScheduler scheduler;
+
+    @BeforeEach
+    void init()
+    {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(config.animationGovernor()).thenReturn(true);
+        Mockito.when(config.animatedBlockBudget()).thenReturn(1_000);
+        Mockito.when(executor.runAsyncRepeated(Mockito.any(TimerTask.class), Mockito.anyLong(), Mockito.anyLong()))
+               .thenReturn(1, 2, 3);
+        scheduler = new AnimationScheduler(executor, new AnimationGovernor(config));
+    }
+
+    @Test
+    void testDelay()
+    {
+        final BlockMover mover = Mockito.mock(BlockMover.class);
+        scheduler.register(mover, 2);
+        final TimerTask task = getScheduledTask(1);
+
+        task.run();
+        task.run();
+        Mockito.verify(mover, Mockito.never()).executeTick();
+
+        task.run();
+        Mockito.verify(mover).executeTick();
+        task.run();
+        Mockito.verify(mover, Mockito.times(2)).executeTick();
+    }
+
+    @Test
+    void testOrder()
+    {
+        final BlockMover first = Mockito.mock(BlockMover.class);
+        final BlockMover second = Mockito.mock(BlockMover.class);
+        final BlockMover third = Mockito.mock(BlockMover.class);
+        scheduler.register(first, 0);
+        scheduler.register(second, 0);
+        scheduler.register(third, 0);
+        // Failing movers should not prevent the other movers from being advanced.
+        Mockito.doThrow(IllegalStateException.class).when(second).executeTick();
+        final TimerTask task = getScheduledTask(1);
+
+        task.run();
+        task.run();
+        final InOrder inOrder = Mockito.inOrder(first, second, third);
+        for (int idx = 0; idx < 2; ++idx)
+        {
+            inOrder.verify(first).executeTick();
+            inOrder.verify(second).executeTick();
+            inOrder.verify(third).executeTick();
+        }
+    }
+
+    @Test
+    void testUnregisterDuringTick()
+    {
+        final BlockMover first = Mockito.mock(BlockMover.class);
+        final BlockMover second = Mockito.mock(BlockMover.class);
+        scheduler.register(first, 0);
+        scheduler.register(second, 0);
+        Mockito.doAnswer(
+            invocation ->
+            {
+                scheduler.unregister(second);
+                return null;
+            }).when(first).executeTick();
+        final TimerTask task = getScheduledTask(1);
+
+        // The second mover is still part of the current tick, but it should not be advanced anymore.
+        task.run();
+        Mockito.verify(first).executeTick();
+        Mockito.verify(second, Mockito.never()).executeTick();
+        Assertions.assertEquals(1, scheduler.getRegisteredCount());
+    }
+
+    @Test
+    void testTaskLifecycle()
+    {
+        final BlockMover mover = Mockito.mock(BlockMover.class);
+        scheduler.register(mover, 0);
+        scheduler.register(Mockito.mock(BlockMover.class), 0);
+        // Only a single task should be scheduled, regardless of the number of registered movers.
+        final TimerTask firstTask = getScheduledTask(1);
+
+        // Stopping the scheduler should cancel the task right away.
+        scheduler.stop();
+        Mockito.verify(executor).cancel(firstTask, 1);
+        scheduler.register(mover, 0);
+        final TimerTask secondTask = getScheduledTask(2);
+        Assertions.assertNotSame(firstTask, secondTask);
+
+        // Otherwise, the task should only cancel itself during the first tick without any registered movers.
+        scheduler.unregister(mover);
+        Mockito.verify(executor, Mockito.never()).cancel(secondTask, 2);
+        secondTask.run();
+        Mockito.verify(executor).cancel(secondTask, 2);
+        Mockito.verify(mover, Mockito.never()).executeTick();
+
+        // Registering a new mover should re-arm the task.
+        scheduler.register(mover, 0);
+        final TimerTask thirdTask = getScheduledTask(3);
+        thirdTask.run();
+        Mockito.verify(mover).executeTick();
+    }
+
+    /**
+     * Gets the task that was scheduled most recently and verifies the number of tasks that were scheduled in total.
+     *
+     * @param times
+     *     The number of tasks that should have been scheduled in total.
+     * @return The task that was scheduled most recently.
+     */
+    private TimerTask getScheduledTask(int times)
+    {
+        final ArgumentCaptor<TimerTask> captor = ArgumentCaptor.forClass(TimerTask.class);
+        Mockito.verify(executor, Mockito.times(times)).runAsyncRepeated(captor.capture(), Mockito.eq(1L),
+                                                                         Mockito.eq(1L));
+        return captor.getValue();
+    }
+}
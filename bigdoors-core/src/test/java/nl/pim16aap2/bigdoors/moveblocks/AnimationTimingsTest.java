@@ -0,0 +1,34 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AnimationTimingsTest
+{
+    @Test
+    void testRecordTick()
+    {
+        final AnimationTimings timings = new AnimationTimings(100);
+
+        Assertions.assertFalse(timings.recordTick(false, 40, 10, 50));
+        Assertions.assertTrue(timings.recordTick(false, 100, 20, 120));
+        Assertions.assertFalse(timings.recordTick(true, 30, 5, 35));
+
+        Assertions.assertEquals(3, timings.getTicks());
+        Assertions.assertEquals(1, timings.getOverrunTicks());
+        Assertions.assertEquals(140, timings.getStepNanos());
+        Assertions.assertEquals(30, timings.getFinishingNanos());
+        Assertions.assertEquals(35, timings.getHookNanos());
+        Assertions.assertEquals(35, timings.getLastTickNanos());
+        Assertions.assertEquals(120, timings.getMaxTickNanos());
+    }
+
+    @Test
+    void testEmpty()
+    {
+        final AnimationTimings timings = new AnimationTimings();
+        Assertions.assertEquals(0, timings.getTicks());
+        Assertions.assertEquals(0, timings.getOverrunTicks());
+        Assertions.assertDoesNotThrow(timings::toString);
+    }
+}
@@ -0,0 +1,97 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+
+import static nl.pim16aap2.bigdoors.moveblocks.AnimationViewers.Update;
+
+class AnimationViewersTest
+{
+    private static final Cuboid REGION = new Cuboid(new Vector3Di(0, 0, 0), new Vector3Di(10, 10, 10));
+
+    /**
+     * The positions of the players. The near player always receives updates, while the far player only receives an
+     * update every 4 steps.
+     */
+    private static final Map<String, Vector3Di> POSITIONS =
+        Map.of("near", new Vector3Di(5, 5, 5), "far", new Vector3Di(5, 5, -33));
+
+    private AnimationViewers<String> viewers;
+
+    @BeforeEach
+    void init()
+    {
+        final IConfigLoader config = Mockito.mock(IConfigLoader.class);
+        Mockito.when(config.animationDetailDistance()).thenReturn(16);
+        viewers = new AnimationViewers<>(new AnimationDetailPolicy(config), POSITIONS::get);
+    }
+
+    @Test
+    void testUpdateInterval()
+    {
+        // New viewers always receive an absolute update right away.
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("near", 1, REGION));
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("far", 1, REGION));
+
+        for (int step = 2; step <= 8; ++step)
+        {
+            Assertions.assertEquals(Update.RELATIVE, viewers.getUpdate("near", step, REGION));
+            // The far player did not receive the previous step, so it needs an absolute update.
+            Assertions.assertEquals(step % 4 == 0 ? Update.ABSOLUTE : Update.NONE,
+                                    viewers.getUpdate("far", step, REGION));
+            // The update is only determined once per step.
+            Assertions.assertEquals(Update.RELATIVE, viewers.getUpdate("near", step, REGION));
+        }
+        Assertions.assertEquals(2, viewers.size());
+    }
+
+    @Test
+    void testSkippedSteps()
+    {
+        // Relative updates are relative to the previous step that was executed, not the step directly before it.
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("near", 1, REGION));
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("far", 1, REGION));
+        Assertions.assertEquals(Update.RELATIVE, viewers.getUpdate("near", 3, REGION));
+        Assertions.assertEquals(Update.NONE, viewers.getUpdate("far", 3, REGION));
+
+        // Step 4 was skipped, but the far player should still receive an update once its interval has passed.
+        Assertions.assertEquals(Update.RELATIVE, viewers.getUpdate("near", 5, REGION));
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("far", 5, REGION));
+        Assertions.assertEquals(Update.NONE, viewers.getUpdate("far", 7, REGION));
+    }
+
+    @Test
+    void testForgetViewers()
+    {
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("near", 1, REGION));
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("far", 1, REGION));
+
+        // The far player is no longer watching the animation, so it should be forgotten.
+        Assertions.assertEquals(Update.RELATIVE, viewers.getUpdate("near", 2, REGION));
+        Assertions.assertEquals(Update.RELATIVE, viewers.getUpdate("near", 3, REGION));
+        Assertions.assertEquals(1, viewers.size());
+
+        // Once it watches the animation again, it should start over with an absolute update.
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("far", 4, REGION));
+        // The near player missed the previous step, so it cannot receive a relative update.
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("near", 5, REGION));
+        Assertions.assertEquals(Update.RELATIVE, viewers.getUpdate("near", 6, REGION));
+        Assertions.assertEquals(1, viewers.size());
+    }
+
+    @Test
+    void testLoopingAnimation()
+    {
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("far", 39, REGION));
+        Assertions.assertEquals(Update.NONE, viewers.getUpdate("far", 41, REGION));
+        // The animation wrapped around, so the far player should receive an update right away.
+        Assertions.assertEquals(Update.ABSOLUTE, viewers.getUpdate("far", 1, REGION));
+    }
+}
@@ -0,0 +1,46 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MotionTableTest
+{
+    @Test
+    void testSingleRing()
+    {
+        final MotionTable table = MotionTable.of(10, tick -> tick * 2.5);
+
+        Assertions.assertEquals(11, table.getTickCount());
+        Assertions.assertEquals(1, table.getRingCount());
+        Assertions.assertEquals(0, table.get(0));
+        Assertions.assertEquals(12.5, table.get(5));
+        Assertions.assertEquals(25, table.get(10));
+    }
+
+    @Test
+    void testMultipleRings()
+    {
+        final MotionTable table = MotionTable.of(4, 3, (tick, ring) -> tick * 10 + ring);
+
+        Assertions.assertEquals(3, table.getRingCount());
+        for (int ring = 0; ring < 3; ++ring)
+            for (int tick = 0; tick <= 4; ++tick)
+                Assertions.assertEquals(tick * 10 + ring, table.get(tick, ring));
+    }
+
+    @Test
+    void testClampedTicks()
+    {
+        final MotionTable table = MotionTable.of(4, 2, (tick, ring) -> tick * 10 + ring);
+
+        Assertions.assertEquals(0, table.get(-5, 0));
+        Assertions.assertEquals(41, table.get(100, 1));
+    }
+
+    @Test
+    void testInvalidInput()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MotionTable.of(-1, tick -> 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MotionTable.of(1, 0, (tick, ring) -> 0));
+    }
+}
@@ -0,0 +1,121 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalMatchers;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static nl.pim16aap2.bigdoors.moveblocks.BlockMover.MovementMethod;
+
+class MovementMethodTest
+{
+    @Test
+    void testVelocityThreshold()
+    {
+        final IAnimatedBlock animatedBlock = mockAnimatedBlock();
+        final AnimatedBlockPositions positions = new AnimatedBlockPositions(List.of(animatedBlock));
+
+        positions.setGoal(0, 10, 0, 0);
+        Assertions.assertTrue(MovementMethod.VELOCITY.apply(animatedBlock, positions, 0, 0.01));
+        Mockito.verify(animatedBlock).setVelocity(AdditionalMatchers.eq(1.01, 1E-6), Mockito.eq(0D), Mockito.eq(0D));
+        Assertions.assertEquals(1.01, positions.getVelocityX(0), 1E-6);
+
+        // The resulting velocity is the same as before, so this update should be skipped.
+        Assertions.assertFalse(MovementMethod.VELOCITY.apply(animatedBlock, positions, 0, 0.01));
+
+        positions.setGoal(0, 10, 1, 0);
+        Assertions.assertTrue(MovementMethod.VELOCITY.apply(animatedBlock, positions, 0, 0.01));
+        Mockito.verify(animatedBlock, Mockito.times(2)).setVelocity(Mockito.anyDouble(), Mockito.anyDouble(),
+                                                                    Mockito.anyDouble());
+    }
+
+    @Test
+    void testTeleportThreshold()
+    {
+        final IAnimatedBlock animatedBlock = mockAnimatedBlock();
+        final AnimatedBlockPositions positions = new AnimatedBlockPositions(List.of(animatedBlock));
+
+        positions.setGoal(0, 0.001, 0, 0);
+        Assertions.assertFalse(MovementMethod.TELEPORT.apply(animatedBlock, positions, 0, 0.01));
+        Mockito.verify(animatedBlock, Mockito.never()).teleport(Mockito.any(Vector3Dd.class));
+
+        positions.setGoal(0, 0.5, 0, 0);
+        Assertions.assertTrue(MovementMethod.TELEPORT.apply(animatedBlock, positions, 0, 0.01));
+        Mockito.verify(animatedBlock).teleport(new Vector3Dd(0.5, 0, 0));
+    }
+
+    @Test
+    void testNoThreshold()
+    {
+        final IAnimatedBlock animatedBlock = mockAnimatedBlock();
+        final AnimatedBlockPositions positions = new AnimatedBlockPositions(List.of(animatedBlock));
+
+        Assertions.assertTrue(MovementMethod.VELOCITY.apply(animatedBlock, positions, 0, 0));
+        Assertions.assertTrue(MovementMethod.VELOCITY.apply(animatedBlock, positions, 0, 0));
+    }
+
+    @Test
+    void testKeyframes()
+    {
+        // The first step, the step after the maximum keyframe interval, and the step after the block stopped moving.
+        Assertions.assertEquals(3, countKeyframes(1));
+    }
+
+    @Test
+    void testKeyframesSkippedTicks()
+    {
+        // Only every other tick is executed, so the velocity of the block should be spread out over both ticks.
+        // Otherwise, the block would overshoot its goal every step, causing a new keyframe every step.
+        Assertions.assertEquals(3, countKeyframes(2));
+    }
+
+    /**
+     * Moves a block along a straight line for 50 ticks and lets it stand still for 30 more ticks.
+     *
+     * @param tickInterval
+     *     The number of ticks between two successive steps.
+     * @return The number of keyframes that were created.
+     */
+    private static int countKeyframes(int tickInterval)
+    {
+        final IAnimatedBlock animatedBlock = Mockito.mock(IAnimatedBlock.class);
+        final AnimatedBlockPositions positions = new AnimatedBlockPositions(List.of(animatedBlock));
+        final MovementMethod keyframed = MovementMethod.keyframed(BlockMover.PathSmoothness.LINEAR);
+
+        // Simulate a block that keeps moving with the velocity of the last keyframe.
+        final double[] currentX = {0};
+        Mockito.when(animatedBlock.getCurrentPosition()).thenAnswer(invocation -> new Vector3Dd(currentX[0], 0, 0));
+        Mockito.when(animatedBlock.teleport(Mockito.any(Vector3Dd.class))).thenAnswer(
+            invocation ->
+            {
+                currentX[0] = invocation.getArgument(0, Vector3Dd.class).x();
+                return true;
+            });
+
+        int keyframes = 0;
+        for (int tick = tickInterval; tick <= 80; tick += tickInterval)
+        {
+            // The block keeps moving every tick, including the ticks that are skipped.
+            currentX[0] += positions.getVelocityX(0) * tickInterval;
+            positions.setTick(tick);
+            positions.setGoal(0, 0.1 * Math.min(tick, 50), 0, 0);
+            if (keyframed.apply(animatedBlock, positions, 0, 0.001))
+                ++keyframes;
+            Assertions.assertEquals(positions.getGoalX(0), currentX[0], 0.05 + 1E-6);
+        }
+
+        Assertions.assertEquals(0, positions.getVelocityX(0));
+        return keyframes;
+    }
+
+    private static IAnimatedBlock mockAnimatedBlock()
+    {
+        final IAnimatedBlock animatedBlock = Mockito.mock(IAnimatedBlock.class);
+        Mockito.when(animatedBlock.getCurrentPosition()).thenReturn(new Vector3Dd(0, 0, 0));
+        return animatedBlock;
+    }
+}
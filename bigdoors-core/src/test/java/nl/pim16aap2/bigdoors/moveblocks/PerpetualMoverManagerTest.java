@@ -0,0 +1,176 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.IChunkManager;
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import nl.pim16aap2.bigdoors.api.IPWorld;
+import nl.pim16aap2.bigdoors.api.restartable.RestartableHolder;
+import nl.pim16aap2.bigdoors.doors.AbstractDoor;
+import nl.pim16aap2.bigdoors.doors.DoorToggleRequestBuilder;
+import nl.pim16aap2.bigdoors.doors.doorarchetypes.IPerpetualMover;
+import nl.pim16aap2.bigdoors.managers.DatabaseManager;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.Util;
+import nl.pim16aap2.bigdoors.util.vector.Vector2Di;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+class PerpetualMoverManagerTest
+{
+    @Mock
+    private DoorActivityManager doorActivityManager;
+
+    @Mock
+    private IPWorld world;
+
+    @Mock
+    private IConfigLoader config;
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    @Mock
+    private IPExecutor executor;
+
+    @Mock
+    private IChunkManager chunkManager;
+
+    private DoorToggleRequestBuilder doorToggleRequestBuilder;
+
+    private PerpetualMoverManager perpetualMoverManager;
+
+    @BeforeEach
+    void init()
+    {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(world.worldName()).thenReturn("world");
+        Mockito.when(config.perpetualAnimationViewDistance()).thenReturn(16);
+        Mockito.doAnswer(
+            invocation ->
+            {
+                invocation.getArgument(0, Runnable.class).run();
+                return null;
+            }).when(executor).runOnMainThread(Mockito.any(Runnable.class));
+        doorToggleRequestBuilder = Mockito.mock(DoorToggleRequestBuilder.class, Mockito.RETURNS_DEEP_STUBS);
+        perpetualMoverManager = new PerpetualMoverManager(Mockito.mock(RestartableHolder.class), databaseManager,
+                                                          doorActivityManager, doorToggleRequestBuilder, executor,
+                                                          config, chunkManager);
+    }
+
+    @Test
+    void testOnChunkLoad()
+    {
+        // Spans chunks [0, 1] on the x axis and chunk 0 on the z axis, with the power block in chunk (0, 0).
+        final AbstractDoor door = newDoor(new Cuboid(new Vector3Di(10, 0, 0), new Vector3Di(20, 5, 5)));
+        final Vector2Di powerChunk = new Vector2Di(0, 0);
+        final Vector2Di otherChunk = new Vector2Di(1, 0);
+        Mockito.when(databaseManager.getDoorsInChunk(Mockito.anyLong()))
+               .thenReturn(CompletableFuture.completedFuture(List.of()));
+        Mockito.when(databaseManager.getDoorsInChunk(Util.getChunkId(powerChunk)))
+               .thenReturn(CompletableFuture.completedFuture(List.of(1L)));
+        Mockito.when(databaseManager.getDoor(1L)).thenReturn(CompletableFuture.completedFuture(Optional.of(door)));
+        Mockito.when(chunkManager.isLoaded(world, powerChunk)).thenReturn(true);
+
+        // The other chunk of the door is not loaded yet, so the animation cannot be started yet.
+        perpetualMoverManager.onChunkLoad(world, powerChunk);
+        Mockito.verify(doorToggleRequestBuilder, Mockito.never()).builder();
+        Assertions.assertEquals(1, perpetualMoverManager.getPendingCount());
+
+        Mockito.when(chunkManager.isLoaded(world, otherChunk)).thenReturn(true);
+        perpetualMoverManager.onChunkLoad(world, otherChunk);
+        Mockito.verify(doorToggleRequestBuilder).builder();
+        Assertions.assertEquals(0, perpetualMoverManager.getPendingCount());
+    }
+
+    @Test
+    void testReloadAfterUnload()
+    {
+        final BlockMover looping = newBlockMover(true, new Cuboid(new Vector3Di(10, 0, 0), new Vector3Di(20, 5, 5)));
+        Mockito.when(doorActivityManager.getBlockMovers()).thenAnswer(invocation -> Stream.of(looping));
+        Mockito.when(databaseManager.getDoorsInChunk(Mockito.anyLong()))
+               .thenReturn(CompletableFuture.completedFuture(List.of()));
+        Mockito.when(chunkManager.isLoaded(Mockito.eq(world), Mockito.any())).thenReturn(true);
+
+        // The power block is still loaded, so the animation should be restarted once the chunk is reloaded.
+        perpetualMoverManager.onChunkUnload(world, new Vector2Di(1, 0));
+        Assertions.assertEquals(1, perpetualMoverManager.getPendingCount());
+        perpetualMoverManager.onChunkLoad(world, new Vector2Di(1, 0));
+        Mockito.verify(doorToggleRequestBuilder).builder();
+        Assertions.assertEquals(0, perpetualMoverManager.getPendingCount());
+
+        // Unloading the power block chunk should forget about the door, as it is found again when that chunk is loaded.
+        perpetualMoverManager.onChunkUnload(world, new Vector2Di(1, 0));
+        perpetualMoverManager.onChunkUnload(world, new Vector2Di(0, 0));
+        Assertions.assertEquals(0, perpetualMoverManager.getPendingCount());
+    }
+
+    @Test
+    void testOnChunkUnload()
+    {
+        // Spans chunks [0, 1] on the x axis and chunk 0 on the z axis.
+        final BlockMover looping = newBlockMover(true, new Cuboid(new Vector3Di(10, 0, 0), new Vector3Di(20, 5, 5)));
+        final BlockMover oneShot = newBlockMover(false, new Cuboid(new Vector3Di(10, 0, 0), new Vector3Di(20, 5, 5)));
+        final BlockMover elsewhere = newBlockMover(true, new Cuboid(new Vector3Di(40, 0, 0), new Vector3Di(50, 5, 5)));
+        Mockito.when(doorActivityManager.getBlockMovers())
+               .thenAnswer(invocation -> Stream.of(looping, oneShot, elsewhere));
+
+        perpetualMoverManager.onChunkUnload(world, new Vector2Di(1, 0));
+
+        Mockito.verify(looping).abort();
+        Mockito.verify(doorActivityManager).processFinishedBlockMover(looping, false);
+        Mockito.verify(oneShot, Mockito.never()).abort();
+        Mockito.verify(elsewhere, Mockito.never()).abort();
+    }
+
+    @Test
+    void testUpdateSuspensions()
+    {
+        final BlockMover watched = newBlockMover(true, new Cuboid(new Vector3Di(0, 0, 0), new Vector3Di(10, 5, 5)));
+        final BlockMover unwatched =
+            newBlockMover(true, new Cuboid(new Vector3Di(100, 0, 0), new Vector3Di(110, 5, 5)));
+        Mockito.when(doorActivityManager.getBlockMovers())
+               .thenAnswer(invocation -> Stream.of(watched, unwatched));
+        Mockito.when(world.getPlayerPositions()).thenReturn(List.of(new Vector3Dd(20, 2, 2)));
+
+        perpetualMoverManager.updateSuspensions();
+        Mockito.verify(watched).setSuspended(false);
+        Mockito.verify(unwatched).setSuspended(true);
+        // The player positions should only be retrieved once per world.
+        Mockito.verify(world).getPlayerPositions();
+
+        Mockito.when(config.perpetualAnimationViewDistance()).thenReturn(-1);
+        perpetualMoverManager.updateSuspensions();
+        Mockito.verify(unwatched).setSuspended(false);
+    }
+
+    private BlockMover newBlockMover(boolean looping, Cuboid cuboid)
+    {
+        final AbstractDoor door = newDoor(cuboid);
+        final BlockMover mover = Mockito.mock(BlockMover.class);
+        Mockito.when(mover.isLooping()).thenReturn(looping);
+        Mockito.when(mover.getDoor()).thenReturn(door);
+        return mover;
+    }
+
+    private AbstractDoor newDoor(Cuboid cuboid)
+    {
+        final AbstractDoor door = Mockito.mock(AbstractDoor.class,
+                                               Mockito.withSettings().extraInterfaces(IPerpetualMover.class));
+        Mockito.when(door.getDoorUID()).thenReturn(1L);
+        Mockito.when(door.getWorld()).thenReturn(world);
+        Mockito.when(door.getCuboid()).thenReturn(cuboid);
+        Mockito.when(door.getPowerBlock()).thenReturn(new Vector3Di(5, 0, 5));
+        return door;
+    }
+}
@@ -0,0 +1,48 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RegionBoundsTest
+{
+    @Test
+    void testAscendingPositions()
+    {
+        final RegionBounds bounds = new RegionBounds();
+        Assertions.assertTrue(bounds.isEmpty());
+        Assertions.assertThrows(IllegalStateException.class, bounds::toCuboid);
+
+        // Every position is larger than the previous one, so every position updates both the min and the max.
+        bounds.add(1, 2, 3);
+        bounds.add(2, 3, 4);
+        bounds.add(3, 4, 5);
+
+        Assertions.assertFalse(bounds.isEmpty());
+        Assertions.assertEquals(new Cuboid(new Vector3Di(1, 2, 3), new Vector3Di(3, 4, 5)), bounds.toCuboid());
+    }
+
+    @Test
+    void testNegativePositions()
+    {
+        final RegionBounds bounds = new RegionBounds();
+        bounds.add(-10.5, -20.2, -30.7);
+        bounds.add(-5.5, -25.2, -1.3);
+
+        Assertions.assertEquals(new Cuboid(new Vector3Di(-11, -26, -31), new Vector3Di(-5, -20, -1)),
+                                bounds.toCuboid());
+    }
+
+    @Test
+    void testReset()
+    {
+        final RegionBounds bounds = new RegionBounds();
+        bounds.add(100, 100, 100);
+        bounds.reset();
+        Assertions.assertTrue(bounds.isEmpty());
+
+        bounds.add(1, 1, 1);
+        Assertions.assertEquals(new Cuboid(new Vector3Di(1, 1, 1), new Vector3Di(1, 1, 1)), bounds.toCuboid());
+    }
+}
@@ -0,0 +1,123 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockData;
+import nl.pim16aap2.bigdoors.api.animatedblock.IBlockChangeBatch;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class SpawnPlannerTest
+{
+    @Test
+    void testSortByDistance()
+    {
+        final IAnimatedBlock far = newAnimatedBlock(new Vector3Dd(100, 0, 0), false);
+        final IAnimatedBlock near = newAnimatedBlock(new Vector3Dd(10, 0, 0), false);
+        final IAnimatedBlock nearOther = newAnimatedBlock(new Vector3Dd(-55, 0, 0), false);
+        final List<IAnimatedBlock> blocks = List.of(far, near, nearOther);
+
+        // Without any players, the order should not change.
+        Assertions.assertArrayEquals(blocks.toArray(), SpawnPlanner.sortByDistance(blocks, List.of()));
+
+        final List<Vector3Dd> players = List.of(new Vector3Dd(0, 0, 0), new Vector3Dd(-60, 0, 0));
+        Assertions.assertArrayEquals(new IAnimatedBlock[]{nearOther, near, far},
+                                     SpawnPlanner.sortByDistance(blocks, players));
+    }
+
+    @Test
+    void testBatches()
+        throws Exception
+    {
+        final IAnimatedBlock edge = newAnimatedBlock(new Vector3Dd(0, 0, 0), true);
+        final IAnimatedBlock center = newAnimatedBlock(new Vector3Dd(1, 0, 0), false);
+        final IAnimatedBlock interior = newAnimatedBlock(new Vector3Dd(2, 0, 0), false);
+
+        final SpawnPlanner planner = new SpawnPlanner(List.of(edge, center), List.of(interior), List.of(), 2,
+                                                      IBlockChangeBatch::immediate);
+
+        Assertions.assertFalse(planner.processBatch());
+        Mockito.verify(edge).spawn();
+        Mockito.verify(center).spawn();
+        Mockito.verify(interior.getAnimatedBlockData(), Mockito.never()).deleteOriginalBlock(Mockito.anyBoolean());
+
+        Assertions.assertTrue(planner.processBatch());
+        Assertions.assertTrue(planner.isDone());
+        Mockito.verify(interior, Mockito.never()).spawn();
+
+        // Physics should only be applied to the edges after all original blocks have been removed.
+        final InOrder inOrder = Mockito.inOrder(interior.getAnimatedBlockData(), edge.getAnimatedBlockData());
+        inOrder.verify(interior.getAnimatedBlockData()).deleteOriginalBlock(false);
+        inOrder.verify(edge.getAnimatedBlockData()).deleteOriginalBlock(true);
+        Mockito.verify(center.getAnimatedBlockData(), Mockito.never()).deleteOriginalBlock(true);
+    }
+
+    @Test
+    void testUnlimitedBudget()
+        throws Exception
+    {
+        final IAnimatedBlock block = newAnimatedBlock(new Vector3Dd(0, 0, 0), true);
+        final SpawnPlanner planner = new SpawnPlanner(List.of(block), List.of(), List.of(), -1,
+                                                      IBlockChangeBatch::immediate);
+        Assertions.assertTrue(planner.processBatch());
+        Mockito.verify(block.getAnimatedBlockData()).deleteOriginalBlock(false);
+        Mockito.verify(block.getAnimatedBlockData()).deleteOriginalBlock(true);
+    }
+
+    @Test
+    void testBatchAppliedBeforeSpawning()
+        throws Exception
+    {
+        final IAnimatedBlock block = newAnimatedBlock(new Vector3Dd(0, 0, 0), false);
+        final IBlockChangeBatch batch = Mockito.mock(IBlockChangeBatch.class);
+        final SpawnPlanner planner = new SpawnPlanner(List.of(block), List.of(), List.of(), 1, () -> batch);
+        Assertions.assertTrue(planner.processBatch());
+
+        final InOrder inOrder = Mockito.inOrder(batch, block);
+        inOrder.verify(batch).deleteOriginalBlock(block.getAnimatedBlockData(), false);
+        inOrder.verify(batch).apply();
+        inOrder.verify(block).spawn();
+        Mockito.verify(block.getAnimatedBlockData(), Mockito.never()).deleteOriginalBlock(Mockito.anyBoolean());
+    }
+
+    @Test
+    void testChangedBlock()
+        throws Exception
+    {
+        final IAnimatedBlock first = newAnimatedBlock(new Vector3Dd(0, 0, 0), false);
+        final IAnimatedBlock second = newAnimatedBlock(new Vector3Dd(1, 0, 0), false);
+        final IAnimatedBlock interior = newAnimatedBlock(new Vector3Dd(2, 0, 0), false);
+        final SpawnPlanner planner = new SpawnPlanner(List.of(first, second), List.of(interior), List.of(), 1,
+                                                      IBlockChangeBatch::immediate);
+
+        // Only the blocks in the next batch should be checked.
+        Mockito.when(interior.getAnimatedBlockData().isOriginalBlockUnchanged()).thenReturn(false);
+        Assertions.assertNull(planner.findChangedBlock());
+        Assertions.assertFalse(planner.processBatch());
+        Assertions.assertEquals(List.of(first), planner.getRemovedBlocks());
+
+        Mockito.when(second.getAnimatedBlockData().isOriginalBlockUnchanged()).thenReturn(false);
+        Assertions.assertSame(second, planner.findChangedBlock());
+        Mockito.verify(second.getAnimatedBlockData(), Mockito.never()).deleteOriginalBlock(Mockito.anyBoolean());
+
+        Mockito.when(second.getAnimatedBlockData().isOriginalBlockUnchanged()).thenReturn(true);
+        Assertions.assertFalse(planner.processBatch());
+        Assertions.assertSame(interior, planner.findChangedBlock());
+        Assertions.assertEquals(List.of(first, second), planner.getRemovedBlocks());
+    }
+
+    private static IAnimatedBlock newAnimatedBlock(Vector3Dd startPosition, boolean onEdge)
+    {
+        final IAnimatedBlockData blockData = Mockito.mock(IAnimatedBlockData.class);
+        final IAnimatedBlock animatedBlock = Mockito.mock(IAnimatedBlock.class);
+        Mockito.when(animatedBlock.getStartPosition()).thenReturn(startPosition);
+        Mockito.when(animatedBlock.isOnEdge()).thenReturn(onEdge);
+        Mockito.when(animatedBlock.getAnimatedBlockData()).thenReturn(blockData);
+        Mockito.when(blockData.isOriginalBlockUnchanged()).thenReturn(true);
+        return animatedBlock;
+    }
+}
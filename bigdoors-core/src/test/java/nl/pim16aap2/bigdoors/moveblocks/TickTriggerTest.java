@@ -0,0 +1,43 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class TickTriggerTest
+{
+    @Test
+    void testExactTick()
+    {
+        final TickTrigger trigger = new TickTrigger(3);
+        Assertions.assertFalse(trigger.test(1));
+        Assertions.assertFalse(trigger.test(2));
+        Assertions.assertTrue(trigger.test(3));
+        Assertions.assertFalse(trigger.test(4));
+    }
+
+    @Test
+    void testSkippedTick()
+    {
+        final int halfEndCount = 30;
+        final AtomicLong now = new AtomicLong(0);
+        final AnimationClock clock = new AnimationClock(now::get);
+        final TickTrigger trigger = new TickTrigger(halfEndCount);
+
+        int fired = 0;
+        for (int idx = 0; idx < 10; ++idx)
+        {
+            // Every execution is 7 ticks late, so the clock jumps over the half-way tick.
+            final int ticks = clock.advance(60);
+            Assertions.assertNotEquals(halfEndCount, ticks);
+            if (trigger.test(ticks))
+            {
+                ++fired;
+                Assertions.assertTrue(ticks > halfEndCount);
+            }
+            now.addAndGet(7 * AnimationClock.TICK_NANOS);
+        }
+        Assertions.assertEquals(1, fired);
+    }
+}
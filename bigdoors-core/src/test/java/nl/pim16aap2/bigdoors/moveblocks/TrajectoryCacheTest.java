@@ -0,0 +1,84 @@
+package nl.pim16aap2.bigdoors.moveblocks;
+
+import nl.pim16aap2.bigdoors.api.restartable.RestartableHolder;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.RotateDirection;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class TrajectoryCacheTest
+{
+    private static final Cuboid CUBOID = new Cuboid(new Vector3Di(0, 0, 0), new Vector3Di(1, 1, 1));
+    private static final Cuboid NEW_CUBOID = new Cuboid(new Vector3Di(0, 4, 0), new Vector3Di(1, 5, 1));
+
+    @Test
+    void testGetPut()
+    {
+        final TrajectoryCache trajectoryCache = new TrajectoryCache(Mockito.mock(RestartableHolder.class));
+        final Trajectory trajectory = new Trajectory(8);
+        trajectory.set(3, 1.5F, 0.25F, new Vector3Dd(1, 2, 3));
+
+        final Trajectory.Key key = newKey(RotateDirection.UP, CUBOID, NEW_CUBOID);
+        trajectoryCache.put(1, key, trajectory);
+
+        Assertions.assertSame(trajectory, trajectoryCache.get(1, newKey(RotateDirection.UP, CUBOID, NEW_CUBOID))
+                                                         .orElseThrow());
+        Assertions.assertEquals(new Vector3Dd(1, 2, 3), trajectory.getFinalPosition(3));
+
+        // The trajectory of the door in the opposite direction is not cached yet.
+        Assertions.assertTrue(trajectoryCache.get(1, newKey(RotateDirection.DOWN, NEW_CUBOID, CUBOID)).isEmpty());
+        Assertions.assertTrue(trajectoryCache.get(2, key).isEmpty());
+    }
+
+    @Test
+    void testDiscriminator()
+    {
+        final TrajectoryCache trajectoryCache = new TrajectoryCache(Mockito.mock(RestartableHolder.class));
+        final Trajectory trajectory = new Trajectory(8);
+        trajectoryCache.put(1, newKey(RotateDirection.NONE, CUBOID, CUBOID, List.of(RotateDirection.CLOCKWISE, 1)),
+                            trajectory);
+
+        Assertions.assertSame(trajectory, trajectoryCache
+            .get(1, newKey(RotateDirection.NONE, CUBOID, CUBOID, List.of(RotateDirection.CLOCKWISE, 1))).orElseThrow());
+
+        // Inputs that are not part of the open direction and the cuboids should still result in a different key.
+        Assertions.assertTrue(trajectoryCache
+                                  .get(1, newKey(RotateDirection.NONE, CUBOID, CUBOID,
+                                                 List.of(RotateDirection.CLOCKWISE, 2))).isEmpty());
+        Assertions.assertTrue(trajectoryCache
+                                  .get(1, newKey(RotateDirection.NONE, CUBOID, CUBOID,
+                                                 List.of(RotateDirection.COUNTERCLOCKWISE, 1))).isEmpty());
+        Assertions.assertTrue(trajectoryCache.get(1, newKey(RotateDirection.NONE, CUBOID, CUBOID)).isEmpty());
+    }
+
+    @Test
+    void testInvalidate()
+    {
+        final TrajectoryCache trajectoryCache = new TrajectoryCache(Mockito.mock(RestartableHolder.class));
+        final Trajectory.Key key = newKey(RotateDirection.UP, CUBOID, NEW_CUBOID);
+        trajectoryCache.put(1, key, new Trajectory(8));
+        trajectoryCache.put(2, key, new Trajectory(8));
+
+        trajectoryCache.invalidate(1);
+        Assertions.assertTrue(trajectoryCache.get(1, key).isEmpty());
+        Assertions.assertTrue(trajectoryCache.get(2, key).isPresent());
+    }
+
+    private static Trajectory.Key newKey(RotateDirection openDirection, Cuboid cuboid, Cuboid newCuboid)
+    {
+        return newKey(openDirection, cuboid, newCuboid, null);
+    }
+
+    private static Trajectory.Key newKey(
+        RotateDirection openDirection, Cuboid cuboid, Cuboid newCuboid, @Nullable Object discriminator)
+    {
+        return new Trajectory.Key(BlockMover.class, openDirection, cuboid, newCuboid, new Vector3Di(0, 0, 0),
+                                  discriminator);
+    }
+}
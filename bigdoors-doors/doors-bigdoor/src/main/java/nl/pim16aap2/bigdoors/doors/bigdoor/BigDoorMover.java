@@ -2,11 +2,12 @@ package nl.pim16aap2.bigdoors.doors.bigdoor;
 
 import lombok.extern.flogger.Flogger;
 import nl.pim16aap2.bigdoors.api.IPPlayer;
-import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
 import nl.pim16aap2.bigdoors.doors.AbstractDoor;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
 import nl.pim16aap2.bigdoors.moveblocks.BlockMover;
+import nl.pim16aap2.bigdoors.moveblocks.MotionTable;
+import nl.pim16aap2.bigdoors.moveblocks.TickTrigger;
 import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.RotateDirection;
 import nl.pim16aap2.bigdoors.util.Util;
@@ -23,6 +24,21 @@ public class BigDoorMover extends BlockMover
     private final double angle;
     private double step;
 
+    /**
+     * The cosine of the angle of the door for every tick of the animation.
+     */
+    private final MotionTable cosTable;
+
+    /**
+     * The sine of the angle of the door for every tick of the animation.
+     */
+    private final MotionTable sinTable;
+
+    /**
+     * Fires when the door is half-way, at which point the blocks are rotated.
+     */
+    private final TickTrigger rotationTrigger;
+
     public BigDoorMover(
         Context context, AbstractDoor door, RotateDirection rotDirection, double time,
         boolean skipAnimation, double multiplier, IPPlayer player, Cuboid newCuboid,
@@ -47,6 +63,9 @@ public class BigDoorMover extends BlockMover
         super.time = 3;
 
         init();
+        cosTable = MotionTable.of(animationDuration, tick -> Math.cos(step * tick));
+        sinTable = MotionTable.of(animationDuration, tick -> Math.sin(step * tick));
+        rotationTrigger = new TickTrigger(halfEndCount);
         super.startAnimation();
     }
 
@@ -56,6 +75,7 @@ public class BigDoorMover extends BlockMover
     protected void init()
     {
         super.animationDuration = (int) (20 * super.time) + 1;
+        super.rotatesBlocks = true;
         step = angle / super.animationDuration;
         halfEndCount = super.animationDuration / 2;
     }
@@ -69,15 +89,33 @@ public class BigDoorMover extends BlockMover
     @Override
     protected void executeAnimationStep(int ticks)
     {
-        if (ticks == halfEndCount)
+        if (rotationTrigger.test(ticks))
             applyRotation();
 
-        final double stepSum = step * ticks;
-        final double cos = Math.cos(stepSum);
-        final double sin = Math.sin(stepSum);
+        final double cos = cosTable.get(ticks);
+        final double sin = sinTable.get(ticks);
 
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getGoalPos(animatedBlock, cos, sin));
+        forEachBlockIndex(idx -> updateGoalPos(idx, cos, sin));
+    }
+
+    @Override
+    protected Cuboid getAnimationRegion(int ticks)
+    {
+        final double cos = cosTable.get(ticks);
+        final double sin = sinTable.get(ticks);
+        return getTransformedRegion(start -> getGoalPos(cos, sin, start.x(), start.y(), start.z()));
+    }
+
+    private void updateGoalPos(int index, double cos, double sin)
+    {
+        final double translatedX = positions.getStartX(index) - rotationCenter.x();
+        final double translatedZ = positions.getStartZ(index) - rotationCenter.z();
+
+        final double changeX = translatedX * cos - translatedZ * sin;
+        final double changeZ = translatedX * sin + translatedZ * cos;
+
+        positions.setGoal(index, rotationCenter.x() + changeX, positions.getStartY(index),
+                          rotationCenter.z() + changeZ);
     }
 
     private Vector3Dd getGoalPos(double cos, double sin, double startX, double startY, double startZ)
@@ -96,11 +134,6 @@ public class BigDoorMover extends BlockMover
         return getGoalPos(Math.cos(angle), Math.sin(angle), startX, startY, startZ);
     }
 
-    private Vector3Dd getGoalPos(IAnimatedBlock animatedBlock, double cos, double sin)
-    {
-        return getGoalPos(cos, sin, animatedBlock.getStartX(), animatedBlock.getStartY(), animatedBlock.getStartZ());
-    }
-
     @Override
     protected float getRadius(int xAxis, int yAxis, int zAxis)
     {
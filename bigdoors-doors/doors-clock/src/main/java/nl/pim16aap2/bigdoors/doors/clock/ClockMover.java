@@ -8,12 +8,15 @@ import nl.pim16aap2.bigdoors.doors.windmill.WindmillMover;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
 import nl.pim16aap2.bigdoors.moveblocks.BlockMover;
+import nl.pim16aap2.bigdoors.moveblocks.MotionTable;
+import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.RotateDirection;
 import nl.pim16aap2.bigdoors.util.Util;
 import nl.pim16aap2.bigdoors.util.WorldTime;
 import nl.pim16aap2.bigdoors.util.vector.IVector3D;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 /**
@@ -50,6 +53,16 @@ public class ClockMover<T extends AbstractDoor & IHorizontalAxisAligned> extends
      */
     protected final int angleDirectionMultiplier;
 
+    /**
+     * The number of ticks between two successive updates of the hour arm.
+     */
+    private static final int HOUR_ARM_INTERVAL = 10;
+
+    /**
+     * The interval of the cycle in which the hour arm was last moved, or -1 if it has not been moved yet.
+     */
+    private int hourArmInterval = -1;
+
     public ClockMover(
         Context context, T door, RotateDirection rotateDirection, IPPlayer player, DoorActionCause cause,
         DoorActionType actionType)
@@ -64,7 +77,10 @@ public class ClockMover<T extends AbstractDoor & IHorizontalAxisAligned> extends
     @Override
     protected void init()
     {
-        super.animationDuration = 40_000;
+        // The arms follow the time in the world, so a cycle only has to be long enough to contain an update of the
+        // hour arm.
+        super.animationDuration = 20;
+        super.looping = true;
     }
 
     /**
@@ -87,6 +103,14 @@ public class ClockMover<T extends AbstractDoor & IHorizontalAxisAligned> extends
         return ((int) animatedBlock.getPosition().x()) == door.getRotationPoint().x();
     }
 
+    @Override
+    protected MotionTable createRotationTable(DoubleUnaryOperator function)
+    {
+        // The angles of the arms depend on the time in the world rather than on the number of ticks since the start
+        // of the animation, so there is nothing to precompute.
+        return MotionTable.of(0, tick -> function.applyAsDouble(0));
+    }
+
     @Override
     protected Vector3Dd getFinalPosition(IVector3D startLocation, float radius)
     {
@@ -101,21 +125,42 @@ public class ClockMover<T extends AbstractDoor & IHorizontalAxisAligned> extends
                                                                                     worldTime.getMinutes());
         final double minuteAngle = angleDirectionMultiplier * ClockMover.minutesToAngle(worldTime.getMinutes());
 
-        // Move the hour arm at a lower tickRate than the minute arm.
-        final boolean moveHourArm = ticks % 10 == 0;
+        final double hourCos = Math.cos(hourAngle);
+        final double hourSin = Math.sin(hourAngle);
+        final double minuteCos = Math.cos(minuteAngle);
+        final double minuteSin = Math.sin(minuteAngle);
 
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            if (Math.abs(animatedBlock.getRadius()) > EPS)
+        // Move the hour arm at a lower tickRate than the minute arm. Ticks may be skipped, so the hour arm is moved
+        // whenever a new interval has started rather than at exact ticks.
+        final int currentHourArmInterval = (ticks / HOUR_ARM_INTERVAL) % 2;
+        final boolean moveHourArm = currentHourArmInterval != hourArmInterval;
+        hourArmInterval = currentHourArmInterval;
+
+        forEachBlockIndex(
+            idx ->
             {
-                // Move the little hand at a lower interval than the big hand.
-                // TODO: Just store the hour and minute arms separately.
-                final boolean hourArm = isHourArm.apply(animatedBlock);
-                if (!moveHourArm && hourArm)
-                    continue;
-
-                final double timeAngle = hourArm ? hourAngle : minuteAngle;
-                movementMethod.apply(animatedBlock, getGoalPos(timeAngle, animatedBlock));
-            }
+                final IAnimatedBlock animatedBlock = animatedBlocks.get(idx);
+                if (Math.abs(animatedBlock.getRadius()) > EPS)
+                {
+                    // Move the little hand at a lower interval than the big hand.
+                    // TODO: Just store the hour and minute arms separately.
+                    final boolean hourArm = isHourArm.apply(animatedBlock);
+                    if (!moveHourArm && hourArm)
+                        return;
+
+                    if (hourArm)
+                        updateGoalPos(idx, hourCos, hourSin);
+                    else
+                        updateGoalPos(idx, minuteCos, minuteSin);
+                }
+            });
+    }
+
+    @Override
+    protected Cuboid getAnimationRegion(int ticks)
+    {
+        // The arms of a clock rotate within its face, so they never leave the cuboid of the clock.
+        return door.getCuboid();
     }
 
     /**
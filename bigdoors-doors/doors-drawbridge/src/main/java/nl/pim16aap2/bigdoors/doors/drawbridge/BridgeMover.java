@@ -8,6 +8,8 @@ import nl.pim16aap2.bigdoors.doors.doorarchetypes.IHorizontalAxisAligned;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
 import nl.pim16aap2.bigdoors.moveblocks.BlockMover;
+import nl.pim16aap2.bigdoors.moveblocks.MotionTable;
+import nl.pim16aap2.bigdoors.moveblocks.TickTrigger;
 import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.RotateDirection;
 import nl.pim16aap2.bigdoors.util.Util;
@@ -15,6 +17,8 @@ import nl.pim16aap2.bigdoors.util.functional.TriFunction;
 import nl.pim16aap2.bigdoors.util.vector.IVector3D;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * Represents a {@link BlockMover} for {@link Drawbridge}s.
  *
@@ -26,10 +30,30 @@ public class BridgeMover<T extends AbstractDoor & IHorizontalAxisAligned> extend
     protected final boolean northSouth;
     protected final TriFunction<Vector3Dd, Vector3Dd, Double, Vector3Dd> rotator;
 
+    /**
+     * True if the blocks are rotated around the x axis, false if they are rotated around the z axis.
+     */
+    private final boolean rotateAroundXAxis;
+
     private int halfEndCount;
-    private double step;
+    protected double step;
     protected final double angle;
 
+    /**
+     * The cosine of the angle of the door for every tick of the animation.
+     */
+    protected final MotionTable cosTable;
+
+    /**
+     * The sine of the angle of the door for every tick of the animation.
+     */
+    protected final MotionTable sinTable;
+
+    /**
+     * Fires when the door is half-way, at which point the blocks are respawned.
+     */
+    private final TickTrigger respawnTrigger;
+
     /**
      * Constructs a {@link BlockMover}.
      *
@@ -68,18 +92,22 @@ public class BridgeMover<T extends AbstractDoor & IHorizontalAxisAligned> extend
             case NORTH:
                 angle = -Math.PI / 2;
                 rotator = Vector3Dd::rotateAroundXAxis;
+                rotateAroundXAxis = true;
                 break;
             case SOUTH:
                 angle = Math.PI / 2;
                 rotator = Vector3Dd::rotateAroundXAxis;
+                rotateAroundXAxis = true;
                 break;
             case EAST:
                 angle = Math.PI / 2;
                 rotator = Vector3Dd::rotateAroundZAxis;
+                rotateAroundXAxis = false;
                 break;
             case WEST:
                 angle = -Math.PI / 2;
                 rotator = Vector3Dd::rotateAroundZAxis;
+                rotateAroundXAxis = false;
                 break;
             default:
                 throw new IllegalArgumentException("RotateDirection \"" + rotateDirection.name() +
@@ -87,6 +115,9 @@ public class BridgeMover<T extends AbstractDoor & IHorizontalAxisAligned> extend
         }
 
         init();
+        cosTable = createRotationTable(Math::cos);
+        sinTable = createRotationTable(Math::sin);
+        respawnTrigger = new TickTrigger(halfEndCount);
         super.startAnimation();
     }
 
@@ -100,6 +131,18 @@ public class BridgeMover<T extends AbstractDoor & IHorizontalAxisAligned> extend
         halfEndCount = super.animationDuration / 2;
     }
 
+    /**
+     * Creates a {@link MotionTable} that applies a function to the angle of the door for every tick of the animation.
+     *
+     * @param function
+     *     The function to apply to the angle of the door.
+     * @return The new {@link MotionTable}.
+     */
+    protected MotionTable createRotationTable(DoubleUnaryOperator function)
+    {
+        return MotionTable.of(animationDuration, tick -> function.applyAsDouble(step * tick));
+    }
+
     protected Vector3Dd getGoalPos(double angle, double x, double y, double z)
     {
         return rotator.apply(new Vector3Dd(x, y, z), rotationCenter, angle);
@@ -110,6 +153,71 @@ public class BridgeMover<T extends AbstractDoor & IHorizontalAxisAligned> extend
         return getGoalPos(angle, animatedBlock.getStartX(), animatedBlock.getStartY(), animatedBlock.getStartZ());
     }
 
+    /**
+     * Updates the goal position of an animated block in {@link #positions} by rotating its start position around the
+     * rotation point.
+     *
+     * @param index
+     *     The index of the animated block.
+     * @param cos
+     *     The cosine of the angle to rotate the block by.
+     * @param sin
+     *     The sine of the angle to rotate the block by.
+     */
+    protected void updateGoalPos(int index, double cos, double sin)
+    {
+        final double startX = positions.getStartX(index);
+        final double startY = positions.getStartY(index);
+        final double startZ = positions.getStartZ(index);
+        final double translatedY = startY - rotationCenter.y();
+
+        if (rotateAroundXAxis)
+        {
+            final double translatedZ = startZ - rotationCenter.z();
+            positions.setGoal(index, startX,
+                              rotationCenter.y() + cos * translatedY - sin * translatedZ,
+                              rotationCenter.z() + sin * translatedY + cos * translatedZ);
+        }
+        else
+        {
+            final double translatedX = startX - rotationCenter.x();
+            positions.setGoal(index,
+                              rotationCenter.x() + sin * translatedY + cos * translatedX,
+                              rotationCenter.y() + cos * translatedY - sin * translatedX,
+                              startZ);
+        }
+    }
+
+    /**
+     * Rotates a position around the rotation point in the same way {@link #updateGoalPos(int, double, double)} rotates
+     * the start positions of the animated blocks.
+     *
+     * @param position
+     *     The position to rotate.
+     * @param cos
+     *     The cosine of the angle to rotate the position by.
+     * @param sin
+     *     The sine of the angle to rotate the position by.
+     * @return The rotated position.
+     */
+    protected Vector3Dd rotate(Vector3Dd position, double cos, double sin)
+    {
+        final double translatedY = position.y() - rotationCenter.y();
+
+        if (rotateAroundXAxis)
+        {
+            final double translatedZ = position.z() - rotationCenter.z();
+            return new Vector3Dd(position.x(),
+                                 rotationCenter.y() + cos * translatedY - sin * translatedZ,
+                                 rotationCenter.z() + sin * translatedY + cos * translatedZ);
+        }
+
+        final double translatedX = position.x() - rotationCenter.x();
+        return new Vector3Dd(rotationCenter.x() + sin * translatedY + cos * translatedX,
+                             rotationCenter.y() + cos * translatedY - sin * translatedX,
+                             position.z());
+    }
+
     @Override
     protected Vector3Dd getFinalPosition(IVector3D startLocation, float radius)
     {
@@ -119,14 +227,20 @@ public class BridgeMover<T extends AbstractDoor & IHorizontalAxisAligned> extend
     @Override
     protected void executeAnimationStep(int ticks)
     {
-        final double stepSum = step * ticks;
-        final boolean replace = ticks == halfEndCount;
-
-        if (replace)
+        if (respawnTrigger.test(ticks))
             this.respawnBlocks();
 
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getGoalPos(stepSum, animatedBlock));
+        final double cos = cosTable.get(ticks);
+        final double sin = sinTable.get(ticks);
+        forEachBlockIndex(idx -> updateGoalPos(idx, cos, sin));
+    }
+
+    @Override
+    protected Cuboid getAnimationRegion(int ticks)
+    {
+        final double cos = cosTable.get(ticks);
+        final double sin = sinTable.get(ticks);
+        return getTransformedRegion(start -> rotate(start, cos, sin));
     }
 
     @Override
@@ -1,16 +1,15 @@
 package nl.pim16aap2.bigdoors.doors.flag;
 
 import nl.pim16aap2.bigdoors.api.IPPlayer;
-import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
 import nl.pim16aap2.bigdoors.moveblocks.BlockMover;
+import nl.pim16aap2.bigdoors.moveblocks.MotionTable;
+import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.RotateDirection;
 import nl.pim16aap2.bigdoors.util.vector.IVector3D;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 
-import java.util.function.BiFunction;
-
 /**
  * Represents a {@link BlockMover} for {@link Flag}s.
  *
@@ -19,12 +18,22 @@ import java.util.function.BiFunction;
 @SuppressWarnings({"FieldCanBeLocal", "unused", "squid:S1172", "CommentedOutCode", "PMD"})
 public class FlagMover extends BlockMover
 {
-    private final BiFunction<IAnimatedBlock, Integer, Vector3Dd> getGoalPos;
     private final boolean NS;
     private final double period;
     private final double amplitude;
     private final double waveSpeed;
 
+    /**
+     * The offset of the blocks for every tick of the animation. The offset only depends on the radius of the blocks,
+     * so every ring in this table corresponds to a radius.
+     */
+    private final MotionTable offsetTable;
+
+    /**
+     * The region the flag can occupy during the animation: The cuboid of the flag grown by the largest possible offset.
+     */
+    private final Cuboid animationRegion;
+
     public FlagMover(
         Context context, double time, Flag door, double multiplier, IPPlayer player, DoorActionCause cause,
         DoorActionType actionType)
@@ -35,7 +44,6 @@ public class FlagMover extends BlockMover
         final int xLen = Math.abs(xMax - xMin) + 1;
         final int zLen = Math.abs(zMax - zMin) + 1;
         NS = door.isNorthSouthAligned();
-        getGoalPos = NS ? this::getGoalPosNS : this::getGoalPosEW;
 
         final int length = NS ? zLen : xLen;
         period = length * 2.0f;
@@ -45,15 +53,28 @@ public class FlagMover extends BlockMover
         waveSpeed = 10.0f;
 
         init();
+        final int maxRadius = NS ?
+                              Math.max(Math.abs(zMin - door.getRotationPoint().z()),
+                                       Math.abs(zMax - door.getRotationPoint().z())) :
+                              Math.max(Math.abs(xMin - door.getRotationPoint().x()),
+                                       Math.abs(xMax - door.getRotationPoint().x()));
+        offsetTable = MotionTable.of(animationDuration, maxRadius + 1,
+                                     (tick, radius) -> radius > 0 ? getOffset(tick, radius) : 0);
+
+        final int maxOffset = (int) Math.ceil(Math.min(0.3 * maxRadius, 3.2));
+        animationRegion = door.getCuboid().grow(NS ? maxOffset : 0, 0, NS ? 0 : maxOffset);
         super.startAnimation();
     }
 
     /**
      * Used for initializing variables such as {@link #animationDuration}.
+     * <p>
+     * A single cycle of the animation is a single period of the wave.
      */
     protected void init()
     {
-        super.animationDuration = 200;
+        super.animationDuration = 25;
+        super.looping = true;
     }
 
     /**
@@ -75,7 +96,7 @@ public class FlagMover extends BlockMover
 //        double maxAmplitude = radius * 0.4;
 
 
-        return Math.min(0.3 * radius, 3.2) * Math.sin(radius / 3.0 + (counter / 4.0));
+        return Math.min(0.3 * radius, 3.2) * Math.sin(radius / 3.0 + (2 * Math.PI * counter / animationDuration));
 
 //        double offset;
 //        try
@@ -93,20 +114,16 @@ public class FlagMover extends BlockMover
 //        return offset;
     }
 
-    private Vector3Dd getGoalPosNS(IAnimatedBlock animatedBlock, int counter)
+    private void updateGoalPos(int index, int counter)
     {
-        double xOff = 0;
-        if (animatedBlock.getRadius() > 0)
-            xOff = getOffset(counter, animatedBlock.getRadius());
-        return new Vector3Dd(animatedBlock.getStartX() + xOff, animatedBlock.getStartY(), animatedBlock.getStartZ());
-    }
+        final double offset = offsetTable.get(counter, Math.round(animatedBlocks.get(index).getRadius()));
 
-    private Vector3Dd getGoalPosEW(IAnimatedBlock animatedBlock, int counter)
-    {
-        double zOff = 0;
-        if (animatedBlock.getRadius() > 0)
-            zOff = getOffset(counter, animatedBlock.getRadius());
-        return new Vector3Dd(animatedBlock.getStartX(), animatedBlock.getStartY(), animatedBlock.getStartZ() + zOff);
+        if (NS)
+            positions.setGoal(index, positions.getStartX(index) + offset, positions.getStartY(index),
+                              positions.getStartZ(index));
+        else
+            positions.setGoal(index, positions.getStartX(index), positions.getStartY(index),
+                              positions.getStartZ(index) + offset);
     }
 
     @Override
@@ -118,8 +135,13 @@ public class FlagMover extends BlockMover
     @Override
     protected void executeAnimationStep(int ticks)
     {
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getGoalPos.apply(animatedBlock, ticks));
+        forEachBlockIndex(idx -> updateGoalPos(idx, ticks));
+    }
+
+    @Override
+    protected Cuboid getAnimationRegion(int ticks)
+    {
+        return animationRegion;
     }
 
     @Override
@@ -1,7 +1,6 @@
 package nl.pim16aap2.bigdoors.doors.garagedoor;
 
 import nl.pim16aap2.bigdoors.api.IPPlayer;
-import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
 import nl.pim16aap2.bigdoors.moveblocks.BlockMover;
@@ -12,8 +11,6 @@ import nl.pim16aap2.bigdoors.util.vector.IVector3D;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
 
-import java.util.function.BiFunction;
-
 /**
  * Represents a {@link BlockMover} for {@link GarageDoor}s.
  *
@@ -23,7 +20,7 @@ public class GarageDoorMover extends BlockMover
 {
     private final double resultHeight;
     private final Vector3Di directionVec;
-    private final BiFunction<IAnimatedBlock, Double, Vector3Dd> getVector;
+    private final GoalPosUpdater goalPosUpdater;
     private final int xLen;
     private final int yLen;
     private final int zLen;
@@ -42,27 +39,27 @@ public class GarageDoorMover extends BlockMover
 
         resultHeight = door.getMaximum().y() + 1.0D;
 
-        BiFunction<IAnimatedBlock, Double, Vector3Dd> getVectorTmp;
+        final GoalPosUpdater goalPosUpdaterTmp;
         switch (rotateDirection)
         {
             case NORTH:
                 directionVec = PBlockFace.getDirection(PBlockFace.NORTH);
-                getVectorTmp = this::getVectorDownNorth;
+                goalPosUpdaterTmp = this::updateGoalPosDownNorth;
                 northSouth = true;
                 break;
             case EAST:
                 directionVec = PBlockFace.getDirection(PBlockFace.EAST);
-                getVectorTmp = this::getVectorDownEast;
+                goalPosUpdaterTmp = this::updateGoalPosDownEast;
                 northSouth = false;
                 break;
             case SOUTH:
                 directionVec = PBlockFace.getDirection(PBlockFace.SOUTH);
-                getVectorTmp = this::getVectorDownSouth;
+                goalPosUpdaterTmp = this::updateGoalPosDownSouth;
                 northSouth = true;
                 break;
             case WEST:
                 directionVec = PBlockFace.getDirection(PBlockFace.WEST);
-                getVectorTmp = this::getVectorDownWest;
+                goalPosUpdaterTmp = this::updateGoalPosDownWest;
                 northSouth = false;
                 break;
             default:
@@ -78,14 +75,14 @@ public class GarageDoorMover extends BlockMover
         if (!door.isOpen())
         {
             blocksToMove = yLen + 1;
-            getVector = this::getVectorUp;
+            goalPosUpdater = this::updateGoalPosUp;
         }
         else
         {
             blocksToMove = Math.abs((xLen + 1) * directionVec.x()
                                         + (yLen + 1) * directionVec.y()
                                         + (zLen + 1) * directionVec.z());
-            getVector = getVectorTmp;
+            goalPosUpdater = goalPosUpdaterTmp;
         }
 
         init();
@@ -101,100 +98,99 @@ public class GarageDoorMover extends BlockMover
         step = (blocksToMove + 0.5f) / super.animationDuration;
     }
 
-    private Vector3Dd getVectorUp(IAnimatedBlock animatedBlock, double stepSum)
+    private void updateGoalPosUp(int index, double stepSum)
     {
-        final double currentHeight = Math.min(resultHeight, animatedBlock.getStartY() + stepSum);
+        final double startX = positions.getStartX(index);
+        final double startY = positions.getStartY(index);
+        final double startZ = positions.getStartZ(index);
+
+        final double currentHeight = Math.min(resultHeight, startY + stepSum);
         double xMod = 0;
         double yMod = stepSum;
         double zMod = 0;
 
         if (currentHeight >= door.getMaximum().y())
         {
-            final double horizontal = Math.max(0, stepSum - animatedBlock.getRadius() - 0.5);
+            final double horizontal = Math.max(0, stepSum - animatedBlocks.get(index).getRadius() - 0.5);
             xMod = directionVec.x() * horizontal;
-            yMod = Math.min(resultHeight - animatedBlock.getStartY(), stepSum);
+            yMod = Math.min(resultHeight - startY, stepSum);
             zMod = directionVec.z() * horizontal;
         }
-        return new Vector3Dd(animatedBlock.getStartX() + xMod, animatedBlock.getStartY() + yMod,
-                             animatedBlock.getStartZ() + zMod);
+        positions.setGoal(index, startX + xMod, startY + yMod, startZ + zMod);
     }
 
-    private Vector3Dd getVectorDownNorth(IAnimatedBlock animatedBlock, double stepSum)
+    private void updateGoalPosDownNorth(int index, double stepSum)
     {
+        final double startZ = positions.getStartZ(index);
         final double goalZ = door.getRotationPoint().z();
         final double pivotZ = goalZ + 1.5;
-        final double currentZ = Math.max(goalZ, animatedBlock.getStartZ() - stepSum);
+        final double currentZ = Math.max(goalZ, startZ - stepSum);
 
-        final double xMod = 0;
         double yMod = 0;
         double zMod = -stepSum;
 
         if (currentZ <= pivotZ)
         {
-            yMod = -Math.max(0, stepSum - animatedBlock.getRadius() + 0.5);
-            zMod = Math.max(goalZ - animatedBlock.getStartPosition().z() + 0.5, zMod);
+            yMod = -Math.max(0, stepSum - animatedBlocks.get(index).getRadius() + 0.5);
+            zMod = Math.max(goalZ - startZ + 0.5, zMod);
         }
 
-        return new Vector3Dd(animatedBlock.getStartX() + xMod, animatedBlock.getStartY() + yMod,
-                             animatedBlock.getStartZ() + zMod);
+        positions.setGoal(index, positions.getStartX(index), positions.getStartY(index) + yMod, startZ + zMod);
     }
 
-    private Vector3Dd getVectorDownSouth(IAnimatedBlock animatedBlock, double stepSum)
+    private void updateGoalPosDownSouth(int index, double stepSum)
     {
+        final double startZ = positions.getStartZ(index);
         final double goalZ = door.getRotationPoint().z();
         final double pivotZ = goalZ - 1.5;
-        final double currentZ = Math.min(goalZ, animatedBlock.getStartZ() + stepSum);
+        final double currentZ = Math.min(goalZ, startZ + stepSum);
 
-        final double xMod = 0;
         double yMod = 0;
         double zMod = stepSum;
 
         if (currentZ >= pivotZ)
         {
-            yMod = -Math.max(0, stepSum - animatedBlock.getRadius() + 0.5);
-            zMod = Math.min(goalZ - animatedBlock.getStartPosition().z() + 0.5, zMod);
+            yMod = -Math.max(0, stepSum - animatedBlocks.get(index).getRadius() + 0.5);
+            zMod = Math.min(goalZ - startZ + 0.5, zMod);
         }
-        return new Vector3Dd(animatedBlock.getStartX() + xMod, animatedBlock.getStartY() + yMod,
-                             animatedBlock.getStartZ() + zMod);
+        positions.setGoal(index, positions.getStartX(index), positions.getStartY(index) + yMod, startZ + zMod);
     }
 
-    private Vector3Dd getVectorDownEast(IAnimatedBlock animatedBlock, double stepSum)
+    private void updateGoalPosDownEast(int index, double stepSum)
     {
+        final double startX = positions.getStartX(index);
         final double goalX = door.getRotationPoint().x();
         final double pivotX = goalX - 1.5;
-        final double currentX = Math.min(goalX, animatedBlock.getStartX() + stepSum);
+        final double currentX = Math.min(goalX, startX + stepSum);
 
         double xMod = stepSum;
         double yMod = 0;
-        final double zMod = 0;
 
         if (currentX >= pivotX)
         {
-            xMod = Math.min(goalX - animatedBlock.getStartPosition().x() + 0.5, xMod);
-            yMod = -Math.max(0, stepSum - animatedBlock.getRadius() + 0.5);
+            xMod = Math.min(goalX - startX + 0.5, xMod);
+            yMod = -Math.max(0, stepSum - animatedBlocks.get(index).getRadius() + 0.5);
         }
-        return new Vector3Dd(animatedBlock.getStartX() + xMod, animatedBlock.getStartY() + yMod,
-                             animatedBlock.getStartZ() + zMod);
+        positions.setGoal(index, startX + xMod, positions.getStartY(index) + yMod, positions.getStartZ(index));
     }
 
-    private Vector3Dd getVectorDownWest(IAnimatedBlock animatedBlock, double stepSum)
+    private void updateGoalPosDownWest(int index, double stepSum)
     {
+        final double startX = positions.getStartX(index);
         final double goalX = door.getRotationPoint().x();
         final double pivotX = goalX + 1.5;
-        final double currentX = Math.max(goalX, animatedBlock.getStartX() - stepSum);
+        final double currentX = Math.max(goalX, startX - stepSum);
 
         double xMod = -stepSum;
         double yMod = 0;
-        final double zMod = 0;
 
         if (currentX <= pivotX)
         {
-            xMod = Math.max(goalX - animatedBlock.getStartPosition().x() + 0.5, xMod);
-            yMod = -Math.max(0, stepSum - animatedBlock.getRadius() + 0.5);
+            xMod = Math.max(goalX - startX + 0.5, xMod);
+            yMod = -Math.max(0, stepSum - animatedBlocks.get(index).getRadius() + 0.5);
         }
 
-        return new Vector3Dd(animatedBlock.getStartX() + xMod, animatedBlock.getStartY() + yMod,
-                             animatedBlock.getStartZ() + zMod);
+        positions.setGoal(index, startX + xMod, positions.getStartY(index) + yMod, positions.getStartZ(index));
     }
 
     @Override
@@ -236,8 +232,7 @@ public class GarageDoorMover extends BlockMover
     protected void executeAnimationStep(int ticks)
     {
         final double stepSum = step * ticks;
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getVector.apply(animatedBlock, stepSum));
+        forEachBlockIndex(idx -> goalPosUpdater.update(idx, stepSum));
     }
 
     @Override
@@ -253,4 +248,19 @@ public class GarageDoorMover extends BlockMover
         final int dZ = Math.abs(zAxis - door.getRotationPoint().z());
         return Math.abs(dX * directionVec.x() + dZ * directionVec.z());
     }
+
+    /**
+     * Updates the goal position of an animated block in {@link #positions}.
+     */
+    @FunctionalInterface
+    private interface GoalPosUpdater
+    {
+        /**
+         * @param index
+         *     The index of the animated block.
+         * @param stepSum
+         *     The distance moved since the start of the animation.
+         */
+        void update(int index, double stepSum);
+    }
 }
@@ -54,6 +54,8 @@ public class VerticalMover extends BlockMover
             super.time = Math.abs(blocksToMove) / speed;
         }
 
+        // All blocks move along a straight line at a constant speed, so their movement can be predicted perfectly.
+        super.movementMethod = MovementMethod.keyframed(PathSmoothness.LINEAR);
         init();
         super.startAnimation();
     }
@@ -81,9 +83,10 @@ public class VerticalMover extends BlockMover
         firstBlockData = animatedBlocks.isEmpty() ? null : animatedBlocks.get(0);
     }
 
-    protected Vector3Dd getGoalPos(IAnimatedBlock animatedBlock, double stepSum)
+    protected void updateGoalPos(int index, double stepSum)
     {
-        return animatedBlock.getStartPosition().add(0, stepSum, 0);
+        positions.setGoal(index, positions.getStartX(index), positions.getStartY(index) + stepSum,
+                          positions.getStartZ(index));
     }
 
     // Yes, it's bad practice to keep commented-out code around.
@@ -113,7 +116,13 @@ public class VerticalMover extends BlockMover
             return;
 
         final double stepSum = step * ticks;
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getGoalPos(animatedBlock, stepSum));
+        forEachBlockIndex(idx -> updateGoalPos(idx, stepSum));
+    }
+
+    @Override
+    protected Cuboid getAnimationRegion(int ticks)
+    {
+        final double stepSum = step * ticks;
+        return getTransformedRegion(start -> start.add(0, stepSum, 0));
     }
 }
@@ -6,12 +6,13 @@ import nl.pim16aap2.bigdoors.doors.AbstractDoor;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionCause;
 import nl.pim16aap2.bigdoors.events.dooraction.DoorActionType;
 import nl.pim16aap2.bigdoors.moveblocks.BlockMover;
+import nl.pim16aap2.bigdoors.moveblocks.MotionTable;
 import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.RotateDirection;
 import nl.pim16aap2.bigdoors.util.vector.IVector3D;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 
-import java.util.function.BiFunction;
+import java.util.List;
 
 /**
  * Represents a {@link BlockMover} for {@link RevolvingDoor}s.
@@ -20,7 +21,10 @@ import java.util.function.BiFunction;
  */
 public class RevolvingDoorMover extends BlockMover
 {
-    private final BiFunction<IAnimatedBlock, Double, Vector3Dd> getGoalPos;
+    /**
+     * Either 1 or -1, depending on whether the door rotates clockwise or counterclockwise.
+     */
+    private final int angleDirection;
     private final RotateDirection rotateDirection;
 
     /**
@@ -31,6 +35,26 @@ public class RevolvingDoorMover extends BlockMover
     private double step = 0;
     private double endStepSum = 0;
 
+    /**
+     * The cosine of the angle the door has rotated by for every tick of the animation.
+     */
+    private final MotionTable cosTable;
+
+    /**
+     * The sine of the angle the door has rotated by for every tick of the animation.
+     */
+    private final MotionTable sinTable;
+
+    /**
+     * The radius of every animated block multiplied by the sine of its start angle.
+     */
+    private double[] radiusSin = new double[0];
+
+    /**
+     * The radius of every animated block multiplied by the cosine of its start angle.
+     */
+    private double[] radiusCos = new double[0];
+
     @SuppressWarnings("unused")
     public RevolvingDoorMover(
         Context context, AbstractDoor door, double time, double multiplier, RotateDirection rotateDirection,
@@ -47,10 +71,10 @@ public class RevolvingDoorMover extends BlockMover
         switch (rotateDirection)
         {
             case CLOCKWISE:
-                getGoalPos = this::getGoalPosClockwise;
+                angleDirection = 1;
                 break;
             case COUNTERCLOCKWISE:
-                getGoalPos = this::getGoalPosCounterClockwise;
+                angleDirection = -1;
                 break;
             default:
                 throw new IllegalStateException("Failed to open door \"" + getDoorUID()
@@ -59,6 +83,8 @@ public class RevolvingDoorMover extends BlockMover
         }
 
         init();
+        cosTable = MotionTable.of(animationDuration, tick -> Math.cos(angleDirection * step * tick));
+        sinTable = MotionTable.of(animationDuration, tick -> Math.sin(angleDirection * step * tick));
         super.startAnimation();
     }
 
@@ -79,13 +105,6 @@ public class RevolvingDoorMover extends BlockMover
         return new Vector3Dd(posX, startY, posZ);
     }
 
-    private Vector3Dd getGoalPosClockwise(IAnimatedBlock animatedBlock, double stepSum)
-    {
-        return getGoalPosClockwise(animatedBlock.getRadius(), animatedBlock.getStartAngle(),
-                                   animatedBlock.getStartY(),
-                                   stepSum);
-    }
-
     private Vector3Dd getGoalPosCounterClockwise(double radius, double startAngle, double startY, double stepSum)
     {
         final double posX = 0.5 + door.getRotationPoint().x() - radius * Math.sin(startAngle - stepSum);
@@ -93,10 +112,27 @@ public class RevolvingDoorMover extends BlockMover
         return new Vector3Dd(posX, startY, posZ);
     }
 
-    private Vector3Dd getGoalPosCounterClockwise(IAnimatedBlock animatedBlock, double stepSum)
+    @Override
+    protected void prepareAnimation()
+    {
+        super.prepareAnimation();
+
+        radiusSin = new double[positions.size()];
+        radiusCos = new double[positions.size()];
+        for (int idx = 0; idx < positions.size(); ++idx)
+        {
+            final IAnimatedBlock animatedBlock = animatedBlocks.get(idx);
+            radiusSin[idx] = animatedBlock.getRadius() * Math.sin(animatedBlock.getStartAngle());
+            radiusCos[idx] = animatedBlock.getRadius() * Math.cos(animatedBlock.getStartAngle());
+        }
+    }
+
+    private void updateGoalPos(int index, double cos, double sin)
     {
-        return getGoalPosCounterClockwise(animatedBlock.getRadius(), animatedBlock.getStartAngle(),
-                                          animatedBlock.getStartY(), stepSum);
+        // Uses the angle addition formulas to rotate the block from its start angle.
+        final double posX = 0.5 + door.getRotationPoint().x() - (radiusSin[index] * cos + radiusCos[index] * sin);
+        final double posZ = 0.5 + door.getRotationPoint().z() - (radiusCos[index] * cos - radiusSin[index] * sin);
+        positions.setGoal(index, posX, positions.getStartY(index), posZ);
     }
 
     @Override
@@ -112,13 +148,39 @@ public class RevolvingDoorMover extends BlockMover
         return getGoalPosCounterClockwise(radius, startAngle, startLocation.yD(), endStepSum);
     }
 
+    @Override
+    protected Object getTrajectoryDiscriminator()
+    {
+        // The open direction of the door is always NONE, so the actual direction is not part of the trajectory key.
+        return List.of(rotateDirection, quarterCircles);
+    }
+
     @Override
     protected void executeAnimationStep(int ticks)
     {
-        final double stepSum = step * ticks;
+        final double cos = cosTable.get(ticks);
+        final double sin = sinTable.get(ticks);
 
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getGoalPos.apply(animatedBlock, stepSum));
+        forEachBlockIndex(idx -> updateGoalPos(idx, cos, sin));
+    }
+
+    @Override
+    protected Cuboid getAnimationRegion(int ticks)
+    {
+        final double cos = cosTable.get(ticks);
+        final double sin = sinTable.get(ticks);
+        final double centerX = 0.5 + door.getRotationPoint().x();
+        final double centerZ = 0.5 + door.getRotationPoint().z();
+
+        // This is the same rotation as the one applied by updateGoalPos, but expressed in terms of the start position.
+        return getTransformedRegion(
+            start ->
+            {
+                final double translatedX = start.x() - centerX;
+                final double translatedZ = start.z() - centerZ;
+                return new Vector3Dd(centerX + translatedX * cos + translatedZ * sin, start.y(),
+                                     centerZ + translatedZ * cos - translatedX * sin);
+            });
     }
 
     @Override
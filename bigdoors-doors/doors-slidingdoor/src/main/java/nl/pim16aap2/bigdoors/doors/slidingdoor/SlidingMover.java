@@ -63,6 +63,8 @@ public class SlidingMover extends BlockMover
             super.time = Math.abs(blocksToMove) / speed;
         }
 
+        // All blocks move along a straight line at a constant speed, so their movement can be predicted perfectly.
+        super.movementMethod = MovementMethod.keyframed(PathSmoothness.LINEAR);
         init();
         super.startAnimation();
     }
@@ -90,11 +92,12 @@ public class SlidingMover extends BlockMover
         firstBlockData = animatedBlocks.isEmpty() ? null : animatedBlocks.get(0);
     }
 
-    protected Vector3Dd getGoalPos(IAnimatedBlock animatedBlock, double stepSum)
+    protected void updateGoalPos(int index, double stepSum)
     {
-        return animatedBlock.getStartPosition().add(northSouth ? 0 : stepSum,
-                                                    0,
-                                                    northSouth ? stepSum : 0);
+        positions.setGoal(index,
+                          positions.getStartX(index) + (northSouth ? 0 : stepSum),
+                          positions.getStartY(index),
+                          positions.getStartZ(index) + (northSouth ? stepSum : 0));
     }
 
     @Override
@@ -104,7 +107,13 @@ public class SlidingMover extends BlockMover
             return;
 
         final double stepSum = step * ticks;
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getGoalPos(animatedBlock, stepSum));
+        forEachBlockIndex(idx -> updateGoalPos(idx, stepSum));
+    }
+
+    @Override
+    protected Cuboid getAnimationRegion(int ticks)
+    {
+        final double stepSum = step * ticks;
+        return getTransformedRegion(start -> start.add(northSouth ? 0 : stepSum, 0, northSouth ? stepSum : 0));
     }
 }
@@ -1,7 +1,6 @@
 package nl.pim16aap2.bigdoors.doors.windmill;
 
 import nl.pim16aap2.bigdoors.api.IPPlayer;
-import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
 import nl.pim16aap2.bigdoors.doors.AbstractDoor;
 import nl.pim16aap2.bigdoors.doors.doorarchetypes.IHorizontalAxisAligned;
 import nl.pim16aap2.bigdoors.doors.drawbridge.BridgeMover;
@@ -22,8 +21,6 @@ public class WindmillMover<T extends AbstractDoor & IHorizontalAxisAligned> exte
 {
     protected static final double EPS = 2 * Double.MIN_VALUE;
 
-    private double step;
-
     public WindmillMover(
         Context context, T door, double time, double multiplier, RotateDirection rotateDirection, IPPlayer player,
         DoorActionCause cause, DoorActionType actionType)
@@ -35,8 +32,12 @@ public class WindmillMover<T extends AbstractDoor & IHorizontalAxisAligned> exte
     @Override
     protected void init()
     {
-        super.animationDuration = (int) (20 * 20 * super.time);
-        step = (Math.PI / 2.0) / (20.0f * super.time * 2.0f);
+        // A single cycle is a full rotation. Because the duration of a cycle is rounded to whole ticks, the step is
+        // recalculated from it, so the last tick of a cycle ends exactly where the first tick started.
+        final double baseStep = (Math.PI / 2.0) / (20.0f * super.time * 2.0f);
+        super.animationDuration = Math.max(1, (int) Math.round(2 * Math.PI / baseStep));
+        step = 2 * Math.PI / super.animationDuration;
+        super.looping = true;
     }
 
     @Override
@@ -48,9 +49,9 @@ public class WindmillMover<T extends AbstractDoor & IHorizontalAxisAligned> exte
     @Override
     protected void executeAnimationStep(int ticks)
     {
-        final double stepSum = step * ticks;
-        for (final IAnimatedBlock animatedBlock : animatedBlocks)
-            movementMethod.apply(animatedBlock, getGoalPos(stepSum, animatedBlock));
+        final double cos = cosTable.get(ticks);
+        final double sin = sinTable.get(ticks);
+        forEachBlockIndex(idx -> updateGoalPos(idx, cos, sin));
     }
 
     @Override
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -60,6 +61,7 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
     private final List<ConfigEntry<?>> configEntries = new ArrayList<>();
     private final Map<DoorType, String> doorPrices;
     private final Map<DoorType, Double> doorMultipliers;
+    private final Set<DoorType> hollowAnimationTypes = new HashSet<>();
     private final String header;
 
     private int coolDown;
@@ -69,6 +71,16 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
     private String resourcePack = "";
     private OptionalInt maxDoorCount = OptionalInt.empty();
     private OptionalInt maxBlocksToMove = OptionalInt.empty();
+    private int parallelAnimationThreshold;
+    private int animationDetailDistance;
+    private double movementUpdateThreshold;
+    private boolean virtualAnimatedBlocks;
+    private boolean animationGovernor;
+    private int animatedBlockBudget;
+    private int animationSpawnBudget;
+    private int perpetualAnimationViewDistance;
+    private int maxConcurrentAnimatedBlocks;
+    private int maxQueuedAnimations;
     private int cacheTimeout;
     private boolean autoDLUpdate;
     private long downloadDelay;
@@ -117,6 +129,7 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
         powerBlockTypes.clear();
         doorPrices.clear();
         doorMultipliers.clear();
+        hollowAnimationTypes.clear();
     }
 
     /**
@@ -148,6 +161,47 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
             "Not even admins and OPs can bypass this limit!",
             "Note that you can also use permissions for this, if you need more finely grained control using this node:",
             "'" + Limit.BLOCKS_TO_MOVE.getUserPermission() + "x', where 'x' can be any positive value."};
+        final String[] parallelAnimationThresholdComment = {
+            "The minimum number of blocks a door needs to have before the positions of its blocks are calculated",
+            "in parallel using multiple threads. This only helps for very large doors on servers with multiple cores.",
+            "You can set it to -1 to always calculate the positions on a single thread."};
+        final String[] animationDetailDistanceComment = {
+            "Players within this distance (in blocks) of an animated door receive every update of its position.",
+            "Players further away receive fewer updates:",
+            "Every time the distance doubles, the number of updates is halved.",
+            "This only applies to doors whose blocks are teleported. You can set it to -1 to disable it."};
+        final String[] movementUpdateThresholdComment = {
+            "Updates of animated blocks that would move them less than this distance (in blocks) are skipped.",
+            "Skipped movement is not lost; it is included in the next update. Set it to 0 to send every update."};
+        final String[] virtualAnimatedBlocksComment = {
+            "Whether animated blocks should only exist on the clients.",
+            "Virtual blocks are never added to the world, so the server does not have to tick or track them.",
+            "Instead, their movement is sent directly to all players within the view distance of the animation."};
+        final String[] animationGovernorComment = {
+            "Whether to reduce the quality of animations when the server is under load.",
+            "When the server falls behind or too many blocks are being animated, animations are updated less often,",
+            "then teleported instead of moved smoothly, then only the outer blocks of new animations are animated,",
+            "and finally new animations are skipped entirely. The quality is restored once the load goes down again."};
+        final String[] animatedBlockBudgetComment = {
+            "The total number of animated blocks across all animations before their quality is reduced.",
+            "This is only used when 'animationGovernor' is enabled.",
+            "You can set it to -1 to ignore the number of blocks."};
+        final String[] animationSpawnBudgetComment = {
+            "The maximum number of blocks that are replaced by animated blocks per tick when a door starts moving.",
+            "Larger doors are replaced over multiple ticks, starting with the blocks closest to players.",
+            "You can set it to -1 to replace all blocks in a single tick."};
+        final String[] perpetualAnimationViewDistanceComment = {
+            "The animations of perpetual movers (e.g. windmills) are suspended while no players are within this",
+            "distance (in blocks). They resume as if they had kept running once a player comes within range again.",
+            "You can set it to -1 to never suspend them."};
+        final String[] maxConcurrentAnimatedBlocksComment = {
+            "The maximum total number of blocks that can be animated at the same time across all doors.",
+            "Doors that would exceed this limit wait until enough other doors have finished moving.",
+            "Doors toggled by players go first, followed by the console, redstone, and finally autoclose.",
+            "You can set it to -1 to remove the limit."};
+        final String[] maxQueuedAnimationsComment = {
+            "The maximum number of doors that can wait for other doors to finish moving.",
+            "When more doors are waiting, new doors skip their animation instead, if they can."};
         final String[] checkForUpdatesComment = {
             "Allow this plugin to check for updates on startup. It will not download new versions!"};
         final String[] downloadDelayComment = {
@@ -192,6 +246,11 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
                 "raising these values won't have any effect.",
             "To use the default values, set them to \"0.0\" or \"1.0\" (without quotation marks).",
             "Note that everything is optimized for default values, so it's recommended to leave this setting as-is."};
+        final String[] hollowAnimationComment = {
+            "When enabled for a type of door, only the blocks on the outside of those doors will be animated.",
+            "The blocks on the inside will be removed at the start of the animation and placed at the end of it.",
+            "This greatly reduces the number of animated blocks for thick doors, but it may look wrong",
+            "for doors that have gaps in their outer layer."};
         final String[] coolDownComment = {
             "Cool-down on using doors. Time is measured in seconds."};
         final String[] cacheTimeoutComment = {
@@ -244,6 +303,24 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
         final int maxBlocksToMove = addNewConfigEntry(config, "maxBlocksToMove", 100, maxBlocksToMoveComment);
         this.maxBlocksToMove = maxBlocksToMove > 0 ? OptionalInt.of(maxBlocksToMove) : OptionalInt.empty();
 
+        parallelAnimationThreshold = addNewConfigEntry(config, "parallelAnimationThreshold", 2_000,
+                                                       parallelAnimationThresholdComment);
+        animationDetailDistance = addNewConfigEntry(config, "animationDetailDistance", 32,
+                                                    animationDetailDistanceComment);
+        movementUpdateThreshold = addNewConfigEntry(config, "movementUpdateThreshold", 0.001D,
+                                                    movementUpdateThresholdComment, (Double x) -> Math.max(0D, x));
+        virtualAnimatedBlocks = addNewConfigEntry(config, "virtualAnimatedBlocks", false,
+                                                  virtualAnimatedBlocksComment);
+        animationGovernor = addNewConfigEntry(config, "animationGovernor", true, animationGovernorComment);
+        animatedBlockBudget = addNewConfigEntry(config, "animatedBlockBudget", 4_000, animatedBlockBudgetComment);
+        animationSpawnBudget = addNewConfigEntry(config, "animationSpawnBudget", 1_000, animationSpawnBudgetComment);
+        perpetualAnimationViewDistance = addNewConfigEntry(config, "perpetualAnimationViewDistance", 128,
+                                                           perpetualAnimationViewDistanceComment);
+        maxConcurrentAnimatedBlocks = addNewConfigEntry(config, "maxConcurrentAnimatedBlocks", 20_000,
+                                                        maxConcurrentAnimatedBlocksComment);
+        maxQueuedAnimations = addNewConfigEntry(config, "maxQueuedAnimations", 20, maxQueuedAnimationsComment,
+                                                (Integer x) -> Math.max(0, x));
+
         final int maxDoorSize = addNewConfigEntry(config, "maxDoorSize", 500, maxDoorSizeComment);
         this.maxDoorSize = maxDoorSize > 0 ? OptionalInt.of(maxDoorSize) : OptionalInt.empty();
 
@@ -278,13 +355,18 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
 
         String @Nullable [] usedMultiplierComment = multiplierComment;
         String @Nullable [] usedPricesComment = pricesComment;
+        String @Nullable [] usedHollowAnimationComment = hollowAnimationComment;
+        hollowAnimationTypes.clear();
         for (final DoorType type : doorTypeManager.getEnabledDoorTypes())
         {
             doorMultipliers.put(type, addNewConfigEntry(config, "multiplier_" + type, 0.0D, usedMultiplierComment));
             doorPrices.put(type, addNewConfigEntry(config, "price_" + type, "0", usedPricesComment));
+            if (addNewConfigEntry(config, "hollowAnimation_" + type, false, usedHollowAnimationComment))
+                hollowAnimationTypes.add(type);
 
             usedMultiplierComment = null;
             usedPricesComment = null;
+            usedHollowAnimationComment = null;
         }
 
         consoleLogging = addNewConfigEntry(config, "consoleLogging", true, consoleLoggingComment);
@@ -483,6 +565,66 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
         return maxBlocksToMove;
     }
 
+    @Override
+    public int parallelAnimationThreshold()
+    {
+        return parallelAnimationThreshold;
+    }
+
+    @Override
+    public int animationDetailDistance()
+    {
+        return animationDetailDistance;
+    }
+
+    @Override
+    public double movementUpdateThreshold()
+    {
+        return movementUpdateThreshold;
+    }
+
+    @Override
+    public boolean virtualAnimatedBlocks()
+    {
+        return virtualAnimatedBlocks;
+    }
+
+    @Override
+    public boolean animationGovernor()
+    {
+        return animationGovernor;
+    }
+
+    @Override
+    public int animatedBlockBudget()
+    {
+        return animatedBlockBudget;
+    }
+
+    @Override
+    public int animationSpawnBudget()
+    {
+        return animationSpawnBudget;
+    }
+
+    @Override
+    public int perpetualAnimationViewDistance()
+    {
+        return perpetualAnimationViewDistance;
+    }
+
+    @Override
+    public int maxConcurrentAnimatedBlocks()
+    {
+        return maxConcurrentAnimatedBlocks;
+    }
+
+    @Override
+    public int maxQueuedAnimations()
+    {
+        return maxQueuedAnimations;
+    }
+
     @Override
     public boolean autoDLUpdate()
     {
@@ -547,6 +689,12 @@ public final class ConfigLoaderSpigot implements IConfigLoader, IDebuggable
         return doorMultipliers.getOrDefault(type, 0.0D);
     }
 
+    @Override
+    public boolean hollowAnimation(DoorType type)
+    {
+        return hollowAnimationTypes.contains(type);
+    }
+
     @Override
     public Level logLevel()
     {
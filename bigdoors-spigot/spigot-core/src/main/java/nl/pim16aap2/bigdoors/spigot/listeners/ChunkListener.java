@@ -3,9 +3,9 @@ package nl.pim16aap2.bigdoors.spigot.listeners;
 import lombok.extern.flogger.Flogger;
 import nl.pim16aap2.bigdoors.annotations.Initializer;
 import nl.pim16aap2.bigdoors.api.restartable.RestartableHolder;
-import nl.pim16aap2.bigdoors.managers.DatabaseManager;
 import nl.pim16aap2.bigdoors.managers.PowerBlockManager;
-import nl.pim16aap2.bigdoors.util.Util;
+import nl.pim16aap2.bigdoors.moveblocks.PerpetualMoverManager;
+import nl.pim16aap2.bigdoors.spigot.util.SpigotAdapter;
 import nl.pim16aap2.bigdoors.util.vector.Vector2Di;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -21,7 +21,7 @@ import java.lang.reflect.Method;
 import java.util.logging.Level;
 
 /**
- * Represents a listener that keeps track of chunks being unloaded.
+ * Represents a listener that keeps track of chunks being loaded and unloaded.
  *
  * @author Pim
  */
@@ -29,8 +29,6 @@ import java.util.logging.Level;
 @Flogger
 public class ChunkListener extends AbstractListener
 {
-    private final DatabaseManager databaseManager;
-
     /**
      * Checks if the ChunkUnloadEvent can be cancelled or not. In version 1.14 of Minecraft and later, that's no longer
      * the case.
@@ -42,15 +40,16 @@ public class ChunkListener extends AbstractListener
     private @Nullable Method isForceLoaded;
 
     private final PowerBlockManager powerBlockManager;
+    private final PerpetualMoverManager perpetualMoverManager;
 
     @Inject
     public ChunkListener(
-        JavaPlugin javaPlugin, DatabaseManager databaseManager, PowerBlockManager powerBlockManager,
+        JavaPlugin javaPlugin, PowerBlockManager powerBlockManager, PerpetualMoverManager perpetualMoverManager,
         RestartableHolder restartableHolder)
     {
         super(restartableHolder, javaPlugin);
-        this.databaseManager = databaseManager;
         this.powerBlockManager = powerBlockManager;
+        this.perpetualMoverManager = perpetualMoverManager;
         isCancellable = org.bukkit.event.Cancellable.class.isAssignableFrom(ChunkUnloadEvent.class);
         init();
         register();
@@ -78,72 +77,44 @@ public class ChunkListener extends AbstractListener
     }
 
     /**
-     * Listens to chunks being loaded and checks if they contain doors that move perpetually (doors, clocks, etc).
+     * Listens to chunks being loaded and starts the looping animations of the perpetual movers (windmills, clocks,
+     * etc.) in them.
      *
      * @param event
      *     The {@link ChunkLoadEvent}.
      */
-    @SuppressWarnings("CommentedOutCode")
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
     public void onChunkLoad(ChunkLoadEvent event)
     {
-        final long chunkId = Util.getChunkId(event.getChunk().getX(), event.getChunk().getZ());
-        databaseManager.getDoorsInChunk(chunkId).whenComplete(
-            (doors, throwable) ->
-                doors.forEach(doorUID -> databaseManager.getDoor(doorUID).whenComplete(
-                    (optionalDoor, throwable2) ->
-                        optionalDoor.ifPresent(
-                            door ->
-                            {
-                                // TODO: (re?)Implement this
-//                                if (door instanceof IPerpetualMover && door.isPowerBlockActive())
-//                                    BigDoors.get().getDoorOpener()
-//                                            .animateDoorAsync(door, DoorActionCause.PERPETUALMOVEMENT, null, 0,
-//                                                              false, DoorActionType.TOGGLE);
-                            })
-                )));
+        perpetualMoverManager.onChunkLoad(SpigotAdapter.wrapWorld(event.getWorld()),
+                                          new Vector2Di(event.getChunk().getX(), event.getChunk().getZ()));
     }
 
     /**
-     * Listens to chunks being unloaded and checks if it intersects with the region of any of the active {@link
-     * nl.pim16aap2.bigdoors.doors.DoorBase}s.
+     * Listens to chunks being unloaded and stops the looping animations of the perpetual movers that intersect with
+     * them.
      *
      * @param event
      *     The {@link ChunkUnloadEvent}.
      */
-    @SuppressWarnings("CommentedOutCode")
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
     public void onChunkUnload(ChunkUnloadEvent event)
     {
-        powerBlockManager.invalidateChunk(event.getWorld().getName(), new Vector2Di(event.getChunk().getX(),
-                                                                                    event.getChunk().getZ()));
-//        try
-//        {
-//            // If this class couldn't figure out reflection properly, give up.
-//            if (!success)
-//            {
-//                logger.warn("ChunkUnloadHandler was not initialized properly! " +
-//                                             "Please contact pim16aap2.");
-//                return;
-//            }
-//
-//            // If another plugin has already cancelled this event (or, forceLoaded this chunk in 1.14),
-//            // there's no need to interfere.
-//            if (isChunkUnloadCancelled(event))
-//                return;
-//
-//            final IPWorld world = SpigotAdapter.wrapWorld(event.getWorld());
-//            final Vector2Di chunkCoords = new Vector2Di(event.getChunk().getX(), event.getChunk().getZ());
-//
-//            // Abort all currently active BlockMovers that (might) interact with the chunk that is being unloaded.
-//            BigDoors.get().getDoorActivityManager().getBlockMovers()
-//                    .filter(BM -> BM.getDoor().chunkInRange(world, chunkCoords))
-//                    .forEach(BlockMover::abort);
-//        }
-//        catch (Exception e)
-//        {
-//            log.at(Level.SEVERE).withCause(e).log();
-//        }
+        final Vector2Di chunkCoords = new Vector2Di(event.getChunk().getX(), event.getChunk().getZ());
+        powerBlockManager.invalidateChunk(event.getWorld().getName(), chunkCoords);
+
+        // If another plugin has already cancelled this event (or force-loaded the chunk), the chunk stays loaded.
+        if (isChunkUnloadCancelled(event))
+            return;
+
+        try
+        {
+            perpetualMoverManager.onChunkUnload(SpigotAdapter.wrapWorld(event.getWorld()), chunkCoords);
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e).log("Failed to stop the animations in chunk %s", chunkCoords);
+        }
     }
 
     /**
@@ -2,7 +2,11 @@ package nl.pim16aap2.bigdoors.spigot.managers;
 
 import lombok.extern.flogger.Flogger;
 import nl.pim16aap2.bigdoors.api.IBigDoorsPlatform;
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
 import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookManager;
+import nl.pim16aap2.bigdoors.managers.AnimationHookManager;
+import nl.pim16aap2.bigdoors.moveblocks.AnimationDetailPolicy;
 import nl.pim16aap2.bigdoors.spigot.BigDoorsPlugin;
 import nl.pim16aap2.bigdoors.spigot.util.api.IBigDoorsSpigotSubPlatform;
 import nl.pim16aap2.bigdoors.spigot.v1_15_R1.BigDoorsSpigotSubPlatform_V1_15_R1;
@@ -35,7 +39,10 @@ public final class SubPlatformManager
      *     on an unsupported version.
      */
     @Inject
-    public SubPlatformManager(BigDoorsPlugin bigDoorsPlugin, AnimatedBlockHookManager animatedBlockHookManager)
+    public SubPlatformManager(
+        BigDoorsPlugin bigDoorsPlugin, AnimatedBlockHookManager animatedBlockHookManager,
+        AnimationHookManager animationHookManager, AnimationDetailPolicy animationDetailPolicy, IConfigLoader config,
+        IPExecutor executor)
     {
         serverVersion = Bukkit.getServer().getClass().getPackage().getName();
 
@@ -46,7 +53,8 @@ public final class SubPlatformManager
             final String versionStringTmp = serverVersion.split("\\.")[3];
             versionTmp = Version.parseVersion(versionStringTmp);
             if (versionTmp != Version.UNSUPPORTED_VERSION)
-                spigotPlatformTmp = versionTmp.getPlatform(animatedBlockHookManager);
+                spigotPlatformTmp = versionTmp.getPlatform(animatedBlockHookManager, animationHookManager,
+                                                           animationDetailPolicy, config, executor);
         }
         catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e)
         {
@@ -112,7 +120,8 @@ public final class SubPlatformManager
             {
                 @Override
                 public @Nullable IBigDoorsSpigotSubPlatform getPlatform(
-                    AnimatedBlockHookManager animatedBlockHookManager)
+                    AnimatedBlockHookManager animatedBlockHookManager, AnimationHookManager animationHookManager,
+                    AnimationDetailPolicy animationDetailPolicy, IConfigLoader config, IPExecutor executor)
                 {
                     return null;
                 }
@@ -120,9 +129,12 @@ public final class SubPlatformManager
         V1_15_R1
             {
                 @Override
-                public IBigDoorsSpigotSubPlatform getPlatform(AnimatedBlockHookManager animatedBlockHookManager)
+                public IBigDoorsSpigotSubPlatform getPlatform(
+                    AnimatedBlockHookManager animatedBlockHookManager, AnimationHookManager animationHookManager,
+                    AnimationDetailPolicy animationDetailPolicy, IConfigLoader config, IPExecutor executor)
                 {
-                    return new BigDoorsSpigotSubPlatform_V1_15_R1(animatedBlockHookManager);
+                    return new BigDoorsSpigotSubPlatform_V1_15_R1(animatedBlockHookManager, animationHookManager,
+                                                                  animationDetailPolicy, config, executor);
                 }
             },
         ;
@@ -131,7 +143,8 @@ public final class SubPlatformManager
          * @return The instance of the {@link IBigDoorsSpigotSubPlatform} for this {@link Version}.
          */
         public abstract @Nullable IBigDoorsSpigotSubPlatform getPlatform(
-            AnimatedBlockHookManager animatedBlockHookManager)
+            AnimatedBlockHookManager animatedBlockHookManager, AnimationHookManager animationHookManager,
+            AnimationDetailPolicy animationDetailPolicy, IConfigLoader config, IPExecutor executor)
             throws UnsupportedOperationException;
 
         public static Version parseVersion(String version)
@@ -3,10 +3,16 @@ package nl.pim16aap2.bigdoors.spigot.util.implementations;
 import nl.pim16aap2.bigdoors.api.IPWorld;
 import nl.pim16aap2.bigdoors.util.Util;
 import nl.pim16aap2.bigdoors.util.WorldTime;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents an implementation of {@link IPWorld} for the Spigot platform.
  *
@@ -50,4 +56,20 @@ public record PWorldSpigot(String worldName, @Nullable World world) implements I
     {
         return new WorldTime(world == null ? 0 : world.getTime());
     }
+
+    @Override
+    public List<Vector3Dd> getPlayerPositions()
+    {
+        if (world == null)
+            return List.of();
+
+        final List<Player> players = world.getPlayers();
+        final List<Vector3Dd> positions = new ArrayList<>(players.size());
+        for (final Player player : players)
+        {
+            final Location location = player.getLocation();
+            positions.add(new Vector3Dd(location.getX(), location.getY(), location.getZ()));
+        }
+        return positions;
+    }
 }
@@ -1,20 +1,32 @@
 package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
 
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
 import nl.pim16aap2.bigdoors.api.IPLocation;
+import nl.pim16aap2.bigdoors.api.IPWorld;
 import nl.pim16aap2.bigdoors.api.animatedblock.AnimationContext;
 import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockData;
+import nl.pim16aap2.bigdoors.api.animatedblock.IBlockChangeBatch;
 import nl.pim16aap2.bigdoors.api.factories.IAnimatedBlockFactory;
 import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookManager;
 import nl.pim16aap2.bigdoors.spigot.util.SpigotAdapter;
 import nl.pim16aap2.bigdoors.util.Constants;
+import nl.pim16aap2.bigdoors.util.Cuboid;
 import nl.pim16aap2.bigdoors.util.Util;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.craftbukkit.v1_15_R1.CraftWorld;
 import org.bukkit.craftbukkit.v1_15_R1.util.CraftChatMessage;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,10 +39,19 @@ import java.util.Optional;
 public final class AnimatedBlockFactory_V1_15_R1 implements IAnimatedBlockFactory
 {
     private final AnimatedBlockHookManager animatedBlockHookManager;
+    private final MovementPacketBatcher_V1_15_R1 packetBatcher;
+    private final VirtualAnimatedBlockFactory_V1_15_R1 virtualAnimatedBlockFactory;
+    private final IConfigLoader config;
+    private final AnimatedBlockPool_V1_15_R1 entityPool = new AnimatedBlockPool_V1_15_R1();
 
-    AnimatedBlockFactory_V1_15_R1(AnimatedBlockHookManager animatedBlockHookManager)
+    AnimatedBlockFactory_V1_15_R1(
+        AnimatedBlockHookManager animatedBlockHookManager, MovementPacketBatcher_V1_15_R1 packetBatcher,
+        VirtualAnimatedBlockFactory_V1_15_R1 virtualAnimatedBlockFactory, IConfigLoader config)
     {
         this.animatedBlockHookManager = animatedBlockHookManager;
+        this.packetBatcher = packetBatcher;
+        this.virtualAnimatedBlockFactory = virtualAnimatedBlockFactory;
+        this.config = config;
     }
 
     @Override
@@ -41,21 +62,155 @@ public final class AnimatedBlockFactory_V1_15_R1 implements IAnimatedBlockFactor
     {
         final Location spigotLocation = SpigotAdapter.getBukkitLocation(loc);
         final World bukkitWorld = Util.requireNonNull(spigotLocation.getWorld(), "Spigot world from location: " + loc);
-        final Material material = spigotLocation.getBlock().getType();
+        return create(loc, bukkitWorld, spigotLocation.getBlock().getBlockData(), radius, startAngle, bottom, onEdge,
+                      context, finalPosition);
+    }
+
+    @Override
+    public Optional<IAnimatedBlockData> createBlockData(IPLocation loc)
+    {
+        final Location spigotLocation = SpigotAdapter.getBukkitLocation(loc);
+        final World bukkitWorld = Util.requireNonNull(spigotLocation.getWorld(), "Spigot world from location: " + loc);
+        return Optional.ofNullable(createBlockData(loc, bukkitWorld, spigotLocation.getBlock().getBlockData()));
+    }
+
+    @Override
+    public Optional<IAnimatedBlockFactory> captureRegion(IPWorld world, Cuboid region)
+    {
+        final World bukkitWorld = Util.requireNonNull(SpigotAdapter.getBukkitWorld(world), "Spigot world");
+        final Vector3Di min = region.getMin();
+        final Vector3Di max = region.getMax();
 
-        if (!BlockAnalyzer_V1_15_R1.isAllowedBlockStatic(material))
+        final Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+        for (int chunkX = min.x() >> 4; chunkX <= max.x() >> 4; ++chunkX)
+            for (int chunkZ = min.z() >> 4; chunkZ <= max.z() >> 4; ++chunkZ)
+                snapshots.put(getChunkKey(chunkX, chunkZ),
+                              bukkitWorld.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+        return Optional.of(new CapturedRegion(bukkitWorld, snapshots));
+    }
+
+    @Override
+    public void recycle(Collection<? extends IAnimatedBlock> animatedBlocks)
+    {
+        for (final IAnimatedBlock animatedBlock : animatedBlocks)
+            if (animatedBlock instanceof CustomEntityFallingBlock_V1_15_R1 entity)
+                entityPool.release(entity);
+    }
+
+    @Override
+    public IBlockChangeBatch newBlockChangeBatch(IPWorld world)
+    {
+        final World bukkitWorld = Util.requireNonNull(SpigotAdapter.getBukkitWorld(world), "Spigot world");
+        return new BlockChangeBatch_V1_15_R1(((CraftWorld) bukkitWorld).getHandle());
+    }
+
+    /**
+     * Creates a new animated block from the data of the block it replaces.
+     * <p>
+     * This does not access the world, so it can be called from any thread.
+     *
+     * @param blockData
+     *     The data of the block at the provided location. This object is modified by the animated block, so it should
+     *     not be shared.
+     */
+    private Optional<IAnimatedBlock> create(
+        IPLocation loc, World bukkitWorld, BlockData blockData, float radius, float startAngle, boolean bottom,
+        boolean onEdge, AnimationContext context, Vector3Dd finalPosition)
+        throws Exception
+    {
+        final @Nullable NMSBlock_V1_15_R1 animatedBlockData = createBlockData(loc, bukkitWorld, blockData);
+        if (animatedBlockData == null)
             return Optional.empty();
 
         final double offset = bottom ? 0.010_001 : 0;
         final IPLocation spawnLoc = loc.add(0, offset - 0.020, 0);
 
+        if (config.virtualAnimatedBlocks())
+            return Optional.of(virtualAnimatedBlockFactory.create(spawnLoc, bukkitWorld, radius, startAngle, onEdge,
+                                                                  context, finalPosition, animatedBlockData));
+
+        final @Nullable CustomEntityFallingBlock_V1_15_R1 pooled = entityPool.acquire(bukkitWorld);
+        if (pooled != null)
+        {
+            pooled.rebind(spawnLoc.getX(), spawnLoc.getY(), spawnLoc.getZ(), radius, startAngle, onEdge, context,
+                          finalPosition, animatedBlockData);
+            return Optional.of(pooled);
+        }
+
         final var animatedBlock = new nl.pim16aap2.bigdoors.spigot.v1_15_R1
             .CustomEntityFallingBlock_V1_15_R1(loc.getWorld(), bukkitWorld, spawnLoc.getX(), spawnLoc.getY(),
                                                spawnLoc.getZ(), radius, startAngle, onEdge,
-                                               context, animatedBlockHookManager, finalPosition);
+                                               context, animatedBlockHookManager, finalPosition,
+                                               packetBatcher, animatedBlockData);
 
         animatedBlock.setCustomName(CraftChatMessage.fromStringOrNull(Constants.BIGDOORS_ENTITY_NAME));
         animatedBlock.setCustomNameVisible(false);
         return Optional.of(animatedBlock);
     }
+
+    /**
+     * Creates a new block from the data of the block at the provided location.
+     * <p>
+     * This does not access the world, so it can be called from any thread.
+     *
+     * @param blockData
+     *     The data of the block at the provided location. This object is modified by the new block, so it should not be
+     *     shared.
+     * @return The new block, or null if the block cannot be animated.
+     */
+    private static @Nullable NMSBlock_V1_15_R1 createBlockData(IPLocation loc, World bukkitWorld, BlockData blockData)
+    {
+        if (!BlockAnalyzer_V1_15_R1.isAllowedBlockStatic(blockData.getMaterial()))
+            return null;
+        return new NMSBlock_V1_15_R1(((CraftWorld) bukkitWorld).getHandle(),
+                                     loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), blockData);
+    }
+
+    private static long getChunkKey(int chunkX, int chunkZ)
+    {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Creates animated blocks from the {@link ChunkSnapshot}s of a region instead of the live world.
+     */
+    private final class CapturedRegion implements IAnimatedBlockFactory
+    {
+        private final World bukkitWorld;
+        private final Map<Long, ChunkSnapshot> snapshots;
+
+        private CapturedRegion(World bukkitWorld, Map<Long, ChunkSnapshot> snapshots)
+        {
+            this.bukkitWorld = bukkitWorld;
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public Optional<IAnimatedBlock> create(
+            IPLocation loc, float radius, float startAngle, boolean bottom, boolean onEdge, AnimationContext context,
+            Vector3Dd finalPosition)
+            throws Exception
+        {
+            return AnimatedBlockFactory_V1_15_R1.this
+                .create(loc, bukkitWorld, getCapturedBlockData(loc), radius, startAngle, bottom, onEdge, context,
+                        finalPosition);
+        }
+
+        @Override
+        public Optional<IAnimatedBlockData> createBlockData(IPLocation loc)
+        {
+            return Optional.ofNullable(
+                AnimatedBlockFactory_V1_15_R1.createBlockData(loc, bukkitWorld, getCapturedBlockData(loc)));
+        }
+
+        private BlockData getCapturedBlockData(IPLocation loc)
+        {
+            final int x = loc.getBlockX();
+            final int z = loc.getBlockZ();
+            final ChunkSnapshot snapshot = snapshots.get(getChunkKey(x >> 4, z >> 4));
+            if (snapshot == null)
+                throw new IllegalArgumentException("Location " + loc + " is outside of the captured region!");
+            return snapshot.getBlockData(x & 15, loc.getBlockY(), z & 15);
+        }
+    }
 }
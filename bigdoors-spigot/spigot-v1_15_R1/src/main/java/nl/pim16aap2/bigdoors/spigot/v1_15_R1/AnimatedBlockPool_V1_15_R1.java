@@ -0,0 +1,79 @@
+package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
+
+import lombok.extern.flogger.Flogger;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Keeps the {@link CustomEntityFallingBlock_V1_15_R1}s of finished animations, so they can be rebound to new blocks
+ * instead of being constructed again for every animation.
+ * <p>
+ * Entities are bound to the world they were created in, so the pool keeps a separate queue for every world. Each queue
+ * holds at most {@link #MAX_POOL_SIZE_PER_WORLD} entities; any entities released beyond that are left to the garbage
+ * collector.
+ * <p>
+ * Entities can be acquired from any thread, as animated blocks may be created asynchronously.
+ *
+ * @author Pim
+ */
+@Flogger
+final class AnimatedBlockPool_V1_15_R1
+{
+    /**
+     * The maximum number of unused entities to keep for every world.
+     */
+    static final int MAX_POOL_SIZE_PER_WORLD = 4096;
+
+    private final Map<UUID, ArrayDeque<CustomEntityFallingBlock_V1_15_R1>> pool = new HashMap<>();
+
+    /**
+     * Retrieves an unused entity from the pool.
+     * <p>
+     * The entity still has to be rebound using {@link CustomEntityFallingBlock_V1_15_R1#rebind} before it can be used.
+     *
+     * @param world
+     *     The world the entity will be spawned in.
+     * @return An unused entity in the provided world, or null if the pool does not contain any.
+     */
+    synchronized @Nullable CustomEntityFallingBlock_V1_15_R1 acquire(World world)
+    {
+        final @Nullable ArrayDeque<CustomEntityFallingBlock_V1_15_R1> queue = pool.get(world.getUID());
+        if (queue == null)
+            return null;
+
+        final @Nullable CustomEntityFallingBlock_V1_15_R1 entity = queue.pollLast();
+        if (entity == null || entity.getBukkitWorld() == world)
+            return entity;
+
+        // The world was reloaded since the entities were released, so they belong to a world that no longer exists.
+        log.at(Level.FINER).log("Discarding %d pooled entities of reloaded world '%s'", queue.size() + 1,
+                                world.getName());
+        pool.remove(world.getUID());
+        return null;
+    }
+
+    /**
+     * Returns an entity to the pool, so it can be reused for another animation.
+     * <p>
+     * The entity must not be used anymore by its previous animation after it has been released.
+     *
+     * @param entity
+     *     The entity to release. Entities that are still in the world are ignored.
+     */
+    synchronized void release(CustomEntityFallingBlock_V1_15_R1 entity)
+    {
+        if (!entity.isReusable())
+            return;
+
+        final ArrayDeque<CustomEntityFallingBlock_V1_15_R1> queue =
+            pool.computeIfAbsent(entity.getBukkitWorld().getUID(), key -> new ArrayDeque<>());
+        if (queue.size() < MAX_POOL_SIZE_PER_WORLD)
+            queue.addLast(entity);
+    }
+}
@@ -3,8 +3,12 @@ package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
 import lombok.Getter;
 import nl.pim16aap2.bigdoors.annotations.Initializer;
 import nl.pim16aap2.bigdoors.api.IBlockAnalyzer;
+import nl.pim16aap2.bigdoors.api.IConfigLoader;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
 import nl.pim16aap2.bigdoors.api.factories.IAnimatedBlockFactory;
 import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookManager;
+import nl.pim16aap2.bigdoors.managers.AnimationHookManager;
+import nl.pim16aap2.bigdoors.moveblocks.AnimationDetailPolicy;
 import nl.pim16aap2.bigdoors.spigot.util.api.IBigDoorsSpigotSubPlatform;
 import nl.pim16aap2.bigdoors.spigot.util.api.IGlowingBlockFactory;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -28,10 +32,24 @@ public final class BigDoorsSpigotSubPlatform_V1_15_R1 implements IBigDoorsSpigot
 
     private final AnimatedBlockHookManager animatedBlockHookManager;
 
+    private final AnimationHookManager animationHookManager;
+
+    private final AnimationDetailPolicy animationDetailPolicy;
+
+    private final IConfigLoader config;
+
+    private final IPExecutor executor;
+
     @Inject
-    public BigDoorsSpigotSubPlatform_V1_15_R1(AnimatedBlockHookManager animatedBlockHookManager)
+    public BigDoorsSpigotSubPlatform_V1_15_R1(
+        AnimatedBlockHookManager animatedBlockHookManager, AnimationHookManager animationHookManager,
+        AnimationDetailPolicy animationDetailPolicy, IConfigLoader config, IPExecutor executor)
     {
         this.animatedBlockHookManager = animatedBlockHookManager;
+        this.animationHookManager = animationHookManager;
+        this.animationDetailPolicy = animationDetailPolicy;
+        this.config = config;
+        this.executor = executor;
     }
 
     @Override
@@ -44,7 +62,16 @@ public final class BigDoorsSpigotSubPlatform_V1_15_R1 implements IBigDoorsSpigot
     @Initializer
     public void init(JavaPlugin plugin)
     {
-        animatedBlockFactory = new AnimatedBlockFactory_V1_15_R1(animatedBlockHookManager);
+        final MovementPacketBatcher_V1_15_R1 packetBatcher = new MovementPacketBatcher_V1_15_R1(animationDetailPolicy);
+        final VirtualAnimatedBlockFactory_V1_15_R1 virtualAnimatedBlockFactory =
+            new VirtualAnimatedBlockFactory_V1_15_R1(animatedBlockHookManager, packetBatcher, executor);
+
+        // The virtual blocks queue their movement during the step, so their hooks have to run before the batcher's.
+        animationHookManager.registerFactory(virtualAnimatedBlockFactory);
+        animationHookManager.registerFactory(new MovementPacketBatcher_V1_15_R1.HookFactory(packetBatcher));
+
+        animatedBlockFactory = new AnimatedBlockFactory_V1_15_R1(animatedBlockHookManager, packetBatcher,
+                                                                 virtualAnimatedBlockFactory, config);
         blockAnalyzer = new nl.pim16aap2.bigdoors.spigot.v1_15_R1.BlockAnalyzer_V1_15_R1();
         glowingBlockFactory = new GlowingBlock_V1_15_R1.Factory();
     }
@@ -0,0 +1,224 @@
+package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
+
+import net.minecraft.server.v1_15_R1.Block;
+import net.minecraft.server.v1_15_R1.BlockPosition;
+import net.minecraft.server.v1_15_R1.Blocks;
+import net.minecraft.server.v1_15_R1.Chunk;
+import net.minecraft.server.v1_15_R1.ChunkProviderServer;
+import net.minecraft.server.v1_15_R1.ChunkSection;
+import net.minecraft.server.v1_15_R1.HeightMap;
+import net.minecraft.server.v1_15_R1.IBlockData;
+import net.minecraft.server.v1_15_R1.LightEngineThreaded;
+import net.minecraft.server.v1_15_R1.SectionPosition;
+import net.minecraft.server.v1_15_R1.World;
+import net.minecraft.server.v1_15_R1.WorldServer;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockData;
+import nl.pim16aap2.bigdoors.api.animatedblock.IBlockChangeBatch;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * V1_15_R1 implementation of {@link IBlockChangeBatch}.
+ * <p>
+ * Instead of setting every block through the world, the changes are grouped by chunk section and written to the
+ * palettes of the sections directly. The light engine and the player chunk map are only notified of the changed
+ * positions, so the light engine recalculates the lighting of all changes in a single pass and the clients receive a
+ * single update per chunk at the end of the tick instead of a packet per block.
+ * <p>
+ * Just like {@link NMSBlock_V1_15_R1#putBlock(Vector3Di)}, the changes do not cause any neighbour updates. Deleting
+ * blocks with physics is delegated to {@link IAnimatedBlockData#deleteOriginalBlock(boolean)} once all other changes
+ * have been written, so the neighbour updates only happen after all blocks have been removed.
+ * <p>
+ * Writing to the sections directly skips {@link Block#onPlace} and {@link Block#remove}. Changes that involve tile
+ * entities or blocks that override either of those methods (e.g. redstone components, rails, and pistons) are therefore
+ * still set through the world. For all other changes, the points of interest of villagers (e.g. workstations) are
+ * updated as well. The only side effect that is intentionally dropped is the invalidation of the paths of navigating
+ * mobs, as that requires a pass over all navigating mobs in the world for every changed block. Those mobs recompute
+ * their paths once they get stuck.
+ *
+ * @author Pim
+ * @see IBlockChangeBatch
+ */
+final class BlockChangeBatch_V1_15_R1 implements IBlockChangeBatch
+{
+    private static final IBlockData AIR = Blocks.AIR.getBlockData();
+
+    /**
+     * Whether the classes of blocks override {@link Block#onPlace} or {@link Block#remove}.
+     */
+    private static final Map<Class<?>, Boolean> PLACEMENT_CALLBACKS = new ConcurrentHashMap<>();
+
+    private static final HeightMap.Type[] HEIGHT_MAP_TYPES = {
+        HeightMap.Type.WORLD_SURFACE, HeightMap.Type.OCEAN_FLOOR, HeightMap.Type.MOTION_BLOCKING,
+        HeightMap.Type.MOTION_BLOCKING_NO_LEAVES
+    };
+
+    private final WorldServer worldServer;
+
+    /**
+     * The changes that have not been applied yet, grouped by chunk section.
+     */
+    private final Map<SectionPosition, List<BlockChange>> changes = new LinkedHashMap<>();
+
+    /**
+     * The blocks whose original blocks should be deleted with physics after all other changes have been applied.
+     */
+    private final List<IAnimatedBlockData> physicsDeletions = new ArrayList<>();
+
+    BlockChangeBatch_V1_15_R1(WorldServer worldServer)
+    {
+        this.worldServer = worldServer;
+    }
+
+    @Override
+    public void putBlock(IAnimatedBlockData blockData, Vector3Di position)
+    {
+        if (!(blockData instanceof NMSBlock_V1_15_R1 nmsBlock))
+        {
+            blockData.putBlock(position);
+            return;
+        }
+        addChange(new BlockPosition(position.x(), position.y(), position.z()), nmsBlock.getMyBlockData());
+    }
+
+    @Override
+    public void deleteOriginalBlock(IAnimatedBlockData blockData, boolean applyPhysics)
+    {
+        if (applyPhysics)
+            physicsDeletions.add(blockData);
+        else if (blockData instanceof NMSBlock_V1_15_R1 nmsBlock)
+            addChange(nmsBlock.getOriginalPosition(), AIR);
+        else
+            blockData.deleteOriginalBlock(false);
+    }
+
+    private void addChange(BlockPosition position, IBlockData blockData)
+    {
+        if (position.getY() < 0 || position.getY() > 255)
+            return;
+        changes.computeIfAbsent(SectionPosition.a(position), key -> new ArrayList<>())
+               .add(new BlockChange(position, blockData));
+    }
+
+    @Override
+    public void apply()
+    {
+        changes.forEach(this::writeSection);
+        changes.clear();
+
+        physicsDeletions.forEach(blockData -> blockData.deleteOriginalBlock(true));
+        physicsDeletions.clear();
+    }
+
+    /**
+     * Writes all changes in a single chunk section to the section.
+     *
+     * @param sectionPosition
+     *     The position of the chunk section.
+     * @param sectionChanges
+     *     The changes in the chunk section.
+     */
+    private void writeSection(SectionPosition sectionPosition, List<BlockChange> sectionChanges)
+    {
+        final ChunkProviderServer chunkProvider = worldServer.getChunkProvider();
+        final LightEngineThreaded lightEngine = chunkProvider.getLightEngine();
+        final Chunk chunk = worldServer.getChunkAt(sectionPosition.a(), sectionPosition.c());
+        final ChunkSection[] sections = chunk.getSections();
+        final int sectionY = sectionPosition.b();
+
+        ChunkSection section = sections[sectionY];
+        final boolean wasEmpty = ChunkSection.a(section);
+
+        for (final BlockChange change : sectionChanges)
+        {
+            final BlockPosition position = change.position();
+            final IBlockData blockData = change.blockData();
+
+            if (section == Chunk.a)
+            {
+                if (blockData.isAir())
+                    continue;
+                section = new ChunkSection(sectionY << 4);
+                sections[sectionY] = section;
+            }
+
+            final int x = position.getX() & 15;
+            final int y = position.getY() & 15;
+            final int z = position.getZ() & 15;
+
+            final IBlockData old = section.getType(x, y, z);
+            if (old == blockData)
+                continue;
+
+            // Tile entities have to be created and removed by the world and the placement callbacks of blocks are only
+            // called by the world, so those blocks cannot be written directly.
+            if (requiresWorld(old) || requiresWorld(blockData))
+            {
+                if (worldServer.setTypeAndData(position, blockData, 1042))
+                    worldServer.getMinecraftWorld().notify(position, old, blockData, 3);
+                continue;
+            }
+
+            section.setType(x, y, z, blockData);
+            for (final HeightMap.Type type : HEIGHT_MAP_TYPES)
+                chunk.a(type).a(x, position.getY(), z, blockData);
+
+            lightEngine.a(position);
+            chunkProvider.flagDirty(position);
+            // Updates the points of interest of villagers, just like setting the block through the world would.
+            worldServer.a(position, old, blockData);
+        }
+
+        final boolean isEmpty = ChunkSection.a(section);
+        if (wasEmpty != isEmpty)
+            lightEngine.a(sectionPosition, isEmpty);
+        chunk.setNeedsSaving(true);
+    }
+
+    /**
+     * Checks if a block has to be set through the world instead of being written to its section directly.
+     *
+     * @param blockData
+     *     The block data to check.
+     * @return True if the block is a tile entity or if it overrides {@link Block#onPlace} or {@link Block#remove}.
+     */
+    private static boolean requiresWorld(IBlockData blockData)
+    {
+        final Block block = blockData.getBlock();
+        return block.isTileEntity() ||
+            PLACEMENT_CALLBACKS.computeIfAbsent(block.getClass(), BlockChangeBatch_V1_15_R1::hasPlacementCallbacks);
+    }
+
+    private static boolean hasPlacementCallbacks(Class<?> blockClass)
+    {
+        try
+        {
+            return blockClass.getMethod("onPlace", IBlockData.class, World.class, BlockPosition.class,
+                                        IBlockData.class, boolean.class).getDeclaringClass() != Block.class ||
+                blockClass.getMethod("remove", IBlockData.class, World.class, BlockPosition.class,
+                                     IBlockData.class, boolean.class).getDeclaringClass() != Block.class;
+        }
+        catch (NoSuchMethodException e)
+        {
+            // Without knowing what the block does, setting it through the world is the only safe option.
+            return true;
+        }
+    }
+
+    /**
+     * Represents a single change of a block.
+     *
+     * @param position
+     *     The position of the block to change.
+     * @param blockData
+     *     The new block data of the block.
+     */
+    private record BlockChange(BlockPosition position, IBlockData blockData)
+    {
+    }
+}
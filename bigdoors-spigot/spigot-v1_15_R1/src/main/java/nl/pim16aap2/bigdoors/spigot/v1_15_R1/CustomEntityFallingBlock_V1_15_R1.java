@@ -9,6 +9,7 @@ import net.minecraft.server.v1_15_R1.BlockPosition;
 import net.minecraft.server.v1_15_R1.Blocks;
 import net.minecraft.server.v1_15_R1.CrashReportSystemDetails;
 import net.minecraft.server.v1_15_R1.Entity;
+import net.minecraft.server.v1_15_R1.EntityTrackerEntry;
 import net.minecraft.server.v1_15_R1.EntityTypes;
 import net.minecraft.server.v1_15_R1.GameProfileSerializer;
 import net.minecraft.server.v1_15_R1.IBlockData;
@@ -21,11 +22,10 @@ import nl.pim16aap2.bigdoors.api.IPLocation;
 import nl.pim16aap2.bigdoors.api.IPWorld;
 import nl.pim16aap2.bigdoors.api.animatedblock.AnimationContext;
 import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
-import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlockHook;
+import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookDispatcher;
 import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookManager;
 import nl.pim16aap2.bigdoors.spigot.util.SpigotAdapter;
 import nl.pim16aap2.bigdoors.spigot.util.api.IAnimatedBlockSpigot;
-import nl.pim16aap2.bigdoors.spigot.util.implementations.PLocationSpigot;
 import nl.pim16aap2.bigdoors.util.Util;
 import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 import org.bukkit.Location;
@@ -37,13 +37,19 @@ import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
-import java.util.List;
+import java.lang.reflect.Modifier;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
 import java.util.logging.Level;
 
 /**
  * V1_15_R1 implementation of {@link IAnimatedBlock}.
+ * <p>
+ * Instances are reused across animations through the {@link AnimatedBlockPool_V1_15_R1}. See {@link #rebind}.
+ * <p>
+ * The vanilla entity tracker does not synchronize the position and velocity of these entities. Instead, all movement
+ * updates are sent through the {@link MovementPacketBatcher_V1_15_R1}, so the updates of all blocks of an animation are
+ * sent to every player at once. See {@link #disableMovementSync()}.
  *
  * @author Pim
  * @see IAnimatedBlock
@@ -56,6 +62,16 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
 {
     private static final @Nullable AtomicInteger ENTITY_COUNT;
 
+    /**
+     * The field of {@link PlayerChunkMap.EntityTracker} that holds its {@link EntityTrackerEntry}.
+     */
+    private static final @Nullable Field TRACKER_ENTRY;
+
+    /**
+     * The field of {@link EntityTrackerEntry} that holds the number of ticks between two movement updates.
+     */
+    private static final @Nullable Field UPDATE_INTERVAL;
+
     static
     {
         @Nullable AtomicInteger entityCountTmp = null;
@@ -71,6 +87,39 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
                .log("Could not find entityCount field. Animations will be unable to rotate!");
         }
         ENTITY_COUNT = entityCountTmp;
+
+        // The fields are obfuscated, so they are found by their types instead of their names.
+        @Nullable Field trackerEntryTmp = null;
+        @Nullable Field updateIntervalTmp = null;
+        try
+        {
+            for (final Field f : PlayerChunkMap.EntityTracker.class.getDeclaredFields())
+                if (f.getType() == EntityTrackerEntry.class)
+                {
+                    trackerEntryTmp = f;
+                    break;
+                }
+            for (final Field f : EntityTrackerEntry.class.getDeclaredFields())
+                if (f.getType() == int.class && Modifier.isFinal(f.getModifiers()) &&
+                    !Modifier.isStatic(f.getModifiers()))
+                {
+                    updateIntervalTmp = f;
+                    break;
+                }
+            if (trackerEntryTmp == null || updateIntervalTmp == null)
+                throw new NoSuchFieldException("Could not find the fields of the entity tracker!");
+            trackerEntryTmp.setAccessible(true);
+            updateIntervalTmp.setAccessible(true);
+        }
+        catch (Exception e)
+        {
+            log.at(Level.SEVERE).withCause(e)
+               .log("Movement updates of animated blocks will be sent by the vanilla entity tracker!");
+            trackerEntryTmp = null;
+            updateIntervalTmp = null;
+        }
+        TRACKER_ENTRY = trackerEntryTmp;
+        UPDATE_INTERVAL = updateIntervalTmp;
     }
 
     // ticksLived is also a field in NMS.EntityFallingBlock. However, we want to override that on purpose.
@@ -84,73 +133,138 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
     private @Nullable NBTTagCompound tileEntityData;
 
     @Getter
-    private final NMSBlock_V1_15_R1 animatedBlockData;
+    private NMSBlock_V1_15_R1 animatedBlockData;
     private int fallHurtMax;
     private float fallHurtAmount;
     @Getter
     private final org.bukkit.World bukkitWorld;
     @Getter
-    private final AnimationContext context;
+    private AnimationContext context;
     @Getter
-    private final float radius;
+    private float radius;
     @Getter
-    private final float startAngle;
+    private float startAngle;
     @Getter
-    private final boolean onEdge;
+    private boolean onEdge;
     private final IPWorld pWorld;
-    private final List<IAnimatedBlockHook> hooks;
+    @ToString.Exclude
+    private final AnimatedBlockHookManager animatedBlockHookManager;
+    private AnimatedBlockHookDispatcher hooks;
     @ToString.Exclude
     private @Nullable PlayerChunkMap.EntityTracker tracker;
+
+    /**
+     * Whether the vanilla entity tracker no longer synchronizes the movement of this entity. See
+     * {@link #disableMovementSync()}.
+     */
+    private boolean movementSyncDisabled = false;
+
+    /**
+     * Whether the velocity of this entity changed since the last call to {@link #pollVelocityChanged()}.
+     */
+    private boolean velocityUpdated = false;
     @ToString.Exclude
     private final WorldServer worldServer;
+    @ToString.Exclude
+    private final MovementPacketBatcher_V1_15_R1 packetBatcher;
 
     @Getter
     private Vector3Dd previousPosition;
     @Getter
     private Vector3Dd currentPosition;
 
-    private final IPLocation startLocation;
-    private final Vector3Dd startPosition;
-    private final Vector3Dd finalPosition;
+    private Vector3Dd startPosition;
+    private Vector3Dd finalPosition;
 
     public CustomEntityFallingBlock_V1_15_R1(
         IPWorld pWorld, World world, double d0, double d1, double d2, float radius, float startAngle,
         boolean onEdge, AnimationContext context, AnimatedBlockHookManager animatedBlockHookManager,
-        Vector3Dd finalPosition)
+        Vector3Dd finalPosition, MovementPacketBatcher_V1_15_R1 packetBatcher, NMSBlock_V1_15_R1 animatedBlockData)
         throws Exception
     {
         super(EntityTypes.FALLING_BLOCK, ((CraftWorld) world).getHandle());
         this.pWorld = pWorld;
         bukkitWorld = world;
-        this.radius = radius;
-        this.startAngle = startAngle;
-        this.onEdge = onEdge;
-        this.context = context;
-        this.finalPosition = finalPosition;
+        this.packetBatcher = packetBatcher;
+        this.animatedBlockHookManager = animatedBlockHookManager;
         worldServer = ((CraftWorld) bukkitWorld).getHandle();
-        // Do not round x and z because they are at half blocks; Given x;z 10;5, the block will be spawned at
-        // 10.5;5.5. Rounding it would retrieve the blocks at 11;6.
-        this.animatedBlockData =
-            new NMSBlock_V1_15_R1(worldServer, (int) Math.floor(d0), (int) Math.round(d1), (int) Math.floor(d2));
-        this.startLocation = new PLocationSpigot(new Location(bukkitWorld, d0, d1, d2));
-        this.startPosition = new Vector3Dd(startLocation.getX(), startLocation.getY(), startLocation.getZ());
         i = true;
-        setPosition(d0, d1 + (1.0F - getHeight()) / 2.0F, d2);
         setNoGravity(true);
+        noclip = true;
+
+        this.animatedBlockData = animatedBlockData;
+        this.context = context;
+        this.finalPosition = finalPosition;
+        this.startPosition = new Vector3Dd(d0, d1, d2);
+        previousPosition = startPosition;
+        currentPosition = startPosition;
+        this.hooks = bind(d0, d1, d2, radius, startAngle, onEdge);
+    }
+
+    /**
+     * Binds this entity to a new block, position, and animation context, so it can be reused after it was killed.
+     * <p>
+     * The entity receives a new id and unique id, so clients do not confuse it with the entity it used to be.
+     * <p>
+     * This may only be called for entities that are no longer part of any animation. See
+     * {@link AnimatedBlockPool_V1_15_R1}.
+     */
+    synchronized void rebind(
+        double d0, double d1, double d2, float radius, float startAngle, boolean onEdge, AnimationContext context,
+        Vector3Dd finalPosition, NMSBlock_V1_15_R1 animatedBlockData)
+    {
+        if (ENTITY_COUNT != null)
+            this.e(ENTITY_COUNT.incrementAndGet());
+        a(UUID.randomUUID());
+
+        dead = false;
+        tracker = null;
+        movementSyncDisabled = false;
+        velocityUpdated = false;
+        ticksLived = 0;
+        tileEntityData = null;
+        velocityChanged = false;
+
+        this.animatedBlockData = animatedBlockData;
+        this.context = context;
+        this.finalPosition = finalPosition;
+        this.startPosition = new Vector3Dd(d0, d1, d2);
+        previousPosition = startPosition;
+        currentPosition = startPosition;
+        this.hooks = bind(d0, d1, d2, radius, startAngle, onEdge);
+    }
+
+    /**
+     * Resets the position and movement of this entity and sets the fields that are shared between the constructor and
+     * {@link #rebind}.
+     *
+     * @return The hooks for the new binding of this entity.
+     */
+    private AnimatedBlockHookDispatcher bind(
+        double d0, double d1, double d2, float radius, float startAngle, boolean onEdge)
+    {
+        this.radius = radius;
+        this.startAngle = startAngle;
+        this.onEdge = onEdge;
         fallHurtMax = 0;
         fallHurtAmount = 0.0F;
+
+        setPosition(d0, d1 + (1.0F - getHeight()) / 2.0F, d2);
         setMot(0, 0, 0);
         lastX = d0;
         lastY = d1;
         lastZ = d2;
-
-        previousPosition = new Vector3Dd(d0, d1, d2);
-        currentPosition = previousPosition;
-
-        noclip = true;
         a(new BlockPosition(this));
 
-        this.hooks = animatedBlockHookManager.instantiateHooks(this);
+        return animatedBlockHookManager.instantiateHooks(this);
+    }
+
+    /**
+     * @return True if this entity is not in the world and can therefore be bound to another block.
+     */
+    synchronized boolean isReusable()
+    {
+        return dead || tracker == null;
     }
 
     @Override
@@ -160,7 +274,7 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
             ent.stopRiding();
         dead = true;
         this.worldServer.removeEntity(this);
-        forEachHook("onDie", IAnimatedBlockHook::onDie);
+        hooks.onDie();
     }
 
     private void spawn0()
@@ -168,14 +282,62 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
         worldServer.addEntity(this, SpawnReason.CUSTOM);
         tracker = Util.requireNonNull(worldServer.getChunkProvider().playerChunkMap.trackedEntities.get(getId()),
                                       "entity tracker");
+        movementSyncDisabled = disableMovementSync();
         dead = false;
     }
 
+    /**
+     * Stops the vanilla entity tracker from synchronizing the movement of this entity.
+     * <p>
+     * The tracker normally sends the velocity of the entity whenever it changes and its position at a fixed interval,
+     * using a separate packet for every player. The interval is set to its maximum value instead, so the tracker only
+     * sends the initial position of the entity. The {@link MovementPacketBatcher_V1_15_R1} takes care of everything
+     * else.
+     *
+     * @return True if the movement of this entity is no longer synchronized by the vanilla entity tracker.
+     */
+    private boolean disableMovementSync()
+    {
+        if (tracker == null || TRACKER_ENTRY == null || UPDATE_INTERVAL == null)
+            return false;
+        try
+        {
+            UPDATE_INTERVAL.setInt(TRACKER_ENTRY.get(tracker), Integer.MAX_VALUE);
+            return true;
+        }
+        catch (IllegalAccessException e)
+        {
+            log.at(Level.SEVERE).withCause(e).log("Failed to disable the movement updates of entity %d!", getId());
+            return false;
+        }
+    }
+
+    /**
+     * @return True if the movement of this entity is sent through the {@link MovementPacketBatcher_V1_15_R1} rather
+     * than by the vanilla entity tracker.
+     */
+    synchronized boolean isMovementSyncDisabled()
+    {
+        return movementSyncDisabled;
+    }
+
+    /**
+     * Checks if the velocity of this entity changed since the last time this method was called.
+     *
+     * @return True if the velocity of this entity changed.
+     */
+    synchronized boolean pollVelocityChanged()
+    {
+        final boolean ret = velocityUpdated;
+        velocityUpdated = false;
+        return ret;
+    }
+
     @Override
     public synchronized void spawn()
     {
         spawn0();
-        forEachHook("onSpawn", IAnimatedBlockHook::onSpawn);
+        hooks.onSpawn();
     }
 
     @Override
@@ -197,7 +359,7 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
         currentPosition = newPosition;
         // Update current and last x/y/z values in entity class.
         f(newPosition.x(), newPosition.y(), newPosition.z());
-        forEachHook("onMoved", hook -> hook.onMoved(newPosition));
+        hooks.onMoved(newPosition);
     }
 
     @Override
@@ -217,15 +379,23 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
         final PacketPlayOutEntity.PacketPlayOutRelEntityMove tpPacket =
             new PacketPlayOutEntity.PacketPlayOutRelEntityMove(getId(), relX, relY, relZ, false);
 
-        if (tracker != null)
-            tracker.broadcast(tpPacket);
-
-        forEachHook("onTeleport", hook -> hook.onTeleport(newPosition));
+        hooks.onTeleport(newPosition);
         cyclePositions(newPosition);
 
+        if (tracker != null)
+            packetBatcher.queueMovement(this, context.getAnimation(), tracker.trackedPlayers, tpPacket);
+
         return true;
     }
 
+    /**
+     * @return The tracker of this entity, or null if this entity has not been spawned yet.
+     */
+    @Nullable PlayerChunkMap.EntityTracker getTracker()
+    {
+        return tracker;
+    }
+
     @Override
     protected boolean playStepSound()
     {
@@ -244,7 +414,7 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
         if (dead)
             return;
 
-        forEachHook("preTick", IAnimatedBlockHook::preTick);
+        hooks.preTick();
         if (animatedBlockData.getMyBlockData().isAir())
             die();
         else
@@ -255,29 +425,12 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
 
             final Vector3Dd newLocation = currentPosition.add(mot.x, mot.y, mot.z);
             final double locY = locY();
-            if (++ticksLived > 100 && (locY < 1 || locY > 256) || ticksLived > 12_000)
+            if (++ticksLived > 100 && (locY < 1 || locY > 256))
                 die();
 
             cyclePositions(newLocation);
         }
-        forEachHook("postTick", IAnimatedBlockHook::postTick);
-    }
-
-    private void forEachHook(String actionName, Consumer<IAnimatedBlockHook> call)
-    {
-        for (final IAnimatedBlockHook hook : hooks)
-        {
-            log.at(Level.FINEST).log("Executing '%s' for hook '%s'!", actionName, hook.getName());
-            try
-            {
-                call.accept(hook);
-            }
-            catch (Exception e)
-            {
-                log.at(Level.SEVERE).withCause(e)
-                   .log("Failed to execute '%s' for hook '%s'!", actionName, hook.getName());
-            }
-        }
+        hooks.postTick();
     }
 
     @Override
@@ -391,8 +544,18 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
     @Override
     public void setVelocity(Vector3Dd vector)
     {
-        setMot(new Vec3D(vector.x(), vector.y(), vector.z()));
-        velocityChanged = true;
+        setVelocity(vector.x(), vector.y(), vector.z());
+    }
+
+    @Override
+    public synchronized void setVelocity(double x, double y, double z)
+    {
+        setMot(x, y, z);
+        // The new velocity is sent by the packet batcher when the vanilla tracker no longer does so.
+        if (movementSyncDisabled)
+            velocityUpdated = true;
+        else
+            velocityChanged = true;
     }
 
     @Override
@@ -416,18 +579,18 @@ public class CustomEntityFallingBlock_V1_15_R1 extends net.minecraft.server.v1_1
     @Override
     public double getStartX()
     {
-        return startLocation.getX();
+        return startPosition.x();
     }
 
     @Override
     public double getStartY()
     {
-        return startLocation.getY();
+        return startPosition.y();
     }
 
     @Override
     public double getStartZ()
     {
-        return startLocation.getZ();
+        return startPosition.z();
     }
 }
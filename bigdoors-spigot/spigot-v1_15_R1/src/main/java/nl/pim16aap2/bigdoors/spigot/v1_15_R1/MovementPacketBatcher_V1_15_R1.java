@@ -0,0 +1,446 @@
+package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import lombok.extern.flogger.Flogger;
+import net.minecraft.server.v1_15_R1.Entity;
+import net.minecraft.server.v1_15_R1.EntityPlayer;
+import net.minecraft.server.v1_15_R1.NetworkManager;
+import net.minecraft.server.v1_15_R1.Packet;
+import net.minecraft.server.v1_15_R1.PacketPlayOutEntityTeleport;
+import net.minecraft.server.v1_15_R1.PacketPlayOutEntityVelocity;
+import net.minecraft.server.v1_15_R1.PlayerChunkMap;
+import net.minecraft.server.v1_15_R1.PlayerConnection;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimation;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimationHook;
+import nl.pim16aap2.bigdoors.api.factories.IAnimationHookFactory;
+import nl.pim16aap2.bigdoors.moveblocks.AnimatedBlockPositions;
+import nl.pim16aap2.bigdoors.moveblocks.AnimationDetailPolicy;
+import nl.pim16aap2.bigdoors.moveblocks.AnimationViewers;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Di;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Collects the movement packets of animated blocks and sends them to the players tracking those blocks in batches.
+ * <p>
+ * Instead of sending every packet to every player as soon as it is created, the packets are grouped by the player
+ * that should receive them. When the batcher is flushed, all packets for a single player are sent through the
+ * {@link NetworkManager} of that player at once and the channel is flushed only once.
+ * <p>
+ * This covers all movement of {@link CustomEntityFallingBlock_V1_15_R1} entities: The relative movement of teleported
+ * blocks is queued when they are teleported, while the velocities of all blocks are queued once every step (see
+ * {@link #queueVelocities(IAnimation)}). The vanilla entity tracker no longer synchronizes the movement of these
+ * entities.
+ * <p>
+ * Players far away from an animation receive updates less frequently, as determined by the
+ * {@link AnimationDetailPolicy}. This applies to both the relative movement and the velocities of the blocks. Because
+ * relative movement packets can only be applied on top of the previous update, players that did not receive the update
+ * of the previous step receive absolute teleport packets instead. See {@link AnimationViewers}.
+ * <p>
+ * The batcher is flushed after every animation step using the hooks created by {@link HookFactory}.
+ *
+ * @author Pim
+ */
+@Flogger
+final class MovementPacketBatcher_V1_15_R1
+{
+    /**
+     * The number of steps between two absolute position updates of blocks that are moved using their velocity.
+     * <p>
+     * The clients simulate the movement of these blocks themselves, which slowly drifts away from the positions on the
+     * server. This is the interval at which the vanilla entity tracker synchronizes the positions of falling blocks.
+     */
+    private static final int POSITION_SYNC_INTERVAL = 20;
+
+    /**
+     * The name of the {@link FlushBlocker} in the pipelines of the channels.
+     */
+    private static final String FLUSH_BLOCKER_NAME = "bigdoors_flush_blocker";
+
+    private final AnimationDetailPolicy detailPolicy;
+
+    /**
+     * The packets that are waiting to be sent, grouped by the player that should receive them.
+     */
+    private Map<EntityPlayer, List<Packet<?>>> pending = new HashMap<>();
+
+    /**
+     * The players watching every animation.
+     */
+    private final Map<IAnimation<?>, AnimationViewers<EntityPlayer>> viewers = new HashMap<>();
+
+    MovementPacketBatcher_V1_15_R1(AnimationDetailPolicy detailPolicy)
+    {
+        this.detailPolicy = detailPolicy;
+    }
+
+    /**
+     * Queues the movement of an entity for every receiver that should receive an update during the current step of the
+     * animation.
+     * <p>
+     * This should be called after the position of the entity has been updated.
+     *
+     * @param entity
+     *     The entity that was moved.
+     * @param animation
+     *     The animation the entity is a part of.
+     * @param receivers
+     *     The players that can see the entity.
+     * @param relativeMovePacket
+     *     The packet describing the movement of the entity relative to its previous position.
+     */
+    public synchronized void queueMovement(
+        Entity entity, IAnimation<?> animation, Collection<EntityPlayer> receivers, Packet<?> relativeMovePacket)
+    {
+        final AnimationViewers<EntityPlayer> animationViewers = getViewers(animation);
+        final int step = animation.getStepsExecuted();
+        final Cuboid region = animation.getRegion();
+
+        @Nullable Packet<?> teleportPacket = null;
+        for (final EntityPlayer player : receivers)
+        {
+            final AnimationViewers.Update update = animationViewers.getUpdate(player, step, region);
+            if (update == AnimationViewers.Update.NONE)
+                continue;
+
+            final Packet<?> packet;
+            if (update == AnimationViewers.Update.RELATIVE)
+                packet = relativeMovePacket;
+            else
+            {
+                if (teleportPacket == null)
+                    teleportPacket = new PacketPlayOutEntityTeleport(entity);
+                packet = teleportPacket;
+            }
+            queue(player, packet);
+        }
+    }
+
+    /**
+     * Queues the velocities of all animated blocks of an animation that are not synchronized by the vanilla entity
+     * tracker.
+     * <p>
+     * The velocity of a block is queued for every receiver that should receive an update during the current step of the
+     * animation when its velocity changed, or when the player did not receive the update of the previous step. The
+     * latter also receive the absolute position of the block, just like all receivers do every
+     * {@link #POSITION_SYNC_INTERVAL} steps.
+     * <p>
+     * This should be called after the animated blocks have been moved for a step.
+     *
+     * @param animation
+     *     The animation whose blocks to update.
+     */
+    public synchronized void queueVelocities(IAnimation<IAnimatedBlock> animation)
+    {
+        final AnimationViewers<EntityPlayer> animationViewers = getViewers(animation);
+        final int step = animation.getStepsExecuted();
+        final Cuboid region = animation.getRegion();
+        final boolean positionSync = step % POSITION_SYNC_INTERVAL == 0;
+
+        for (final IAnimatedBlock animatedBlock : animation.getAnimatedBlocks())
+        {
+            if (!(animatedBlock instanceof CustomEntityFallingBlock_V1_15_R1 entity) ||
+                !entity.isMovementSyncDisabled())
+                continue;
+
+            final @Nullable PlayerChunkMap.EntityTracker tracker = entity.getTracker();
+            final boolean velocityChanged = entity.pollVelocityChanged();
+            if (tracker == null)
+                continue;
+
+            @Nullable Packet<?> teleportPacket = null;
+            @Nullable Packet<?> velocityPacket = null;
+            for (final EntityPlayer player : tracker.trackedPlayers)
+            {
+                final AnimationViewers.Update update = animationViewers.getUpdate(player, step, region);
+                if (update == AnimationViewers.Update.NONE)
+                    continue;
+
+                final boolean relative = update == AnimationViewers.Update.RELATIVE;
+                if (positionSync || !relative)
+                {
+                    if (teleportPacket == null)
+                        teleportPacket = new PacketPlayOutEntityTeleport(entity);
+                    queue(player, teleportPacket);
+                }
+                if (velocityChanged || !relative)
+                {
+                    if (velocityPacket == null)
+                        velocityPacket = new PacketPlayOutEntityVelocity(entity);
+                    queue(player, velocityPacket);
+                }
+            }
+        }
+    }
+
+    private AnimationViewers<EntityPlayer> getViewers(IAnimation<?> animation)
+    {
+        return viewers.computeIfAbsent(
+            animation, key -> new AnimationViewers<>(detailPolicy, MovementPacketBatcher_V1_15_R1::getPosition));
+    }
+
+    private static Vector3Di getPosition(EntityPlayer player)
+    {
+        return new Vector3Di((int) Math.floor(player.locX()), (int) Math.floor(player.locY()),
+                             (int) Math.floor(player.locZ()));
+    }
+
+    /**
+     * Queues a packet for a player.
+     *
+     * @param receiver
+     *     The player to send the packet to.
+     * @param packet
+     *     The packet to send.
+     */
+    public synchronized void queue(EntityPlayer receiver, Packet<?> packet)
+    {
+        pending.computeIfAbsent(receiver, key -> new ArrayList<>()).add(packet);
+    }
+
+    /**
+     * Queues the exact positions of all animated blocks of an animation for every player that is tracking them.
+     * <p>
+     * The velocities of the blocks that are not synchronized by the vanilla entity tracker are queued as well.
+     *
+     * @param animation
+     *     The animation whose blocks to send.
+     */
+    public void queueExactPositions(IAnimation<IAnimatedBlock> animation)
+    {
+        for (final IAnimatedBlock animatedBlock : animation.getAnimatedBlocks())
+        {
+            if (animatedBlock instanceof CustomEntityFallingBlock_V1_15_R1 entity)
+            {
+                final @Nullable PlayerChunkMap.EntityTracker tracker = entity.getTracker();
+                if (tracker != null)
+                    queueTeleport(entity, tracker.trackedPlayers);
+                if (tracker != null && entity.isMovementSyncDisabled())
+                {
+                    entity.pollVelocityChanged();
+                    queueVelocity(entity, tracker.trackedPlayers);
+                }
+            }
+            else if (animatedBlock instanceof VirtualAnimatedBlock_V1_15_R1 virtualBlock)
+            {
+                virtualBlock.queueExactPosition();
+            }
+        }
+    }
+
+    /**
+     * Queues an absolute teleport packet of an entity for a set of receivers.
+     *
+     * @param entity
+     *     The entity whose position to send.
+     * @param receivers
+     *     The players to send the position to.
+     */
+    public synchronized void queueTeleport(Entity entity, Collection<EntityPlayer> receivers)
+    {
+        if (receivers.isEmpty())
+            return;
+
+        final Packet<?> packet = new PacketPlayOutEntityTeleport(entity);
+        for (final EntityPlayer player : receivers)
+            queue(player, packet);
+    }
+
+    /**
+     * Queues the velocity of an entity for a set of receivers.
+     *
+     * @param entity
+     *     The entity whose velocity to send.
+     * @param receivers
+     *     The players to send the velocity to.
+     */
+    public synchronized void queueVelocity(Entity entity, Collection<EntityPlayer> receivers)
+    {
+        if (receivers.isEmpty())
+            return;
+
+        final Packet<?> packet = new PacketPlayOutEntityVelocity(entity);
+        for (final EntityPlayer player : receivers)
+            queue(player, packet);
+    }
+
+    /**
+     * Stops keeping track of the players watching an animation.
+     *
+     * @param animation
+     *     The animation that was completed.
+     */
+    public synchronized void forget(IAnimation<?> animation)
+    {
+        viewers.remove(animation);
+    }
+
+    /**
+     * Sends all queued packets to their receivers.
+     * <p>
+     * The packets for every player are sent through the {@link NetworkManager} of that player in a single task on its
+     * event loop, so they are still subject to its queueing and protocol handling. While sending the packets, the
+     * flushes of the network manager are held back by a {@link FlushBlocker}, after which the channel is flushed once.
+     */
+    public void flush()
+    {
+        final Map<EntityPlayer, List<Packet<?>>> toSend;
+        synchronized (this)
+        {
+            if (pending.isEmpty())
+                return;
+            toSend = pending;
+            pending = new HashMap<>();
+        }
+
+        toSend.forEach(MovementPacketBatcher_V1_15_R1::send);
+    }
+
+    private static void send(EntityPlayer player, List<Packet<?>> packets)
+    {
+        final @Nullable PlayerConnection playerConnection = player.playerConnection;
+        if (playerConnection == null)
+            return;
+
+        final NetworkManager networkManager = playerConnection.networkManager;
+        final @Nullable Channel channel = networkManager.channel;
+        if (channel == null || !channel.isOpen())
+        {
+            // Let the connection figure out what to do with the packets.
+            packets.forEach(playerConnection::sendPacket);
+            return;
+        }
+
+        channel.eventLoop().execute(
+            () ->
+            {
+                try
+                {
+                    final FlushBlocker flushBlocker = FlushBlocker.get(channel);
+                    flushBlocker.blocking = true;
+                    try
+                    {
+                        for (final Packet<?> packet : packets)
+                            networkManager.sendPacket(packet);
+                    }
+                    finally
+                    {
+                        flushBlocker.blocking = false;
+                    }
+                    channel.flush();
+                }
+                catch (Exception e)
+                {
+                    log.at(Level.SEVERE).withCause(e).log("Failed to send movement packets to player %s!",
+                                                          player.getName());
+                }
+            });
+    }
+
+    /**
+     * Holds back the flushes of a channel while a batch of packets is being sent, so the channel is flushed only once
+     * for the entire batch.
+     * <p>
+     * Packets are sent from the event loop of the channel, so the network manager writes them directly rather than
+     * scheduling them. This means that no other flushes can happen while a batch is being sent.
+     */
+    private static final class FlushBlocker extends ChannelOutboundHandlerAdapter
+    {
+        /**
+         * Whether flushes are currently held back. This is only accessed from the event loop of the channel.
+         */
+        private boolean blocking = false;
+
+        /**
+         * Gets the {@link FlushBlocker} of a channel, adding one if the channel does not have one yet.
+         * <p>
+         * This must be called from the event loop of the channel.
+         */
+        private static FlushBlocker get(Channel channel)
+        {
+            final @Nullable FlushBlocker flushBlocker = channel.pipeline().get(FlushBlocker.class);
+            if (flushBlocker != null)
+                return flushBlocker;
+
+            final FlushBlocker newFlushBlocker = new FlushBlocker();
+            channel.pipeline().addLast(FLUSH_BLOCKER_NAME, newFlushBlocker);
+            return newFlushBlocker;
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx)
+        {
+            if (!blocking)
+                ctx.flush();
+        }
+    }
+
+    /**
+     * Represents a factory for hooks that flush a {@link MovementPacketBatcher_V1_15_R1} after every step of an
+     * animation.
+     *
+     * @author Pim
+     */
+    static final class HookFactory implements IAnimationHookFactory<IAnimatedBlock>
+    {
+        private final MovementPacketBatcher_V1_15_R1 batcher;
+
+        HookFactory(MovementPacketBatcher_V1_15_R1 batcher)
+        {
+            this.batcher = batcher;
+        }
+
+        @Override
+        public IAnimationHook<IAnimatedBlock> newInstance(IAnimation<IAnimatedBlock> animation)
+        {
+            return new FlushHook(batcher, animation);
+        }
+    }
+
+    private record FlushHook(MovementPacketBatcher_V1_15_R1 batcher, IAnimation<IAnimatedBlock> animation)
+        implements IAnimationHook<IAnimatedBlock>
+    {
+        @Override
+        public String getName()
+        {
+            return "BigDoors_MovementPacketBatcher_Hook";
+        }
+
+        @Override
+        public void onBlocksMoved(AnimatedBlockPositions positions)
+        {
+            batcher.queueVelocities(animation);
+        }
+
+        @Override
+        public void onPostAnimationStep()
+        {
+            batcher.flush();
+        }
+
+        @Override
+        public void onAnimationEnding()
+        {
+            // Players far away may not have received the latest positions, so make sure everybody is up-to-date.
+            batcher.queueExactPositions(animation);
+            batcher.flush();
+        }
+
+        @Override
+        public void onAnimationCompleted()
+        {
+            batcher.forget(animation);
+            batcher.flush();
+        }
+    }
+}
@@ -24,11 +24,12 @@ import org.bukkit.block.data.MultipleFacing;
 import org.bukkit.block.data.Orientable;
 import org.bukkit.block.data.Waterlogged;
 import org.bukkit.block.data.type.Stairs;
-import org.bukkit.craftbukkit.v1_15_R1.CraftWorld;
 import org.bukkit.craftbukkit.v1_15_R1.block.data.CraftBlockData;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -40,6 +41,14 @@ import java.util.logging.Level;
 @Flogger
 public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
 {
+    /**
+     * The rotated block states keyed by the original block state and the direction of the rotation.
+     * <p>
+     * Block states are shared by all blocks of the same type with the same properties, so the rotation of every
+     * distinct state only has to be computed once.
+     */
+    private static final Map<RotationKey, IBlockData> ROTATED_STATES = new ConcurrentHashMap<>();
+
     @SuppressWarnings("unused") // Appears unused, but it's referenced in annotations.
     private final Object blockDataLock = new Object();
     private final WorldServer worldServer;
@@ -47,14 +56,14 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
 
     @GuardedBy("blockDataLock")
     private IBlockData blockData;
-    private final BlockData bukkitBlockData;
+    @GuardedBy("blockDataLock")
+    private BlockData bukkitBlockData;
     private final Location loc;
 
-    private static Block.Info newBlockInfo(CraftWorld craftWorld, BlockPosition blockPosition)
-    {
-        final Block block = craftWorld.getHandle().getType(blockPosition).getBlock();
-        return net.minecraft.server.v1_15_R1.Block.Info.a(block);
-    }
+    /**
+     * The state of the block at the original location at the time this block was created.
+     */
+    private final IBlockData originalState;
 
     /**
      * Constructs a {@link NMSBlock_V1_15_R1}. Wraps the NMS block found in the given world at the provided
@@ -71,13 +80,35 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
      */
     NMSBlock_V1_15_R1(WorldServer worldServer, int x, int y, int z)
     {
-        super(newBlockInfo(worldServer.getWorld(), new BlockPosition(x, y, z)));
+        this(worldServer, x, y, z, worldServer.getWorld().getBlockAt(x, y, z).getBlockData());
+    }
+
+    /**
+     * Constructs a {@link NMSBlock_V1_15_R1} from block data that was obtained before. This does not access the
+     * world, so it can be used on any thread.
+     *
+     * @param worldServer
+     *     The world the NMS block is in.
+     * @param x
+     *     The x coordinate of the NMS block.
+     * @param y
+     *     The y coordinate of the NMS block.
+     * @param z
+     *     The z coordinate of the NMS block.
+     * @param bukkitBlockData
+     *     The block data of the block at the provided coordinates. This object is modified by this block, so it should
+     *     not be shared.
+     */
+    NMSBlock_V1_15_R1(WorldServer worldServer, int x, int y, int z, BlockData bukkitBlockData)
+    {
+        super(Block.Info.a(((CraftBlockData) bukkitBlockData).getState().getBlock()));
         this.worldServer = worldServer;
         this.bukkitWorld = worldServer.getWorld();
 
         loc = new Location(worldServer.getWorld(), x, y, z);
 
-        bukkitBlockData = worldServer.getWorld().getBlockAt(x, y, z).getBlockData();
+        originalState = ((CraftBlockData) bukkitBlockData).getState();
+        this.bukkitBlockData = bukkitBlockData;
         if (bukkitBlockData instanceof Waterlogged waterlogged)
             waterlogged.setWaterlogged(false);
 
@@ -115,6 +146,22 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
         return blockData;
     }
 
+    /**
+     * Gets the position of the block this block was created from.
+     *
+     * @return The original position of this block.
+     */
+    BlockPosition getOriginalPosition()
+    {
+        return new BlockPosition(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
+    }
+
+    @Override
+    public boolean isOriginalBlockUnchanged()
+    {
+        return worldServer.getType(getOriginalPosition()) == originalState;
+    }
+
     @Override
     @Synchronized("blockDataLock")
     public boolean canRotate()
@@ -127,7 +174,40 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
     @Synchronized("blockDataLock")
     public boolean rotateBlock(RotateDirection rotDir)
     {
-        final BlockData bd = bukkitBlockData;
+        final IBlockData rotated = getRotatedState(blockData, rotDir);
+        if (rotated == blockData)
+            return false;
+        blockData = rotated;
+        bukkitBlockData = CraftBlockData.fromData(rotated);
+        return true;
+    }
+
+    @Override
+    public void prepareRotation(RotateDirection rotDir)
+    {
+        getRotatedState(getMyBlockData(), rotDir);
+    }
+
+    /**
+     * Gets the state of a block after rotating it in the provided direction. The result is cached, so the rotation of
+     * every state is only computed once.
+     *
+     * @param state
+     *     The state to rotate.
+     * @param rotDir
+     *     The {@link RotateDirection} to rotate the state in.
+     * @return The rotated state. If the state cannot be rotated, the provided state is returned.
+     */
+    private static IBlockData getRotatedState(IBlockData state, RotateDirection rotDir)
+    {
+        return ROTATED_STATES.computeIfAbsent(new RotationKey(state, rotDir), NMSBlock_V1_15_R1::rotateState);
+    }
+
+    private static IBlockData rotateState(RotationKey key)
+    {
+        // This creates a new Bukkit block data, so the original state is not affected.
+        final BlockData bd = CraftBlockData.fromData(key.state());
+        final RotateDirection rotDir = key.rotateDirection();
         // When rotating stairs vertically, they need to be rotated twice, as they cannot point up/down.
         if (bd instanceof Stairs &&
             (rotDir.equals(RotateDirection.NORTH) || rotDir.equals(RotateDirection.EAST) ||
@@ -140,9 +220,8 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
         else if (bd instanceof MultipleFacing multipleFacing)
             rotateMultipleFacing(multipleFacing, rotDir);
         else
-            return false;
-        constructBlockDataFromBukkit();
-        return true;
+            return key.state();
+        return ((CraftBlockData) bd).getState();
     }
 
     @Override
@@ -177,8 +256,7 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
      * @param dir
      *     The {@link RotateDirection} the blockData will be rotated in.
      */
-    @GuardedBy("blockDataLock")
-    private void rotateOrientable(Orientable bd, RotateDirection dir)
+    private static void rotateOrientable(Orientable bd, RotateDirection dir)
     {
         rotateOrientable(bd, dir, 1);
     }
@@ -193,8 +271,8 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
      * @param steps
      *     the number of times the blockData will be rotated in the given direction.
      */
-    @GuardedBy("blockDataLock")
-    private void rotateOrientable(Orientable bd, RotateDirection dir, @SuppressWarnings("SameParameterValue") int steps)
+    private static void rotateOrientable(
+        Orientable bd, RotateDirection dir, @SuppressWarnings("SameParameterValue") int steps)
     {
         final Axis currentAxis = bd.getAxis();
         Axis newAxis = currentAxis;
@@ -239,8 +317,7 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
      * @param dir
      *     The {@link RotateDirection} the blockData will be rotated in.
      */
-    @GuardedBy("blockDataLock")
-    private void rotateDirectional(Directional bd, RotateDirection dir)
+    private static void rotateDirectional(Directional bd, RotateDirection dir)
     {
         rotateDirectional(bd, dir, 1);
     }
@@ -255,8 +332,7 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
      * @param steps
      *     the number of times the blockData will be rotated in the given direction.
      */
-    @GuardedBy("blockDataLock")
-    private void rotateDirectional(Directional bd, RotateDirection dir, int steps)
+    private static void rotateDirectional(Directional bd, RotateDirection dir, int steps)
     {
         final @Nullable var mappedDir = PBlockFace.getDirFun(dir);
         if (mappedDir == null)
@@ -281,8 +357,7 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
      * @param dir
      *     The {@link RotateDirection} the blockData will be rotated in.
      */
-    @GuardedBy("blockDataLock")
-    private void rotateMultipleFacing(MultipleFacing bd, RotateDirection dir)
+    private static void rotateMultipleFacing(MultipleFacing bd, RotateDirection dir)
     {
         rotateMultipleFacing(bd, dir, 1);
     }
@@ -297,8 +372,7 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
      * @param steps
      *     the number of times the blockData will be rotated in the given direction.
      */
-    @GuardedBy("blockDataLock")
-    private void rotateMultipleFacing(
+    private static void rotateMultipleFacing(
         MultipleFacing bd, RotateDirection dir, @SuppressWarnings("SameParameterValue") int steps)
     {
         final @Nullable var mappedDir = PBlockFace.getDirFun(dir);
@@ -348,4 +422,16 @@ public class NMSBlock_V1_15_R1 extends Block implements IAnimatedBlockData
             bukkitWorld.getBlockAt(loc).setType(Material.AIR, true);
         }
     }
+
+    /**
+     * The key of a rotated state in {@link #ROTATED_STATES}.
+     *
+     * @param state
+     *     The state before the rotation.
+     * @param rotateDirection
+     *     The direction of the rotation.
+     */
+    private record RotationKey(IBlockData state, RotateDirection rotateDirection)
+    {
+    }
 }
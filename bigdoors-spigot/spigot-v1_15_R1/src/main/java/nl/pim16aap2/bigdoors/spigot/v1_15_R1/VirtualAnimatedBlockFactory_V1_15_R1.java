@@ -0,0 +1,114 @@
+package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
+
+import net.minecraft.server.v1_15_R1.WorldServer;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import nl.pim16aap2.bigdoors.api.IPLocation;
+import nl.pim16aap2.bigdoors.api.animatedblock.AnimationContext;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimation;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimationHook;
+import nl.pim16aap2.bigdoors.api.factories.IAnimationHookFactory;
+import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookManager;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link VirtualAnimatedBlock_V1_15_R1}s and manages the {@link VirtualBlockTracker_V1_15_R1}s of their
+ * animations.
+ * <p>
+ * This class is also the factory of the hooks that step the trackers of animations that use virtual blocks. Because
+ * the movement packets created during a step should be sent in the same step, these hooks should be registered before
+ * the hooks of the {@link MovementPacketBatcher_V1_15_R1}.
+ *
+ * @author Pim
+ */
+final class VirtualAnimatedBlockFactory_V1_15_R1 implements IAnimationHookFactory<IAnimatedBlock>
+{
+    private final AnimatedBlockHookManager animatedBlockHookManager;
+    private final MovementPacketBatcher_V1_15_R1 packetBatcher;
+    private final IPExecutor executor;
+    private final Map<IAnimation<?>, VirtualBlockTracker_V1_15_R1> trackers = new ConcurrentHashMap<>();
+
+    VirtualAnimatedBlockFactory_V1_15_R1(
+        AnimatedBlockHookManager animatedBlockHookManager, MovementPacketBatcher_V1_15_R1 packetBatcher,
+        IPExecutor executor)
+    {
+        this.animatedBlockHookManager = animatedBlockHookManager;
+        this.packetBatcher = packetBatcher;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new virtual animated block.
+     *
+     * @param spawnLoc
+     *     The location to spawn the block at.
+     * @param bukkitWorld
+     *     The world the block is spawned in.
+     * @param animatedBlockData
+     *     The data of the block that is animated.
+     * @return The new virtual animated block.
+     */
+    VirtualAnimatedBlock_V1_15_R1 create(
+        IPLocation spawnLoc, World bukkitWorld, float radius, float startAngle, boolean onEdge,
+        AnimationContext context, Vector3Dd finalPosition, NMSBlock_V1_15_R1 animatedBlockData)
+    {
+        return new VirtualAnimatedBlock_V1_15_R1(spawnLoc.getWorld(), bukkitWorld, spawnLoc.getX(), spawnLoc.getY(),
+                                                 spawnLoc.getZ(), radius, startAngle, onEdge, context,
+                                                 animatedBlockHookManager, finalPosition, this, animatedBlockData);
+    }
+
+    VirtualBlockTracker_V1_15_R1 getOrCreateTracker(IAnimation<?> animation, WorldServer worldServer)
+    {
+        return trackers.computeIfAbsent(
+            animation, key -> new VirtualBlockTracker_V1_15_R1(animation, worldServer, packetBatcher, this, executor));
+    }
+
+    @Nullable VirtualBlockTracker_V1_15_R1 getTracker(IAnimation<?> animation)
+    {
+        return trackers.get(animation);
+    }
+
+    void removeTracker(IAnimation<?> animation, VirtualBlockTracker_V1_15_R1 tracker)
+    {
+        trackers.remove(animation, tracker);
+    }
+
+    @Override
+    public @Nullable IAnimationHook<IAnimatedBlock> newInstance(IAnimation<IAnimatedBlock> animation)
+    {
+        for (final IAnimatedBlock animatedBlock : animation.getAnimatedBlocks())
+            if (animatedBlock instanceof VirtualAnimatedBlock_V1_15_R1)
+                return new TrackerHook(this, animation);
+        return null;
+    }
+
+    private record TrackerHook(VirtualAnimatedBlockFactory_V1_15_R1 factory, IAnimation<IAnimatedBlock> animation)
+        implements IAnimationHook<IAnimatedBlock>
+    {
+        @Override
+        public String getName()
+        {
+            return "BigDoors_VirtualBlockTracker_Hook";
+        }
+
+        @Override
+        public void onPrepare()
+        {
+            // Send the spawn packets right away instead of waiting for the first step.
+            factory.packetBatcher.flush();
+        }
+
+        @Override
+        public void onPostAnimationStep()
+        {
+            final @Nullable VirtualBlockTracker_V1_15_R1 tracker = factory.getTracker(animation);
+            if (tracker != null)
+                tracker.step();
+        }
+    }
+}
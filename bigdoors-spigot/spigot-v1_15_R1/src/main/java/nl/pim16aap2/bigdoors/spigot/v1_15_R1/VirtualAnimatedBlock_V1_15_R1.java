@@ -0,0 +1,382 @@
+package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
+
+import lombok.Getter;
+import lombok.ToString;
+import net.minecraft.server.v1_15_R1.EntityFallingBlock;
+import net.minecraft.server.v1_15_R1.IBlockData;
+import net.minecraft.server.v1_15_R1.Packet;
+import net.minecraft.server.v1_15_R1.PacketPlayOutEntity;
+import net.minecraft.server.v1_15_R1.PacketPlayOutEntityTeleport;
+import net.minecraft.server.v1_15_R1.WorldServer;
+import nl.pim16aap2.bigdoors.api.IPLocation;
+import nl.pim16aap2.bigdoors.api.IPWorld;
+import nl.pim16aap2.bigdoors.api.animatedblock.AnimationContext;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimatedBlock;
+import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookDispatcher;
+import nl.pim16aap2.bigdoors.managers.AnimatedBlockHookManager;
+import nl.pim16aap2.bigdoors.spigot.util.SpigotAdapter;
+import nl.pim16aap2.bigdoors.spigot.util.api.IAnimatedBlockSpigot;
+import nl.pim16aap2.bigdoors.util.Util;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.craftbukkit.v1_15_R1.CraftWorld;
+import org.bukkit.craftbukkit.v1_15_R1.util.CraftMagicNumbers;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * V1_15_R1 implementation of {@link IAnimatedBlock} that only exists on the clients.
+ * <p>
+ * Unlike {@link CustomEntityFallingBlock_V1_15_R1}, these blocks are never added to the world. They are not ticked by
+ * the server and the server does not track them. Instead, the {@link VirtualBlockTracker_V1_15_R1} of the animation
+ * sends spawn, movement, and destroy packets to the players near the animation.
+ * <p>
+ * The movement of these blocks is simulated by the tracker once every animation step.
+ * <p>
+ * To avoid deadlocks, these blocks never call their tracker while holding their own lock. The tracker, however, may
+ * call these blocks while holding its lock.
+ *
+ * @author Pim
+ * @see IAnimatedBlock
+ */
+@ToString
+public final class VirtualAnimatedBlock_V1_15_R1 implements IAnimatedBlockSpigot
+{
+    @Getter
+    private final NMSBlock_V1_15_R1 animatedBlockData;
+    @Getter
+    private final World bukkitWorld;
+    @Getter
+    private final AnimationContext context;
+    @Getter
+    private final float radius;
+    @Getter
+    private final float startAngle;
+    @Getter
+    private final boolean onEdge;
+    private final IPWorld pWorld;
+    @ToString.Exclude
+    private final AnimatedBlockHookDispatcher hooks;
+    @ToString.Exclude
+    private final WorldServer worldServer;
+    @ToString.Exclude
+    private final VirtualAnimatedBlockFactory_V1_15_R1 factory;
+
+    /**
+     * The entity used to create the packets for this block. This entity is never added to the world.
+     */
+    @ToString.Exclude
+    private EntityFallingBlock entity;
+
+    /**
+     * The tracker that sends the packets of this block to players. This is null while this block is not alive.
+     */
+    @ToString.Exclude
+    private volatile @Nullable VirtualBlockTracker_V1_15_R1 tracker;
+
+    @Getter
+    private volatile Vector3Dd previousPosition;
+    @Getter
+    private volatile Vector3Dd currentPosition;
+
+    private double velocityX;
+    private double velocityY;
+    private double velocityZ;
+
+    /**
+     * The position of this block as last sent to the clients, encoded using {@link PacketPlayOutEntity#a(double)}.
+     * <p>
+     * Relative movement packets are applied by the clients on top of the encoded position, so the movement has to be
+     * computed from these values. Encoding the difference between two positions instead would truncate the movement of
+     * every step, causing the blocks to drift.
+     */
+    private long encodedX;
+    private long encodedY;
+    private long encodedZ;
+
+    private final IPLocation startLocation;
+    private final Vector3Dd startPosition;
+    private final Vector3Dd finalPosition;
+
+    VirtualAnimatedBlock_V1_15_R1(
+        IPWorld pWorld, World world, double d0, double d1, double d2, float radius, float startAngle,
+        boolean onEdge, AnimationContext context, AnimatedBlockHookManager animatedBlockHookManager,
+        Vector3Dd finalPosition, VirtualAnimatedBlockFactory_V1_15_R1 factory, NMSBlock_V1_15_R1 animatedBlockData)
+    {
+        this.pWorld = pWorld;
+        bukkitWorld = world;
+        this.radius = radius;
+        this.startAngle = startAngle;
+        this.onEdge = onEdge;
+        this.context = context;
+        this.finalPosition = finalPosition;
+        this.factory = factory;
+        worldServer = ((CraftWorld) bukkitWorld).getHandle();
+        this.animatedBlockData = animatedBlockData;
+        startLocation = SpigotAdapter.wrapLocation(new Location(bukkitWorld, d0, d1, d2));
+        startPosition = new Vector3Dd(d0, d1, d2);
+
+        previousPosition = startPosition;
+        currentPosition = startPosition;
+        entity = createEntity();
+
+        hooks = animatedBlockHookManager.instantiateHooks(this);
+    }
+
+    /**
+     * Creates a new entity to create the packets for this block with.
+     * <p>
+     * The entity is never added to the world; it only represents the state of this block on the clients.
+     */
+    private EntityFallingBlock createEntity()
+    {
+        final IBlockData blockData = animatedBlockData.getMyBlockData();
+        final EntityFallingBlock newEntity = new EntityFallingBlock(
+            worldServer, currentPosition.x(), currentPosition.y(), currentPosition.z(), blockData);
+        newEntity.setNoGravity(true);
+        newEntity.noclip = true;
+
+        // The clients receive the position of the new entity in its spawn packet.
+        encodedX = PacketPlayOutEntity.a(currentPosition.x());
+        encodedY = PacketPlayOutEntity.a(currentPosition.y());
+        encodedZ = PacketPlayOutEntity.a(currentPosition.z());
+        return newEntity;
+    }
+
+    /**
+     * @return The entity used to create the packets for this block.
+     */
+    synchronized EntityFallingBlock getEntity()
+    {
+        return entity;
+    }
+
+    /**
+     * @return The ID of the entity representing this block on the clients.
+     */
+    synchronized int getEntityId()
+    {
+        return entity.getId();
+    }
+
+    @Override
+    public void spawn()
+    {
+        final VirtualBlockTracker_V1_15_R1 newTracker;
+        synchronized (this)
+        {
+            if (tracker != null)
+                return;
+            newTracker = factory.getOrCreateTracker(context.getAnimation(), worldServer);
+            tracker = newTracker;
+        }
+        newTracker.add(this);
+        hooks.onSpawn();
+    }
+
+    @Override
+    public void respawn()
+    {
+        final VirtualBlockTracker_V1_15_R1 currentTracker;
+        final int oldEntityId;
+        synchronized (this)
+        {
+            currentTracker = tracker;
+            if (currentTracker == null)
+                return;
+
+            // The entity is recreated so the clients receive the (possibly rotated) block data.
+            oldEntityId = entity.getId();
+            entity = createEntity();
+        }
+        currentTracker.respawn(this, oldEntityId);
+    }
+
+    @Override
+    public void kill()
+    {
+        final VirtualBlockTracker_V1_15_R1 oldTracker;
+        synchronized (this)
+        {
+            oldTracker = tracker;
+            if (oldTracker == null)
+                return;
+            tracker = null;
+        }
+        oldTracker.remove(this);
+        hooks.onDie();
+    }
+
+    @Override
+    public boolean isAlive()
+    {
+        return tracker != null;
+    }
+
+    @Override
+    public boolean teleport(Vector3Dd newPosition, Vector3Dd rotation, TeleportMode teleportMode)
+    {
+        final @Nullable VirtualBlockTracker_V1_15_R1 currentTracker = tracker;
+        if (currentTracker == null)
+            return false;
+
+        hooks.onTeleport(newPosition);
+        currentTracker.queueMovement(this, move(newPosition));
+        hooks.onMoved(newPosition);
+        return true;
+    }
+
+    /**
+     * Moves this block along its current velocity.
+     * <p>
+     * This is called by the tracker once every animation step, as this block is not ticked by the server.
+     *
+     * @return The packet describing the movement, or null if this block did not move.
+     */
+    @Nullable Packet<?> tick()
+    {
+        hooks.preTick();
+
+        final @Nullable Packet<?> packet;
+        final Vector3Dd newPosition;
+        synchronized (this)
+        {
+            if (Math.abs(velocityX) < 0.001 && Math.abs(velocityY) < 0.001 && Math.abs(velocityZ) < 0.001)
+                return null;
+            newPosition = currentPosition.add(velocityX, velocityY, velocityZ);
+            packet = move(newPosition);
+        }
+        hooks.onMoved(newPosition);
+        hooks.postTick();
+        return packet;
+    }
+
+    /**
+     * Moves this block to a new position.
+     *
+     * @param newPosition
+     *     The new position of this block.
+     * @return The packet describing the movement relative to the previous position. When the movement is too large to
+     * be described by a relative movement packet, a teleport packet is returned instead.
+     */
+    private synchronized Packet<?> move(Vector3Dd newPosition)
+    {
+        final long newX = PacketPlayOutEntity.a(newPosition.x());
+        final long newY = PacketPlayOutEntity.a(newPosition.y());
+        final long newZ = PacketPlayOutEntity.a(newPosition.z());
+        final long relX = newX - encodedX;
+        final long relY = newY - encodedY;
+        final long relZ = newZ - encodedZ;
+
+        encodedX = newX;
+        encodedY = newY;
+        encodedZ = newZ;
+        previousPosition = currentPosition;
+        currentPosition = newPosition;
+        entity.setPosition(newPosition.x(), newPosition.y(), newPosition.z());
+
+        // Relative movement packets can only describe movements of up to 8 blocks along every axis.
+        if (!isShort(relX) || !isShort(relY) || !isShort(relZ))
+            return new PacketPlayOutEntityTeleport(entity);
+        return new PacketPlayOutEntity.PacketPlayOutRelEntityMove(entity.getId(), (short) relX, (short) relY,
+                                                                  (short) relZ, false);
+    }
+
+    private static boolean isShort(long value)
+    {
+        return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE;
+    }
+
+    /**
+     * Queues the exact position of this block for all players that can see it.
+     */
+    void queueExactPosition()
+    {
+        final @Nullable VirtualBlockTracker_V1_15_R1 currentTracker = tracker;
+        if (currentTracker != null)
+            currentTracker.queueExactPosition(this);
+    }
+
+    @Override
+    public synchronized Vector3Dd getVelocity()
+    {
+        return new Vector3Dd(velocityX, velocityY, velocityZ);
+    }
+
+    @Override
+    public Vector3Dd getPVelocity()
+    {
+        return getVelocity();
+    }
+
+    @Override
+    public void setVelocity(Vector3Dd vector)
+    {
+        setVelocity(vector.x(), vector.y(), vector.z());
+    }
+
+    @Override
+    public synchronized void setVelocity(double x, double y, double z)
+    {
+        velocityX = x;
+        velocityY = y;
+        velocityZ = z;
+    }
+
+    @Override
+    public IPWorld getPWorld()
+    {
+        return pWorld;
+    }
+
+    @Override
+    public Material getMaterial()
+    {
+        return Util.requireNonNull(CraftMagicNumbers.getMaterial(animatedBlockData.getMyBlockData().getBlock()),
+                                   "Material");
+    }
+
+    @Override
+    public synchronized IPLocation getPLocation()
+    {
+        return SpigotAdapter.wrapLocation(
+            new Location(bukkitWorld, currentPosition.x(), currentPosition.y(), currentPosition.z()));
+    }
+
+    @Override
+    public Vector3Dd getPosition()
+    {
+        return getCurrentPosition();
+    }
+
+    @Override
+    public Vector3Dd getStartPosition()
+    {
+        return startPosition;
+    }
+
+    @Override
+    public Vector3Dd getFinalPosition()
+    {
+        return finalPosition;
+    }
+
+    @Override
+    public double getStartX()
+    {
+        return startLocation.getX();
+    }
+
+    @Override
+    public double getStartY()
+    {
+        return startLocation.getY();
+    }
+
+    @Override
+    public double getStartZ()
+    {
+        return startLocation.getZ();
+    }
+}
@@ -0,0 +1,290 @@
+package nl.pim16aap2.bigdoors.spigot.v1_15_R1;
+
+import lombok.extern.flogger.Flogger;
+import net.minecraft.server.v1_15_R1.Block;
+import net.minecraft.server.v1_15_R1.EntityFallingBlock;
+import net.minecraft.server.v1_15_R1.EntityPlayer;
+import net.minecraft.server.v1_15_R1.Packet;
+import net.minecraft.server.v1_15_R1.PacketPlayOutEntityDestroy;
+import net.minecraft.server.v1_15_R1.PacketPlayOutEntityMetadata;
+import net.minecraft.server.v1_15_R1.PacketPlayOutSpawnEntity;
+import net.minecraft.server.v1_15_R1.WorldServer;
+import nl.pim16aap2.bigdoors.api.IPExecutor;
+import nl.pim16aap2.bigdoors.api.animatedblock.IAnimation;
+import nl.pim16aap2.bigdoors.util.Cuboid;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Keeps track of the {@link VirtualAnimatedBlock_V1_15_R1}s of a single animation and the players that can see them.
+ * <p>
+ * Because virtual blocks are never added to the world, the server does not know which players should receive their
+ * packets. Instead, this tracker considers every player within the view distance of the region of the animation a
+ * viewer. New viewers receive spawn packets for all blocks and players that are no longer viewers receive destroy
+ * packets.
+ * <p>
+ * The animation steps are not executed on the main thread, so the positions of the players cannot be read while
+ * updating the viewers. Instead, the positions are captured on the main thread shortly before every update.
+ * <p>
+ * All packets are sent using the {@link MovementPacketBatcher_V1_15_R1}.
+ *
+ * @author Pim
+ */
+@Flogger
+final class VirtualBlockTracker_V1_15_R1
+{
+    /**
+     * The number of animation steps between two updates of the viewers.
+     */
+    private static final int VIEWER_UPDATE_INTERVAL = 10;
+
+    private final IAnimation<?> animation;
+    private final WorldServer worldServer;
+    private final MovementPacketBatcher_V1_15_R1 packetBatcher;
+    private final VirtualAnimatedBlockFactory_V1_15_R1 factory;
+    private final IPExecutor executor;
+
+    private final Set<VirtualAnimatedBlock_V1_15_R1> blocks = new LinkedHashSet<>();
+    private Set<EntityPlayer> viewers = new HashSet<>();
+    private boolean viewersInitialized = false;
+    private int lastViewerUpdate = 0;
+
+    /**
+     * The positions of the players in the world as captured on the main thread.
+     */
+    private volatile List<PlayerPosition> playerPositions = List.of();
+
+    /**
+     * Whether new {@link #playerPositions} have been requested for the next update of the viewers.
+     */
+    private boolean playerPositionsRequested = false;
+
+    VirtualBlockTracker_V1_15_R1(
+        IAnimation<?> animation, WorldServer worldServer, MovementPacketBatcher_V1_15_R1 packetBatcher,
+        VirtualAnimatedBlockFactory_V1_15_R1 factory, IPExecutor executor)
+    {
+        this.animation = animation;
+        this.worldServer = worldServer;
+        this.packetBatcher = packetBatcher;
+        this.factory = factory;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts tracking a block and spawns it for all current viewers.
+     *
+     * @param block
+     *     The block to track.
+     */
+    synchronized void add(VirtualAnimatedBlock_V1_15_R1 block)
+    {
+        if (!viewersInitialized)
+        {
+            // Blocks are spawned on the main thread, so the positions of the players can be captured right away.
+            requestPlayerPositions();
+            updateViewers(animation.getStepsExecuted());
+        }
+
+        if (!blocks.add(block))
+            return;
+        for (final EntityPlayer viewer : viewers)
+            queueSpawn(viewer, block.getEntity());
+    }
+
+    /**
+     * Stops tracking a block and destroys it for all current viewers.
+     * <p>
+     * When the last block is removed, this tracker is removed from its factory and all remaining packets are sent.
+     *
+     * @param block
+     *     The block to stop tracking.
+     */
+    void remove(VirtualAnimatedBlock_V1_15_R1 block)
+    {
+        final boolean isEmpty;
+        synchronized (this)
+        {
+            if (!blocks.remove(block))
+                return;
+            queueDestroy(viewers, block.getEntityId());
+            isEmpty = blocks.isEmpty();
+        }
+
+        if (isEmpty)
+        {
+            factory.removeTracker(animation, this);
+            packetBatcher.flush();
+        }
+    }
+
+    /**
+     * Replaces the old entity of a block by its new entity for all current viewers.
+     *
+     * @param block
+     *     The block that was respawned.
+     * @param oldEntityId
+     *     The ID of the entity that previously represented the block.
+     */
+    synchronized void respawn(VirtualAnimatedBlock_V1_15_R1 block, int oldEntityId)
+    {
+        if (!blocks.contains(block))
+            return;
+        queueDestroy(viewers, oldEntityId);
+        for (final EntityPlayer viewer : viewers)
+            queueSpawn(viewer, block.getEntity());
+    }
+
+    /**
+     * Queues the movement of a block for all current viewers.
+     *
+     * @param block
+     *     The block that was moved.
+     * @param relativeMovePacket
+     *     The packet describing the movement of the block relative to its previous position.
+     */
+    synchronized void queueMovement(VirtualAnimatedBlock_V1_15_R1 block, Packet<?> relativeMovePacket)
+    {
+        if (viewers.isEmpty() || !blocks.contains(block))
+            return;
+        packetBatcher.queueMovement(block.getEntity(), animation, viewers, relativeMovePacket);
+    }
+
+    /**
+     * Queues the exact position of a block for all current viewers.
+     *
+     * @param block
+     *     The block whose position to send.
+     */
+    synchronized void queueExactPosition(VirtualAnimatedBlock_V1_15_R1 block)
+    {
+        if (blocks.contains(block))
+            packetBatcher.queueTeleport(block.getEntity(), viewers);
+    }
+
+    /**
+     * Executes a single animation step for all tracked blocks.
+     * <p>
+     * This moves every block along its current velocity and queues the resulting movement for all viewers. The viewers
+     * are updated every {@link #VIEWER_UPDATE_INTERVAL} steps. The positions of the players are requested a step
+     * before every update, so they are captured on the main thread in time.
+     */
+    void step()
+    {
+        final List<VirtualAnimatedBlock_V1_15_R1> toTick;
+        synchronized (this)
+        {
+            final int step = animation.getStepsExecuted();
+            final int stepsSinceUpdate = step - lastViewerUpdate;
+            if (!playerPositionsRequested && stepsSinceUpdate >= VIEWER_UPDATE_INTERVAL - 1)
+                requestPlayerPositions();
+            // The steps of looping animations wrap around at the end of every cycle.
+            if (stepsSinceUpdate >= VIEWER_UPDATE_INTERVAL || stepsSinceUpdate < 0)
+                updateViewers(step);
+            toTick = new ArrayList<>(blocks);
+        }
+
+        // The blocks are ticked without holding the lock of this tracker, as they may call this tracker themselves.
+        for (final VirtualAnimatedBlock_V1_15_R1 block : toTick)
+        {
+            final @Nullable Packet<?> packet = block.tick();
+            if (packet != null)
+                queueMovement(block, packet);
+        }
+    }
+
+    /**
+     * Updates the players that can see the blocks of the animation.
+     * <p>
+     * Players that can no longer see the animation receive destroy packets for all blocks and new viewers receive
+     * spawn packets for all blocks.
+     *
+     * @param step
+     *     The current step of the animation.
+     */
+    private void updateViewers(int step)
+    {
+        lastViewerUpdate = step;
+        viewersInitialized = true;
+        playerPositionsRequested = false;
+
+        final Cuboid region = animation.getRegion();
+        final int range = Bukkit.getViewDistance() * 16;
+
+        final Set<EntityPlayer> newViewers = new HashSet<>();
+        for (final PlayerPosition position : playerPositions)
+            if (region.isInRange(position.x(), position.y(), position.z(), range))
+                newViewers.add(position.player());
+
+        if (!blocks.isEmpty())
+        {
+            final List<EntityPlayer> leaving = new ArrayList<>(viewers);
+            leaving.removeAll(newViewers);
+            if (!leaving.isEmpty())
+                queueDestroy(leaving, blocks.stream().mapToInt(VirtualAnimatedBlock_V1_15_R1::getEntityId).toArray());
+
+            for (final EntityPlayer player : newViewers)
+            {
+                if (viewers.contains(player))
+                    continue;
+                for (final VirtualAnimatedBlock_V1_15_R1 block : blocks)
+                    queueSpawn(player, block.getEntity());
+            }
+        }
+
+        log.at(Level.FINEST).log("Updated viewers of animation of door %d: %d -> %d viewers.",
+                                 animation.getDoor().getDoorUID(), viewers.size(), newViewers.size());
+        viewers = newViewers;
+    }
+
+    /**
+     * Captures the positions of all players in the world on the main thread.
+     * <p>
+     * When called from the main thread, the positions are captured immediately. Otherwise, they are captured during the
+     * next tick of the main thread.
+     */
+    private void requestPlayerPositions()
+    {
+        playerPositionsRequested = true;
+        executor.runOnMainThread(
+            () ->
+            {
+                final List<EntityPlayer> players = worldServer.getPlayers();
+                final List<PlayerPosition> positions = new ArrayList<>(players.size());
+                for (final EntityPlayer player : players)
+                    positions.add(new PlayerPosition(player, (int) Math.floor(player.locX()),
+                                                     (int) Math.floor(player.locY()), (int) Math.floor(player.locZ())));
+                playerPositions = positions;
+            });
+    }
+
+    private void queueSpawn(EntityPlayer receiver, EntityFallingBlock entity)
+    {
+        packetBatcher.queue(receiver, new PacketPlayOutSpawnEntity(entity, Block.getCombinedId(entity.getBlock())));
+        packetBatcher.queue(receiver, new PacketPlayOutEntityMetadata(entity.getId(), entity.getDataWatcher(), true));
+    }
+
+    private void queueDestroy(Collection<EntityPlayer> receivers, int... entityIds)
+    {
+        if (receivers.isEmpty() || entityIds.length == 0)
+            return;
+
+        final PacketPlayOutEntityDestroy packet = new PacketPlayOutEntityDestroy(entityIds);
+        for (final EntityPlayer receiver : receivers)
+            packetBatcher.queue(receiver, packet);
+    }
+
+    /**
+     * The block position of a player at the time the positions were captured.
+     */
+    private record PlayerPosition(EntityPlayer player, int x, int y, int z)
+    {
+    }
+}
@@ -2,8 +2,11 @@ package nl.pim16aap2.bigdoors.testimplementations;
 
 import nl.pim16aap2.bigdoors.api.IPWorld;
 import nl.pim16aap2.bigdoors.util.WorldTime;
+import nl.pim16aap2.bigdoors.util.vector.Vector3Dd;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 public final class TestPWorld implements IPWorld
 {
     private final String worldName;
@@ -35,6 +38,12 @@ public final class TestPWorld implements IPWorld
         return time;
     }
 
+    @Override
+    public List<Vector3Dd> getPlayerPositions()
+    {
+        return List.of();
+    }
+
     @Override
     public boolean equals(@Nullable Object o)
     {